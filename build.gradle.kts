@@ -82,6 +82,11 @@ java {
     withJavadocJar()
 }
 
+animalsniffer {
+    // JsonRpcJavaHttpTransport is JVM only, Android apps use OkHttp based JsonRpcHttpTransport
+    ignore("java.net.http.*")
+}
+
 checkstyle {
     configFile = file("config/checkstyle/checkstyle.xml")
     // TODO: Clean up test checkstyle and enable it
@@ -90,7 +95,7 @@ checkstyle {
 
 tasks.test {
     useJUnitPlatform {
-        excludeTags("integration")
+        excludeTags("integration", "benchmark")
     }
     maxHeapSize = "1024m"
     systemProperty("cucumber.junit-platform.naming-strategy", "long")
@@ -123,6 +128,15 @@ tasks.register<Test>("integrationTest") {
     }
 }
 
+tasks.register<Test>("benchmark") {
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    maxHeapSize = "1024m"
+    testLogging.showStandardStreams = true
+    shouldRunAfter(tasks.test)
+}
+
 tasks.register<Test>("tokenTests") {
     useJUnitPlatform()
     maxHeapSize = "1024m"
@@ -1,45 +1,85 @@
 
 package org.unicitylabs.sdk;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.unicitylabs.sdk.api.AggregatorClient;
 import org.unicitylabs.sdk.api.InclusionProofResponse;
 import org.unicitylabs.sdk.api.RequestId;
 import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
 import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationCache;
 import org.unicitylabs.sdk.predicate.Predicate;
 import org.unicitylabs.sdk.predicate.PredicateEngineService;
 import org.unicitylabs.sdk.signing.MintSigningService;
 import org.unicitylabs.sdk.token.Token;
 import org.unicitylabs.sdk.token.TokenId;
 import org.unicitylabs.sdk.token.TokenState;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+import org.unicitylabs.sdk.transaction.InclusionProofCache;
 import org.unicitylabs.sdk.transaction.InclusionProofVerificationStatus;
 import org.unicitylabs.sdk.transaction.MintCommitment;
 import org.unicitylabs.sdk.transaction.MintTransactionReason;
 import org.unicitylabs.sdk.transaction.MintTransactionState;
 import org.unicitylabs.sdk.transaction.TransferCommitment;
 import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.util.CompletableFutures;
 import org.unicitylabs.sdk.verification.VerificationException;
 
 /**
  * Client for handling state transitions of tokens, including submitting commitments and finalizing transactions.
+ * Cancelling or timing out returned futures aborts aggregator requests they depend on.
  */
 public class StateTransitionClient {
 
+  /**
+   * Maximum amount of request ids in single inclusion proof request of bulk checks.
+   */
+  public static final int BULK_BATCH_SIZE = 100;
+
+  /**
+   * Maximum amount of inclusion proof requests in flight during bulk checks.
+   */
+  public static final int BULK_CONCURRENCY = 4;
+
   /**
    * The aggregator client used for submitting commitments and retrieving inclusion proofs.
    */
   protected final AggregatorClient client;
 
+  /**
+   * Optional cache of verified inclusion proofs used for spent and minted checks.
+   */
+  protected final InclusionProofCache cache;
+
   /**
    * Creates a new StateTransitionClient with the specified aggregator client.
    *
    * @param client The aggregator client to use for communication.
    */
   public StateTransitionClient(AggregatorClient client) {
+    this(client, null);
+  }
+
+  /**
+   * Creates a new StateTransitionClient with the specified aggregator client and inclusion proof
+   * cache.
+   *
+   * @param client The aggregator client to use for communication.
+   * @param cache  The inclusion proof cache for spent and minted checks, null to disable caching.
+   */
+  public StateTransitionClient(AggregatorClient client, InclusionProofCache cache) {
     this.client = client;
+    this.cache = cache;
   }
 
   /**
@@ -143,20 +183,37 @@ public class StateTransitionClient {
    * @return A CompletableFuture that resolves to true if state is spent, false otherwise.
    */
   public CompletableFuture<Boolean> isStateSpent(RequestId requestId, RootTrustBase trustBase) {
-    return this.getInclusionProof(requestId)
-        .thenApply(inclusionProof -> {
-          InclusionProofVerificationStatus result = inclusionProof.getInclusionProof().verify(requestId, trustBase);
-          switch (result) {
-            case OK:
-              return true;
-            case PATH_NOT_INCLUDED:
-              return false;
-            default:
-              throw new RuntimeException(
-                  String.format("Inclusion proof verification failed with status %s", result)
-              );
+    if (this.cache == null) {
+      return CompletableFutures.thenApply(
+          this.getInclusionProof(requestId),
+          inclusionProof -> StateTransitionClient.isSpent(
+              inclusionProof.getInclusionProof().verify(requestId, trustBase))
+      );
+    }
+
+    // Spent state is final, unspent state can change only with new block
+    long blockHeight = this.cache.getBlockHeight();
+    Optional<InclusionProofVerificationStatus> cached = this.cache.getStatus(requestId, trustBase);
+    if (cached.isPresent() && cached.get() == InclusionProofVerificationStatus.OK) {
+      return CompletableFuture.completedFuture(true);
+    }
+
+    return CompletableFutures.thenCompose(
+        this.client.getBlockHeight(),
+        height -> {
+          this.cache.updateBlockHeight(height);
+          if (cached.isPresent() && height <= blockHeight) {
+            return CompletableFuture.completedFuture(false);
           }
-        });
+
+          return CompletableFutures.thenApply(
+              this.getInclusionProof(requestId),
+              inclusionProof -> StateTransitionClient.isSpent(
+                  this.cache.put(requestId, inclusionProof.getInclusionProof(), trustBase,
+                      height))
+          );
+        }
+    );
   }
 
 
@@ -198,5 +255,204 @@ public class StateTransitionClient {
     );
   }
 
+  /**
+   * Check if states are already spent for given request ids. Inclusion proofs are fetched in
+   * batches with bounded concurrency and unicity certificates shared by proofs are verified once.
+   * Request ids missing from batch response are requested once more, if they are still missing
+   * returned future fails with {@link IllegalStateException}.
+   *
+   * @param requestIds request ids
+   * @param trustBase  root trust base
+   * @return A CompletableFuture that resolves to spent status by request id.
+   */
+  public CompletableFuture<Map<RequestId, Boolean>> isStateSpent(
+      Collection<RequestId> requestIds,
+      RootTrustBase trustBase
+  ) {
+    Objects.requireNonNull(requestIds, "Request ids cannot be null.");
+    Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+
+    Map<RequestId, Boolean> results = new ConcurrentHashMap<>();
+    List<RequestId> pending = new ArrayList<>();
+    for (RequestId requestId : new LinkedHashSet<>(requestIds)) {
+      if (this.cache != null && this.cache.getStatus(requestId, trustBase)
+          .filter(status -> status == InclusionProofVerificationStatus.OK).isPresent()) {
+        results.put(requestId, true);
+      } else {
+        pending.add(requestId);
+      }
+    }
+
+    List<List<RequestId>> batches = new ArrayList<>();
+    for (int i = 0; i < pending.size(); i += StateTransitionClient.BULK_BATCH_SIZE) {
+      batches.add(
+          pending.subList(i, Math.min(i + StateTransitionClient.BULK_BATCH_SIZE, pending.size())));
+    }
+
+    UnicityCertificateVerificationCache certificates =
+        new UnicityCertificateVerificationCache(trustBase);
+    AtomicInteger nextBatch = new AtomicInteger();
+    List<CompletableFuture<Void>> workers = new ArrayList<>();
+    for (int i = 0; i < Math.min(StateTransitionClient.BULK_CONCURRENCY, batches.size()); i++) {
+      workers.add(this.checkBatches(batches, nextBatch, certificates, results));
+    }
+
+    CompletableFuture<?>[] workerFutures = workers.toArray(new CompletableFuture[0]);
+    return CompletableFutures.propagateCancellation(
+        CompletableFuture.allOf(workerFutures).thenApply(ignored -> {
+          Map<RequestId, Boolean> ordered = new LinkedHashMap<>();
+          for (RequestId requestId : requestIds) {
+            ordered.put(requestId, results.get(requestId));
+          }
+          return ordered;
+        }),
+        workerFutures
+    );
+  }
+
+  /**
+   * Check if current states of tokens are already spent.
+   *
+   * @param tokens    tokens
+   * @param publicKey public key of token owner
+   * @param trustBase root trust base
+   * @return A CompletableFuture that resolves to spent status by token.
+   */
+  public CompletableFuture<Map<Token<?>, Boolean>> isStateSpent(
+      Collection<? extends Token<?>> tokens,
+      byte[] publicKey,
+      RootTrustBase trustBase
+  ) {
+    Objects.requireNonNull(tokens, "Tokens cannot be null.");
+
+    Map<Token<?>, RequestId> requestIds = new LinkedHashMap<>();
+    for (Token<?> token : tokens) {
+      Predicate predicate = PredicateEngineService.createPredicate(token.getState().getPredicate());
+      if (!predicate.isOwner(publicKey)) {
+        throw new IllegalArgumentException("Given key is not owner of the token.");
+      }
+
+      requestIds.put(token, RequestId.create(publicKey, token.getState()));
+    }
+
+    return CompletableFutures.thenApply(
+        this.isStateSpent(requestIds.values(), trustBase),
+        results -> StateTransitionClient.mapResults(requestIds, results)
+    );
+  }
+
+  /**
+   * Check if token ids are already minted.
+   *
+   * @param tokenIds  token ids
+   * @param trustBase root trust base
+   * @return A CompletableFuture that resolves to minted status by token id.
+   */
+  public CompletableFuture<Map<TokenId, Boolean>> isMinted(
+      Collection<TokenId> tokenIds,
+      RootTrustBase trustBase
+  ) {
+    Objects.requireNonNull(tokenIds, "Token ids cannot be null.");
+
+    Map<TokenId, RequestId> requestIds = new LinkedHashMap<>();
+    for (TokenId tokenId : tokenIds) {
+      requestIds.put(
+          tokenId,
+          RequestId.create(
+              MintSigningService.create(tokenId).getPublicKey(),
+              MintTransactionState.create(tokenId)
+          )
+      );
+    }
+
+    return CompletableFutures.thenApply(
+        this.isStateSpent(requestIds.values(), trustBase),
+        results -> StateTransitionClient.mapResults(requestIds, results)
+    );
+  }
+
+  private CompletableFuture<Void> checkBatches(
+      List<List<RequestId>> batches,
+      AtomicInteger nextBatch,
+      UnicityCertificateVerificationCache certificates,
+      Map<RequestId, Boolean> results
+  ) {
+    int index = nextBatch.getAndIncrement();
+    if (index >= batches.size()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return CompletableFutures.thenCompose(
+        this.checkBatch(batches.get(index), true, certificates, results),
+        ignored -> this.checkBatches(batches, nextBatch, certificates, results)
+    );
+  }
 
+  private CompletableFuture<Void> checkBatch(
+      List<RequestId> requestIds,
+      boolean retryMissing,
+      UnicityCertificateVerificationCache certificates,
+      Map<RequestId, Boolean> results
+  ) {
+    // Height known before request, proofs are not cached if height advances meanwhile
+    long blockHeight = this.cache == null ? -1 : this.cache.getBlockHeight();
+    return CompletableFutures.thenCompose(
+        this.client.getInclusionProofs(requestIds),
+        responses -> {
+          List<RequestId> missing = new ArrayList<>();
+          for (RequestId requestId : requestIds) {
+            InclusionProofResponse response = responses.get(requestId);
+            if (response == null) {
+              missing.add(requestId);
+              continue;
+            }
+
+            InclusionProof inclusionProof = response.getInclusionProof();
+            results.put(
+                requestId,
+                StateTransitionClient.isSpent(
+                    this.cache != null
+                        ? this.cache.put(requestId, inclusionProof, certificates, blockHeight)
+                        : inclusionProof.verify(requestId, certificates)
+                )
+            );
+          }
+
+          if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+          }
+          // Request ids left out of response are asked once more before giving up
+          if (retryMissing) {
+            return this.checkBatch(missing, false, certificates, results);
+          }
+
+          return CompletableFuture.failedFuture(new IllegalStateException(
+              String.format("Missing inclusion proof for request id %s", missing.get(0))));
+        }
+    );
+  }
+
+  private static <K> Map<K, Boolean> mapResults(
+      Map<K, RequestId> requestIds,
+      Map<RequestId, Boolean> results
+  ) {
+    Map<K, Boolean> mapped = new LinkedHashMap<>();
+    for (Map.Entry<K, RequestId> entry : requestIds.entrySet()) {
+      mapped.put(entry.getKey(), results.get(entry.getValue()));
+    }
+    return mapped;
+  }
+
+  private static boolean isSpent(InclusionProofVerificationStatus status) {
+    switch (status) {
+      case OK:
+        return true;
+      case PATH_NOT_INCLUDED:
+        return false;
+      default:
+        throw new RuntimeException(
+            String.format("Inclusion proof verification failed with status %s", status)
+        );
+    }
+  }
 }
@@ -1,11 +1,17 @@
 
 package org.unicitylabs.sdk.api;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.util.CompletableFutures;
 
 /**
- * Aggregator client structure.
+ * Aggregator client structure. Cancelling future returned by client should abort request it
+ * depends on.
  */
 public interface AggregatorClient {
 
@@ -30,6 +36,66 @@ public interface AggregatorClient {
    */
   CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId);
 
+  /**
+   * Get inclusion proofs for multiple request ids. Default implementation requests each proof
+   * separately, implementations may send them in batches.
+   *
+   * @param requestIds request ids
+   * @return inclusion / non inclusion proofs by request id
+   */
+  default CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+      List<RequestId> requestIds) {
+    List<CompletableFuture<InclusionProofResponse>> futures = new ArrayList<>(requestIds.size());
+    for (RequestId requestId : requestIds) {
+      futures.add(this.getInclusionProof(requestId));
+    }
+
+    CompletableFuture<?>[] requestFutures = futures.toArray(new CompletableFuture[0]);
+    return CompletableFutures.propagateCancellation(
+        CompletableFuture.allOf(requestFutures).thenApply(ignored -> {
+          Map<RequestId, InclusionProofResponse> result = new LinkedHashMap<>();
+          for (int i = 0; i < requestIds.size(); i++) {
+            result.put(requestIds.get(i), futures.get(i).join());
+          }
+          return result;
+        }),
+        requestFutures
+    );
+  }
+
+  /**
+   * Submit multiple commitments. Default implementation submits each commitment separately,
+   * implementations may send them in batches.
+   *
+   * @param requests submit commitment requests
+   * @return submit commitment responses by request id
+   */
+  default CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> submitCommitments(
+      List<SubmitCommitmentRequest> requests) {
+    List<CompletableFuture<SubmitCommitmentResponse>> futures = new ArrayList<>(requests.size());
+    for (SubmitCommitmentRequest request : requests) {
+      futures.add(
+          this.submitCommitment(
+              request.getRequestId(),
+              request.getTransactionHash(),
+              request.getAuthenticator()
+          )
+      );
+    }
+
+    CompletableFuture<?>[] requestFutures = futures.toArray(new CompletableFuture[0]);
+    return CompletableFutures.propagateCancellation(
+        CompletableFuture.allOf(requestFutures).thenApply(ignored -> {
+          Map<RequestId, SubmitCommitmentResponse> result = new LinkedHashMap<>();
+          for (int i = 0; i < requests.size(); i++) {
+            result.put(requests.get(i).getRequestId(), futures.get(i).join());
+          }
+          return result;
+        }),
+        requestFutures
+    );
+  }
+
   /**
    * Get block height.
    *
@@ -1,8 +1,8 @@
 package org.unicitylabs.sdk.api;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -18,6 +18,8 @@ import org.unicitylabs.sdk.util.HexConverter;
 /**
  * Authenticator for transaction submission.
  */
+@JsonSerialize(using = AuthenticatorJson.Serializer.class)
+@JsonDeserialize(using = AuthenticatorJson.Deserializer.class)
 public class Authenticator {
 
   private final String algorithm;
@@ -25,13 +27,7 @@ public class Authenticator {
   private final DataHash stateHash;
   private final byte[] publicKey;
 
-  @JsonCreator
-  private Authenticator(
-      @JsonProperty("algorithm") String algorithm,
-      @JsonProperty("publicKey") byte[] publicKey,
-      @JsonProperty("signature") Signature signature,
-      @JsonProperty("stateHash") DataHash stateHash
-  ) {
+  Authenticator(String algorithm, byte[] publicKey, Signature signature, DataHash stateHash) {
     this.algorithm = algorithm;
     this.publicKey = Arrays.copyOf(publicKey, publicKey.length);
     this.signature = signature;
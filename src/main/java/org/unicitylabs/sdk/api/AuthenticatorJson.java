@@ -0,0 +1,124 @@
+package org.unicitylabs.sdk.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
+import org.unicitylabs.sdk.signing.Signature;
+
+/**
+ * Authenticator serializer and deserializer implementation.
+ */
+public class AuthenticatorJson {
+
+  private AuthenticatorJson() {
+  }
+
+  /**
+   * Authenticator serializer.
+   */
+  public static class Serializer extends StdSerializer<Authenticator> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(Authenticator.class);
+    }
+
+    /**
+     * Serialize authenticator.
+     *
+     * @param value       authenticator
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(Authenticator value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeStartObject();
+      gen.writeStringField("algorithm", value.getAlgorithm());
+      gen.writeFieldName("publicKey");
+      ByteArrayJson.write(gen, value.getPublicKey());
+      gen.writeFieldName("signature");
+      ByteArrayJson.write(gen, value.getSignature().encode());
+      gen.writeFieldName("stateHash");
+      ByteArrayJson.write(gen, value.getStateHash().getImprint());
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Authenticator deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<Authenticator> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(Authenticator.class);
+    }
+
+    /**
+     * Deserialize authenticator.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return authenticator
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    public Authenticator deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, Authenticator.class, "Expected object");
+      }
+
+      String algorithm = null;
+      byte[] publicKey = null;
+      Signature signature = null;
+      DataHash stateHash = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        p.nextToken();
+        switch (field) {
+          case "algorithm":
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+              throw MismatchedInputException.from(p, Authenticator.class,
+                  "Expected string value");
+            }
+            algorithm = p.getText();
+            break;
+          case "publicKey":
+            publicKey = ByteArrayJson.read(p, Authenticator.class);
+            break;
+          case "signature":
+            signature = Signature.decode(ByteArrayJson.read(p, Signature.class));
+            break;
+          case "stateHash":
+            stateHash = DataHash.fromImprint(ByteArrayJson.read(p, DataHash.class));
+            break;
+          default:
+            ctx.handleUnknownProperty(p, this, Authenticator.class, field);
+        }
+      }
+
+      if (algorithm == null || publicKey == null || signature == null || stateHash == null) {
+        throw MismatchedInputException.from(p, Authenticator.class,
+            "Missing authenticator fields");
+      }
+
+      return new Authenticator(algorithm, publicKey, signature, stateHash);
+    }
+  }
+}
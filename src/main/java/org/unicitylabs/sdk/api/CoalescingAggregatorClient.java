@@ -0,0 +1,327 @@
+package org.unicitylabs.sdk.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.unicitylabs.sdk.hash.DataHash;
+
+/**
+ * Aggregator client which coalesces commitments submitted within short time window into batched
+ * submits of underlying client. Pending commitments are held in bounded queue, callers block when
+ * queue is full up to enqueue timeout and amount of batches in flight is limited. Commitments
+ * cancelled before their batch is sent are left out of it and batch request is cancelled once all
+ * its commitments are cancelled.
+ */
+public class CoalescingAggregatorClient implements AggregatorClient, AutoCloseable {
+
+  /**
+   * Default capacity of pending commitment queue.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+  /**
+   * Default maximum amount of commitments in single batch.
+   */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  /**
+   * Default time window for coalescing commitments.
+   */
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(10);
+  /**
+   * Default maximum amount of batches in flight.
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
+  /**
+   * Default maximum time to wait for space in pending commitment queue.
+   */
+  public static final Duration DEFAULT_ENQUEUE_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final long CLOSE_POLL_MILLIS = 100;
+
+  private final AggregatorClient client;
+  private final BlockingQueue<PendingCommitment> queue;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final long enqueueTimeoutNanos;
+  private final Semaphore batches;
+  private final Thread dispatcher;
+  private volatile boolean closed = false;
+
+  /**
+   * Create coalescing aggregator client with default settings.
+   *
+   * @param client underlying aggregator client
+   */
+  public CoalescingAggregatorClient(AggregatorClient client) {
+    this(
+        client,
+        CoalescingAggregatorClient.DEFAULT_QUEUE_CAPACITY,
+        CoalescingAggregatorClient.DEFAULT_MAX_BATCH_SIZE,
+        CoalescingAggregatorClient.DEFAULT_WINDOW,
+        CoalescingAggregatorClient.DEFAULT_MAX_CONCURRENT_BATCHES
+    );
+  }
+
+  /**
+   * Create coalescing aggregator client with default enqueue timeout.
+   *
+   * @param client               underlying aggregator client
+   * @param queueCapacity        maximum amount of pending commitments before callers block
+   * @param maxBatchSize         maximum amount of commitments in single batch
+   * @param window               time to wait for more commitments after first one arrives
+   * @param maxConcurrentBatches maximum amount of batches in flight
+   */
+  public CoalescingAggregatorClient(
+      AggregatorClient client,
+      int queueCapacity,
+      int maxBatchSize,
+      Duration window,
+      int maxConcurrentBatches
+  ) {
+    this(client, queueCapacity, maxBatchSize, window, maxConcurrentBatches,
+        CoalescingAggregatorClient.DEFAULT_ENQUEUE_TIMEOUT);
+  }
+
+  /**
+   * Create coalescing aggregator client.
+   *
+   * @param client               underlying aggregator client
+   * @param queueCapacity        maximum amount of pending commitments before callers block
+   * @param maxBatchSize         maximum amount of commitments in single batch
+   * @param window               time to wait for more commitments after first one arrives
+   * @param maxConcurrentBatches maximum amount of batches in flight
+   * @param enqueueTimeout       maximum time to wait for space in pending commitment queue
+   */
+  public CoalescingAggregatorClient(
+      AggregatorClient client,
+      int queueCapacity,
+      int maxBatchSize,
+      Duration window,
+      int maxConcurrentBatches,
+      Duration enqueueTimeout
+  ) {
+    Objects.requireNonNull(client, "Client cannot be null.");
+    Objects.requireNonNull(window, "Window cannot be null.");
+    Objects.requireNonNull(enqueueTimeout, "Enqueue timeout cannot be null.");
+    if (queueCapacity < 1 || maxBatchSize < 1 || maxConcurrentBatches < 1) {
+      throw new IllegalArgumentException(
+          "Queue capacity, max batch size and max concurrent batches must be positive.");
+    }
+    if (window.isNegative() || enqueueTimeout.isNegative()) {
+      throw new IllegalArgumentException("Window and enqueue timeout cannot be negative.");
+    }
+
+    this.client = client;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = window.toNanos();
+    this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+    this.batches = new Semaphore(maxConcurrentBatches);
+    this.dispatcher = new Thread(this::dispatch, "coalescing-aggregator-client");
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  /**
+   * Queue commitment for next batch, blocks while pending commitment queue is full. If queue stays
+   * full for enqueue timeout, returned future fails with {@link RejectedExecutionException}.
+   *
+   * @param requestId       request id
+   * @param transactionHash transaction hash
+   * @param authenticator   authenticator
+   * @return submit commitment response
+   */
+  @Override
+  public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+      RequestId requestId,
+      DataHash transactionHash,
+      Authenticator authenticator
+  ) {
+    PendingCommitment commitment = new PendingCommitment(
+        new SubmitCommitmentRequest(requestId, transactionHash, authenticator, false)
+    );
+
+    if (this.closed) {
+      commitment.future.completeExceptionally(new IllegalStateException("Client is closed."));
+      return commitment.future;
+    }
+
+    try {
+      if (!this.queue.offer(commitment, this.enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        commitment.future.completeExceptionally(
+            new RejectedExecutionException("Pending commitment queue is full."));
+        return commitment.future;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      commitment.future.completeExceptionally(e);
+      return commitment.future;
+    }
+
+    // Client closed while waiting for space, dispatcher may have already drained queue and exited.
+    // Commitment still in queue is failed, otherwise dispatcher has taken it and will send it.
+    if (this.closed && this.queue.remove(commitment)) {
+      commitment.future.completeExceptionally(new IllegalStateException("Client is closed."));
+    }
+
+    return commitment.future;
+  }
+
+  /**
+   * Get inclusion proof for request id from underlying client.
+   *
+   * @param requestId request id
+   * @return inclusion / non inclusion proof
+   */
+  @Override
+  public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+    return this.client.getInclusionProof(requestId);
+  }
+
+  /**
+   * Get inclusion proofs for multiple request ids from underlying client.
+   *
+   * @param requestIds request ids
+   * @return inclusion / non inclusion proofs by request id
+   */
+  @Override
+  public CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+      List<RequestId> requestIds) {
+    return this.client.getInclusionProofs(requestIds);
+  }
+
+  /**
+   * Get block height from underlying client.
+   *
+   * @return block height
+   */
+  @Override
+  public CompletableFuture<Long> getBlockHeight() {
+    return this.client.getBlockHeight();
+  }
+
+  /**
+   * Get amount of commitments waiting for next batch.
+   *
+   * @return pending commitment count
+   */
+  public int getPendingCount() {
+    return this.queue.size();
+  }
+
+  /**
+   * Stop accepting commitments, already queued commitments are still submitted.
+   *
+   * @throws InterruptedException if interrupted while waiting for queued commitments to be sent
+   */
+  @Override
+  public void close() throws InterruptedException {
+    this.closed = true;
+    this.dispatcher.join();
+  }
+
+  private void dispatch() {
+    try {
+      while (!this.closed || !this.queue.isEmpty()) {
+        PendingCommitment first = this.queue.poll(
+            CoalescingAggregatorClient.CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        List<PendingCommitment> batch = new ArrayList<>();
+        batch.add(first);
+        long deadline = System.nanoTime() + this.windowNanos;
+        while (batch.size() < this.maxBatchSize) {
+          PendingCommitment next = this.queue.poll(
+              deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+
+        this.batches.acquire();
+        this.send(batch);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      PendingCommitment commitment;
+      while ((commitment = this.queue.poll()) != null) {
+        commitment.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void send(List<PendingCommitment> commitments) {
+    List<PendingCommitment> batch = new ArrayList<>(commitments.size());
+    List<SubmitCommitmentRequest> requests = new ArrayList<>(commitments.size());
+    for (PendingCommitment commitment : commitments) {
+      if (!commitment.future.isDone()) {
+        batch.add(commitment);
+        requests.add(commitment.request);
+      }
+    }
+    if (batch.isEmpty()) {
+      this.batches.release();
+      return;
+    }
+
+    CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> future;
+    try {
+      future = this.client.submitCommitments(requests);
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+
+    CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> request = future;
+    AtomicInteger remaining = new AtomicInteger(batch.size());
+    for (PendingCommitment commitment : batch) {
+      commitment.future.whenComplete((response, error) -> {
+        if (remaining.decrementAndGet() == 0) {
+          request.cancel(true);
+        }
+      });
+    }
+
+    request.whenComplete((responses, error) -> {
+      this.batches.release();
+      for (PendingCommitment commitment : batch) {
+        if (error != null) {
+          commitment.future.completeExceptionally(error);
+          continue;
+        }
+
+        SubmitCommitmentResponse response = responses.get(commitment.request.getRequestId());
+        if (response == null) {
+          commitment.future.completeExceptionally(
+              new IllegalStateException(
+                  String.format("Missing response for request id %s",
+                      commitment.request.getRequestId())));
+          continue;
+        }
+
+        commitment.future.complete(response);
+      }
+    });
+  }
+
+  private static class PendingCommitment {
+
+    private final SubmitCommitmentRequest request;
+    private final CompletableFuture<SubmitCommitmentResponse> future = new CompletableFuture<>();
+
+    PendingCommitment(SubmitCommitmentRequest request) {
+      this.request = request;
+    }
+  }
+}
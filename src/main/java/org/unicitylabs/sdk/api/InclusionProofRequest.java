@@ -3,7 +3,10 @@ package org.unicitylabs.sdk.api;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.List;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 
 /**
@@ -34,6 +37,27 @@ public class InclusionProofRequest {
     return this.requestId;
   }
 
+  /**
+   * Create inclusion proof request from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return inclusion proof request
+   */
+  public static InclusionProofRequest fromCbor(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new InclusionProofRequest(RequestId.fromCbor(data.get(0)));
+  }
+
+  /**
+   * Convert inclusion proof request to CBOR bytes.
+   *
+   * @return CBOR bytes
+   */
+  public byte[] toCbor() {
+    return CborSerializer.encodeArray(this.requestId.toCbor());
+  }
+
   /**
    * Create request from JSON string.
    *
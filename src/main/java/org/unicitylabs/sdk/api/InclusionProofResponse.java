@@ -1,15 +1,20 @@
 package org.unicitylabs.sdk.api;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 import org.unicitylabs.sdk.transaction.InclusionProof;
 
 /**
  * Inclusion proof response.
  */
+@JsonSerialize(using = InclusionProofResponseJson.Serializer.class)
+@JsonDeserialize(using = InclusionProofResponseJson.Deserializer.class)
 public class InclusionProofResponse {
 
   private final InclusionProof inclusionProof;
@@ -19,11 +24,7 @@ public class InclusionProofResponse {
    *
    * @param inclusionProof inclusion proof
    */
-  @JsonCreator
-  public InclusionProofResponse(
-      @JsonProperty("inclusionProof")
-      InclusionProof inclusionProof
-  ) {
+  public InclusionProofResponse(InclusionProof inclusionProof) {
     this.inclusionProof = inclusionProof;
   }
 
@@ -36,6 +37,29 @@ public class InclusionProofResponse {
     return this.inclusionProof;
   }
 
+  /**
+   * Create response from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return inclusion proof response
+   */
+  public static InclusionProofResponse fromCbor(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new InclusionProofResponse(
+        CborDeserializer.readOptional(data.get(0), InclusionProof::fromCbor));
+  }
+
+  /**
+   * Convert response to CBOR bytes.
+   *
+   * @return CBOR bytes
+   */
+  public byte[] toCbor() {
+    return CborSerializer.encodeArray(
+        CborSerializer.encodeOptional(this.inclusionProof, InclusionProof::toCbor));
+  }
+
   /**
    * Create response from JSON string.
    *
@@ -0,0 +1,95 @@
+package org.unicitylabs.sdk.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+
+/**
+ * Inclusion proof response serializer and deserializer implementation.
+ */
+public class InclusionProofResponseJson {
+
+  private InclusionProofResponseJson() {
+  }
+
+  /**
+   * Inclusion proof response serializer.
+   */
+  public static class Serializer extends StdSerializer<InclusionProofResponse> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(InclusionProofResponse.class);
+    }
+
+    /**
+     * Serialize inclusion proof response.
+     *
+     * @param value       inclusion proof response
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(InclusionProofResponse value, JsonGenerator gen,
+        SerializerProvider serializers) throws IOException {
+      gen.writeStartObject();
+      serializers.defaultSerializeField("inclusionProof", value.getInclusionProof(), gen);
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Inclusion proof response deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<InclusionProofResponse> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(InclusionProofResponse.class);
+    }
+
+    /**
+     * Deserialize inclusion proof response.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return inclusion proof response
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    public InclusionProofResponse deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, InclusionProofResponse.class, "Expected object");
+      }
+
+      InclusionProof inclusionProof = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        JsonToken token = p.nextToken();
+        if ("inclusionProof".equals(field)) {
+          inclusionProof = token == JsonToken.VALUE_NULL
+              ? null
+              : ctx.readValue(p, InclusionProof.class);
+        } else {
+          ctx.handleUnknownProperty(p, this, InclusionProofResponse.class, field);
+        }
+      }
+
+      return new InclusionProofResponse(inclusionProof);
+    }
+  }
+}
@@ -2,19 +2,40 @@ package org.unicitylabs.sdk.api;
 
 import static com.google.common.net.HttpHeaders.AUTHORIZATION;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcContentTypeException;
 import org.unicitylabs.sdk.jsonrpc.JsonRpcHttpTransport;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcNetworkException;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcTransport;
+import org.unicitylabs.sdk.util.CompletableFutures;
 
 /**
- * Default aggregator client.
+ * Default aggregator client. Optionally uses binary CBOR wire mode for commitment submission and
+ * inclusion proof retrieval, falling back to JSON when aggregator does not support it. Request
+ * rejected with 415 or 406 is sent again as JSON. Request answered in other format than CBOR may
+ * have been processed, so only inclusion proof requests are sent again and commitment submission
+ * fails.
  */
 public class JsonRpcAggregatorClient implements AggregatorClient {
 
-  private final JsonRpcHttpTransport transport;
+  /**
+   * Default maximum amount of requests in single JSON-RPC batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  private final JsonRpcTransport transport;
   private final String apiKey;
+  private final AtomicBoolean binary;
+  private final int batchSize;
 
   /**
    * Create aggregator client for destination url.
@@ -34,8 +55,63 @@ public class JsonRpcAggregatorClient implements AggregatorClient {
    *
    */
   public JsonRpcAggregatorClient(String url, String apiKey) {
-    this.transport = new JsonRpcHttpTransport(url);
+    this(url, apiKey, false);
+  }
+
+  /**
+   * Create aggregator client for destination url with api key and optional binary CBOR wire mode.
+   *
+   * @param url    destination url
+   * @param apiKey api key
+   * @param binary use CBOR wire mode when aggregator supports it
+   */
+  public JsonRpcAggregatorClient(String url, String apiKey, boolean binary) {
+    this(new JsonRpcHttpTransport(url), apiKey, binary);
+  }
+
+  /**
+   * Create aggregator client over given transport, transports created with same configuration
+   * share HTTP connections and threads.
+   *
+   * @param transport JSON-RPC transport
+   * @param apiKey    api key
+   * @param binary    use CBOR wire mode when aggregator supports it
+   */
+  public JsonRpcAggregatorClient(JsonRpcTransport transport, String apiKey, boolean binary) {
+    this(transport, apiKey, binary, JsonRpcAggregatorClient.DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Create aggregator client over given transport with custom JSON-RPC batch size.
+   *
+   * @param transport JSON-RPC transport
+   * @param apiKey    api key
+   * @param binary    use CBOR wire mode when aggregator supports it
+   * @param batchSize maximum amount of requests in single JSON-RPC batch
+   */
+  public JsonRpcAggregatorClient(
+      JsonRpcTransport transport,
+      String apiKey,
+      boolean binary,
+      int batchSize
+  ) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+
+    this.transport = Objects.requireNonNull(transport, "Transport cannot be null.");
     this.apiKey = apiKey;
+    this.binary = new AtomicBoolean(binary);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Check if binary CBOR wire mode is in use, it is turned off after aggregator rejects it.
+   *
+   * @return true if binary mode is used
+   */
+  public boolean isBinary() {
+    return this.binary.get();
   }
 
   /**
@@ -58,15 +134,14 @@ public class JsonRpcAggregatorClient implements AggregatorClient {
         false
     );
 
-    Map<String, List<String>> headers = this.apiKey == null
-        ? Map.of()
-        : Map.of(AUTHORIZATION, List.of(String.format("Bearer %s", this.apiKey)));
-
-    return this.transport.request(
+    return this.request(
         "submit_commitment",
         request,
+        request::toCbor,
         SubmitCommitmentResponse.class,
-        headers
+        SubmitCommitmentResponse::fromCbor,
+        this.getAuthorizationHeaders(),
+        false
     );
   }
 
@@ -79,7 +154,56 @@ public class JsonRpcAggregatorClient implements AggregatorClient {
   public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
     InclusionProofRequest request = new InclusionProofRequest(requestId);
 
-    return this.transport.request("get_inclusion_proof", request, InclusionProofResponse.class);
+    return this.request(
+        "get_inclusion_proof",
+        request,
+        request::toCbor,
+        InclusionProofResponse.class,
+        InclusionProofResponse::fromCbor,
+        Map.of(),
+        true
+    );
+  }
+
+  /**
+   * Get inclusion proofs for multiple request ids using JSON-RPC batches.
+   *
+   * @param requestIds request ids
+   * @return inclusion / non inclusion proofs by request id
+   */
+  @Override
+  public CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+      List<RequestId> requestIds) {
+    List<InclusionProofRequest> requests = new ArrayList<>(requestIds.size());
+    for (RequestId requestId : requestIds) {
+      requests.add(new InclusionProofRequest(requestId));
+    }
+
+    return this.requestBatches(
+        "get_inclusion_proof",
+        requests,
+        InclusionProofRequest::getRequestId,
+        InclusionProofResponse.class,
+        Map.of()
+    );
+  }
+
+  /**
+   * Submit multiple commitments using JSON-RPC batches.
+   *
+   * @param requests submit commitment requests
+   * @return submit commitment responses by request id
+   */
+  @Override
+  public CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> submitCommitments(
+      List<SubmitCommitmentRequest> requests) {
+    return this.requestBatches(
+        "submit_commitment",
+        requests,
+        SubmitCommitmentRequest::getRequestId,
+        SubmitCommitmentResponse.class,
+        this.getAuthorizationHeaders()
+    );
   }
 
   /**
@@ -88,7 +212,94 @@ public class JsonRpcAggregatorClient implements AggregatorClient {
    * @return block height
    */
   public CompletableFuture<Long> getBlockHeight() {
-    return this.transport.request("get_block_height", Map.of(), BlockHeightResponse.class)
-        .thenApply(BlockHeightResponse::getBlockNumber);
+    return CompletableFutures.thenApply(
+        this.transport.request("get_block_height", Map.of(), BlockHeightResponse.class),
+        BlockHeightResponse::getBlockNumber
+    );
+  }
+
+  private <T> CompletableFuture<T> request(
+      String method,
+      Object params,
+      Supplier<byte[]> binaryParams,
+      Class<T> resultType,
+      Function<byte[], T> binaryResultDecoder,
+      Map<String, List<String>> headers,
+      boolean idempotent
+  ) {
+    if (!this.binary.get()) {
+      return this.transport.request(method, params, resultType, headers);
+    }
+
+    return CompletableFutures.handleCompose(
+        this.transport.requestCbor(method, binaryParams.get(), binaryResultDecoder, headers),
+        (result, error) -> {
+          if (error == null) {
+            return CompletableFuture.completedFuture(result);
+          }
+          if (JsonRpcAggregatorClient.isBinaryRejected(error)) {
+            this.binary.set(false);
+            return this.transport.request(method, params, resultType, headers);
+          }
+          if (error instanceof JsonRpcContentTypeException) {
+            this.binary.set(false);
+            if (idempotent) {
+              return this.transport.request(method, params, resultType, headers);
+            }
+          }
+
+          return CompletableFuture.<T>failedFuture(error);
+        }
+    );
+  }
+
+  private static boolean isBinaryRejected(Throwable error) {
+    if (!(error instanceof JsonRpcNetworkException)) {
+      return false;
+    }
+
+    int status = ((JsonRpcNetworkException) error).getStatus();
+    return status == 415 || status == 406;
+  }
+
+  private <P, T> CompletableFuture<Map<RequestId, T>> requestBatches(
+      String method,
+      List<P> params,
+      Function<P, RequestId> requestId,
+      Class<T> resultType,
+      Map<String, List<String>> headers
+  ) {
+    List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+    for (int i = 0; i < params.size(); i += this.batchSize) {
+      futures.add(
+          this.transport.requestBatch(
+              method,
+              params.subList(i, Math.min(i + this.batchSize, params.size())),
+              resultType,
+              headers
+          )
+      );
+    }
+
+    CompletableFuture<?>[] batches = futures.toArray(new CompletableFuture[0]);
+    return CompletableFutures.propagateCancellation(
+        CompletableFuture.allOf(batches).thenApply(ignored -> {
+          Map<RequestId, T> result = new LinkedHashMap<>();
+          int index = 0;
+          for (CompletableFuture<List<T>> future : futures) {
+            for (T value : future.join()) {
+              result.put(requestId.apply(params.get(index++)), value);
+            }
+          }
+          return result;
+        }),
+        batches
+    );
+  }
+
+  private Map<String, List<String>> getAuthorizationHeaders() {
+    return this.apiKey == null
+        ? Map.of()
+        : Map.of(AUTHORIZATION, List.of(String.format("Bearer %s", this.apiKey)));
   }
-}
\ No newline at end of file
+}
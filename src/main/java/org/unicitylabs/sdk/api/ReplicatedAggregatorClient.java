@@ -0,0 +1,431 @@
+package org.unicitylabs.sdk.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.util.CompletableFutures;
+
+/**
+ * Aggregator client over multiple aggregator replicas. Latency and error rate of every replica are
+ * tracked as exponentially weighted moving averages. Reads go to fastest healthy replica and if
+ * they take longer than given percentile of recent read latencies, duplicate read is sent to next
+ * replica and first successful response is used, reads still running are then cancelled.
+ * Commitments are submitted to single replica and sent to next one only if submission fails.
+ * Cancelling returned future cancels request in flight.
+ *
+ * <p>Error rate decays with time, halving every probe interval, so failed replica becomes healthy
+ * again. Replica without response for probe interval is probed with copy of next read, so latency
+ * and error rate of replicas not used as primary stay current.
+ */
+public class ReplicatedAggregatorClient implements AggregatorClient {
+
+  /**
+   * Default percentile of recent read latencies after which hedged read is sent.
+   */
+  public static final double DEFAULT_HEDGE_PERCENTILE = 0.95;
+
+  private static final double SMOOTHING_FACTOR = 0.2;
+  private static final double MAX_ERROR_RATE = 0.5;
+  private static final int LATENCY_SAMPLES = 256;
+  private static final int MIN_LATENCY_SAMPLES = 16;
+  private static final long INITIAL_HEDGE_DELAY_MILLIS = 100;
+  private static final long MIN_HEDGE_DELAY_MILLIS = 5;
+  private static final double ERROR_PENALTY_MILLIS = 1000;
+  private static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(10);
+
+  private final List<Replica> replicas;
+  private final double hedgePercentile;
+  private final long[] latencies = new long[ReplicatedAggregatorClient.LATENCY_SAMPLES];
+  private int latencyCount = 0;
+  private int latencyIndex = 0;
+
+  /**
+   * Create replicated aggregator client with default hedge percentile.
+   *
+   * @param clients aggregator clients of replicas
+   */
+  public ReplicatedAggregatorClient(List<? extends AggregatorClient> clients) {
+    this(clients, ReplicatedAggregatorClient.DEFAULT_HEDGE_PERCENTILE);
+  }
+
+  /**
+   * Create replicated aggregator client.
+   *
+   * @param clients         aggregator clients of replicas
+   * @param hedgePercentile percentile of recent read latencies after which hedged read is sent
+   */
+  public ReplicatedAggregatorClient(List<? extends AggregatorClient> clients,
+      double hedgePercentile) {
+    this(clients, hedgePercentile, ReplicatedAggregatorClient.DEFAULT_PROBE_INTERVAL);
+  }
+
+  ReplicatedAggregatorClient(List<? extends AggregatorClient> clients, double hedgePercentile,
+      Duration probeInterval) {
+    Objects.requireNonNull(clients, "Clients cannot be null.");
+    Objects.requireNonNull(probeInterval, "Probe interval cannot be null.");
+    if (clients.isEmpty()) {
+      throw new IllegalArgumentException("At least one client is required.");
+    }
+    if (hedgePercentile <= 0 || hedgePercentile > 1) {
+      throw new IllegalArgumentException("Hedge percentile must be in range (0, 1].");
+    }
+    if (probeInterval.isNegative() || probeInterval.isZero()) {
+      throw new IllegalArgumentException("Probe interval must be positive.");
+    }
+
+    List<Replica> replicas = new ArrayList<>(clients.size());
+    for (AggregatorClient client : clients) {
+      replicas.add(new Replica(Objects.requireNonNull(client, "Client cannot be null."),
+          probeInterval.toNanos()));
+    }
+    this.replicas = List.copyOf(replicas);
+    this.hedgePercentile = hedgePercentile;
+  }
+
+  /**
+   * Submit commitment to fastest healthy replica, on failure next replica is used.
+   *
+   * @param requestId       request id
+   * @param transactionHash transaction hash
+   * @param authenticator   authenticator
+   * @return submit commitment response
+   */
+  @Override
+  public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+      RequestId requestId,
+      DataHash transactionHash,
+      Authenticator authenticator
+  ) {
+    return this.failover(
+        this.rank(),
+        0,
+        client -> client.submitCommitment(requestId, transactionHash, authenticator)
+    );
+  }
+
+  /**
+   * Submit multiple commitments to fastest healthy replica, on failure next replica is used.
+   *
+   * @param requests submit commitment requests
+   * @return submit commitment responses by request id
+   */
+  @Override
+  public CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> submitCommitments(
+      List<SubmitCommitmentRequest> requests) {
+    return this.failover(this.rank(), 0, client -> client.submitCommitments(requests));
+  }
+
+  /**
+   * Get inclusion proof for request id using hedged read.
+   *
+   * @param requestId request id
+   * @return inclusion / non inclusion proof
+   */
+  @Override
+  public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+    return new HedgedRead<>(client -> client.getInclusionProof(requestId)).start();
+  }
+
+  /**
+   * Get inclusion proofs for multiple request ids using hedged read.
+   *
+   * @param requestIds request ids
+   * @return inclusion / non inclusion proofs by request id
+   */
+  @Override
+  public CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+      List<RequestId> requestIds) {
+    return new HedgedRead<>(client -> client.getInclusionProofs(requestIds)).start();
+  }
+
+  /**
+   * Get block height using hedged read.
+   *
+   * @return block height
+   */
+  @Override
+  public CompletableFuture<Long> getBlockHeight() {
+    return new HedgedRead<>(AggregatorClient::getBlockHeight).start();
+  }
+
+  /**
+   * Get smoothed latency of replica.
+   *
+   * @param index replica index in order given to constructor
+   * @return latency in milliseconds
+   */
+  public double getLatency(int index) {
+    return this.replicas.get(index).getLatency();
+  }
+
+  /**
+   * Get smoothed error rate of replica, decayed by time since its last response.
+   *
+   * @param index replica index in order given to constructor
+   * @return error rate between 0 and 1
+   */
+  public double getErrorRate(int index) {
+    return this.replicas.get(index).getErrorRate();
+  }
+
+  /**
+   * Get delay after which hedged read is sent.
+   *
+   * @return hedge delay in milliseconds
+   */
+  public synchronized long getHedgeDelay() {
+    if (this.latencyCount < ReplicatedAggregatorClient.MIN_LATENCY_SAMPLES) {
+      return ReplicatedAggregatorClient.INITIAL_HEDGE_DELAY_MILLIS;
+    }
+
+    long[] samples = Arrays.copyOf(this.latencies, this.latencyCount);
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(this.hedgePercentile * samples.length) - 1;
+    return Math.max(ReplicatedAggregatorClient.MIN_HEDGE_DELAY_MILLIS,
+        samples[Math.max(0, index)]);
+  }
+
+  private synchronized void recordReadLatency(long latencyMillis) {
+    this.latencies[this.latencyIndex] = latencyMillis;
+    this.latencyIndex = (this.latencyIndex + 1) % this.latencies.length;
+    this.latencyCount = Math.min(this.latencyCount + 1, this.latencies.length);
+  }
+
+  private List<Replica> rank() {
+    // Error rate decays with time, so replica state is taken once to keep ordering consistent
+    List<Rank> ranks = new ArrayList<>(this.replicas.size());
+    for (Replica replica : this.replicas) {
+      ranks.add(replica.rank());
+    }
+    ranks.sort(
+        Comparator.comparing((Rank rank) -> rank.healthy).reversed()
+            .thenComparingDouble(rank -> rank.score)
+    );
+
+    List<Replica> ranked = new ArrayList<>(ranks.size());
+    for (Rank rank : ranks) {
+      ranked.add(rank.replica);
+    }
+    return ranked;
+  }
+
+  private <T> CompletableFuture<T> failover(
+      List<Replica> replicas,
+      int index,
+      Function<AggregatorClient, CompletableFuture<T>> call
+  ) {
+    return CompletableFutures.handleCompose(replicas.get(index).call(call), (result, error) -> {
+      if (error == null) {
+        return CompletableFuture.completedFuture(result);
+      }
+      if (index + 1 >= replicas.size()) {
+        return CompletableFuture.failedFuture(error);
+      }
+
+      return this.failover(replicas, index + 1, call);
+    });
+  }
+
+  /**
+   * Read sent to fastest replica, with duplicate sent to next replica after hedge delay or on
+   * failure.
+   */
+  private class HedgedRead<T> {
+
+    private final Function<AggregatorClient, CompletableFuture<T>> call;
+    private final List<Replica> replicas = ReplicatedAggregatorClient.this.rank();
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> reads = new ArrayList<>();
+    private int next = 0;
+    private int outstanding = 0;
+
+    HedgedRead(Function<AggregatorClient, CompletableFuture<T>> call) {
+      this.call = call;
+      // Losing reads and reads of cancelled result are no longer needed
+      this.result.whenComplete((value, error) -> {
+        List<CompletableFuture<T>> reads;
+        synchronized (this) {
+          reads = new ArrayList<>(this.reads);
+        }
+        reads.forEach(read -> read.cancel(true));
+      });
+    }
+
+    CompletableFuture<T> start() {
+      this.launch();
+      for (Replica replica : this.replicas.subList(1, this.replicas.size())) {
+        if (replica.claimProbe()) {
+          // Response only updates replica statistics
+          replica.call(this.call);
+        }
+      }
+      if (this.replicas.size() > 1) {
+        CompletableFuture.delayedExecutor(
+            ReplicatedAggregatorClient.this.getHedgeDelay(),
+            TimeUnit.MILLISECONDS
+        ).execute(() -> {
+          if (!this.result.isDone()) {
+            this.launch();
+          }
+        });
+      }
+
+      return this.result;
+    }
+
+    private void launch() {
+      Replica replica;
+      synchronized (this) {
+        if (this.next >= this.replicas.size()) {
+          return;
+        }
+        replica = this.replicas.get(this.next++);
+        this.outstanding++;
+      }
+
+      long start = System.nanoTime();
+      CompletableFuture<T> read = replica.call(this.call);
+      synchronized (this) {
+        this.reads.add(read);
+      }
+      if (this.result.isDone()) {
+        read.cancel(true);
+        return;
+      }
+
+      read.whenComplete((value, error) -> {
+        if (error == null) {
+          ReplicatedAggregatorClient.this.recordReadLatency(
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+          this.result.complete(value);
+          return;
+        }
+
+        if (this.result.isDone()) {
+          return;
+        }
+
+        boolean failed;
+        synchronized (this) {
+          this.outstanding--;
+          failed = this.outstanding == 0 && this.next >= this.replicas.size();
+        }
+
+        if (failed) {
+          this.result.completeExceptionally(error);
+        } else if (!this.result.isDone()) {
+          this.launch();
+        }
+      });
+    }
+  }
+
+  private static class Replica {
+
+    private final AggregatorClient client;
+    private final long probeIntervalNanos;
+    private double latency = 0;
+    private double errorRate = 0;
+    private long lastRecordNanos = System.nanoTime();
+    private long lastProbeNanos = System.nanoTime();
+
+    Replica(AggregatorClient client, long probeIntervalNanos) {
+      this.client = client;
+      this.probeIntervalNanos = probeIntervalNanos;
+    }
+
+    synchronized double getLatency() {
+      return this.latency;
+    }
+
+    synchronized double getErrorRate() {
+      return this.errorRate * Math.pow(0.5,
+          (double) (System.nanoTime() - this.lastRecordNanos) / this.probeIntervalNanos);
+    }
+
+    synchronized Rank rank() {
+      double errorRate = this.getErrorRate();
+      return new Rank(
+          this,
+          errorRate < ReplicatedAggregatorClient.MAX_ERROR_RATE,
+          this.latency + errorRate * ReplicatedAggregatorClient.ERROR_PENALTY_MILLIS
+      );
+    }
+
+    synchronized boolean claimProbe() {
+      long now = System.nanoTime();
+      if (now - this.lastRecordNanos < this.probeIntervalNanos
+          || now - this.lastProbeNanos < this.probeIntervalNanos) {
+        return false;
+      }
+
+      this.lastProbeNanos = now;
+      return true;
+    }
+
+    <T> CompletableFuture<T> call(Function<AggregatorClient, CompletableFuture<T>> call) {
+      long start = System.nanoTime();
+      CompletableFuture<T> future;
+      try {
+        future = call.apply(this.client);
+      } catch (RuntimeException e) {
+        future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+      }
+
+      CompletableFuture<T> source = future;
+      return CompletableFutures.propagateCancellation(
+          source.whenComplete((result, error) -> {
+            // Cancelled call says nothing about replica health
+            if (!(Replica.unwrap(error) instanceof CancellationException)) {
+              this.record(
+                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error != null);
+            }
+          }),
+          source
+      );
+    }
+
+    private static Throwable unwrap(Throwable error) {
+      return error instanceof CompletionException && error.getCause() != null
+          ? error.getCause()
+          : error;
+    }
+
+    private synchronized void record(long latencyMillis, boolean error) {
+      double alpha = ReplicatedAggregatorClient.SMOOTHING_FACTOR;
+      double errorRate = this.getErrorRate();
+      this.lastRecordNanos = System.nanoTime();
+      // Failed calls often return quickly, they should not make replica look fast
+      if (!error) {
+        this.latency = this.latency == 0
+            ? latencyMillis
+            : alpha * latencyMillis + (1 - alpha) * this.latency;
+      }
+      this.errorRate = alpha * (error ? 1 : 0) + (1 - alpha) * errorRate;
+    }
+  }
+
+  private static class Rank {
+
+    private final Replica replica;
+    private final boolean healthy;
+    private final double score;
+
+    Rank(Replica replica, boolean healthy, double score) {
+      this.replica = replica;
+      this.healthy = healthy;
+      this.score = score;
+    }
+  }
+}
@@ -64,6 +64,16 @@ public class RequestId extends DataHash {
     return new RequestId(hasher.digest());
   }
 
+  /**
+   * Create a request id from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return request id
+   */
+  public static RequestId fromCbor(byte[] bytes) {
+    return new RequestId(DataHash.fromCbor(bytes));
+  }
+
   /**
    * Create a request id from JSON string.
    *
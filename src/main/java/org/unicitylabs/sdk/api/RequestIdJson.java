@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import java.io.IOException;
 import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
 
 /**
  * Request ID deserializer implementation.
@@ -37,7 +38,7 @@ public class RequestIdJson {
      */
     @Override
     public RequestId deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
-      return new RequestId(p.readValueAs(DataHash.class));
+      return new RequestId(DataHash.fromImprint(ByteArrayJson.read(p, RequestId.class)));
     }
   }
 }
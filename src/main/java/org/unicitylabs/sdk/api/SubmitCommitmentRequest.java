@@ -1,15 +1,20 @@
 package org.unicitylabs.sdk.api;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
 import org.unicitylabs.sdk.hash.DataHash;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 
 /**
  * Submit commitment request.
  */
+@JsonSerialize(using = SubmitCommitmentRequestJson.Serializer.class)
+@JsonDeserialize(using = SubmitCommitmentRequestJson.Deserializer.class)
 public class SubmitCommitmentRequest {
 
   private final RequestId requestId;
@@ -25,12 +30,11 @@ public class SubmitCommitmentRequest {
    * @param authenticator   authenticator
    * @param receipt         get receipt
    */
-  @JsonCreator
   public SubmitCommitmentRequest(
-      @JsonProperty("requestId") RequestId requestId,
-      @JsonProperty("transactionHash") DataHash transactionHash,
-      @JsonProperty("authenticator") Authenticator authenticator,
-      @JsonProperty("receipt") Boolean receipt) {
+      RequestId requestId,
+      DataHash transactionHash,
+      Authenticator authenticator,
+      Boolean receipt) {
     this.requestId = requestId;
     this.transactionHash = transactionHash;
     this.authenticator = authenticator;
@@ -73,6 +77,37 @@ public class SubmitCommitmentRequest {
     return this.receipt;
   }
 
+  /**
+   * Create submit commitment request from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return submit commitment request
+   */
+  public static SubmitCommitmentRequest fromCbor(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new SubmitCommitmentRequest(
+        RequestId.fromCbor(data.get(0)),
+        DataHash.fromCbor(data.get(1)),
+        Authenticator.fromCbor(data.get(2)),
+        CborDeserializer.readOptional(data.get(3), CborDeserializer::readBoolean)
+    );
+  }
+
+  /**
+   * Convert submit commitment request to CBOR bytes.
+   *
+   * @return CBOR bytes
+   */
+  public byte[] toCbor() {
+    return CborSerializer.encodeArray(
+        this.requestId.toCbor(),
+        this.transactionHash.toCbor(),
+        this.authenticator.toCbor(),
+        CborSerializer.encodeOptional(this.receipt, CborSerializer::encodeBoolean)
+    );
+  }
+
   /**
    * Create submit commitment request from JSON string.
    *
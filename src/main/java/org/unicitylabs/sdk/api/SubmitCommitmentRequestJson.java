@@ -0,0 +1,122 @@
+package org.unicitylabs.sdk.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.unicitylabs.sdk.hash.DataHash;
+
+/**
+ * Submit commitment request serializer and deserializer implementation.
+ */
+public class SubmitCommitmentRequestJson {
+
+  private SubmitCommitmentRequestJson() {
+  }
+
+  /**
+   * Submit commitment request serializer.
+   */
+  public static class Serializer extends StdSerializer<SubmitCommitmentRequest> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(SubmitCommitmentRequest.class);
+    }
+
+    /**
+     * Serialize submit commitment request.
+     *
+     * @param value       submit commitment request
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(SubmitCommitmentRequest value, JsonGenerator gen,
+        SerializerProvider serializers) throws IOException {
+      gen.writeStartObject();
+      serializers.defaultSerializeField("requestId", value.getRequestId(), gen);
+      serializers.defaultSerializeField("transactionHash", value.getTransactionHash(), gen);
+      serializers.defaultSerializeField("authenticator", value.getAuthenticator(), gen);
+      gen.writeFieldName("receipt");
+      if (value.getReceipt() == null) {
+        gen.writeNull();
+      } else {
+        gen.writeBoolean(value.getReceipt());
+      }
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Submit commitment request deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<SubmitCommitmentRequest> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(SubmitCommitmentRequest.class);
+    }
+
+    /**
+     * Deserialize submit commitment request.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return submit commitment request
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    public SubmitCommitmentRequest deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, SubmitCommitmentRequest.class, "Expected object");
+      }
+
+      RequestId requestId = null;
+      DataHash transactionHash = null;
+      Authenticator authenticator = null;
+      Boolean receipt = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        JsonToken token = p.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+          continue;
+        }
+
+        switch (field) {
+          case "requestId":
+            requestId = ctx.readValue(p, RequestId.class);
+            break;
+          case "transactionHash":
+            transactionHash = ctx.readValue(p, DataHash.class);
+            break;
+          case "authenticator":
+            authenticator = ctx.readValue(p, Authenticator.class);
+            break;
+          case "receipt":
+            if (!token.isBoolean()) {
+              throw MismatchedInputException.from(p, Boolean.class, "Expected boolean value");
+            }
+            receipt = p.getBooleanValue();
+            break;
+          default:
+            ctx.handleUnknownProperty(p, this, SubmitCommitmentRequest.class, field);
+        }
+      }
+
+      return new SubmitCommitmentRequest(requestId, transactionHash, authenticator, receipt);
+    }
+  }
+}
@@ -3,7 +3,10 @@ package org.unicitylabs.sdk.api;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.List;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 
 /**
@@ -34,6 +37,28 @@ public class SubmitCommitmentResponse {
     return this.status;
   }
 
+  /**
+   * Create response from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return submit commitment response
+   */
+  public static SubmitCommitmentResponse fromCbor(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new SubmitCommitmentResponse(
+        SubmitCommitmentStatus.fromString(CborDeserializer.readTextString(data.get(0))));
+  }
+
+  /**
+   * Convert response to CBOR bytes.
+   *
+   * @return CBOR bytes
+   */
+  public byte[] toCbor() {
+    return CborSerializer.encodeArray(CborSerializer.encodeTextString(this.status.getValue()));
+  }
+
   /**
    * Create submit commitment response from JSON string.
    *
@@ -4,12 +4,20 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.DataHasher;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer.CborMap;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 import org.unicitylabs.sdk.serializer.json.LongAsStringSerializer;
 
@@ -28,6 +36,7 @@ public class RootTrustBase {
   private final byte[] changeRecordHash;
   private final byte[] previousEntryHash;
   private final Map<String, byte[]> signatures;
+  private volatile DataHash hash;
 
   @JsonCreator
   RootTrustBase(
@@ -166,6 +175,64 @@ public class RootTrustBase {
     );
   }
 
+  /**
+   * Encode root trust base to canonical CBOR with every field, root nodes are ordered by node ID
+   * and signatures by canonical key order.
+   *
+   * @return bytes
+   */
+  public byte[] toCbor() {
+    List<NodeInfo> nodes = new ArrayList<>(this.rootNodes);
+    nodes.sort(Comparator.comparing(NodeInfo::getNodeId));
+    byte[][] encodedNodes = new byte[nodes.size()][];
+    for (int i = 0; i < nodes.size(); i++) {
+      NodeInfo node = nodes.get(i);
+      encodedNodes[i] = CborSerializer.encodeArray(
+          CborSerializer.encodeTextString(node.nodeId),
+          CborSerializer.encodeByteString(node.signingKey),
+          CborSerializer.encodeUnsignedInteger(node.stakedAmount)
+      );
+    }
+
+    return CborSerializer.encodeArray(
+        CborSerializer.encodeUnsignedInteger(this.version),
+        CborSerializer.encodeUnsignedInteger(this.networkId),
+        CborSerializer.encodeUnsignedInteger(this.epoch),
+        CborSerializer.encodeUnsignedInteger(this.epochStartRound),
+        CborSerializer.encodeArray(encodedNodes),
+        CborSerializer.encodeUnsignedInteger(this.quorumThreshold),
+        CborSerializer.encodeByteString(this.stateHash),
+        CborSerializer.encodeOptional(this.changeRecordHash, CborSerializer::encodeByteString),
+        CborSerializer.encodeOptional(this.previousEntryHash, CborSerializer::encodeByteString),
+        CborSerializer.encodeMap(
+            new CborMap(
+                this.signatures.entrySet().stream()
+                    .map(entry -> new CborMap.Entry(
+                        CborSerializer.encodeTextString(entry.getKey()),
+                        CborSerializer.encodeByteString(entry.getValue())
+                    ))
+                    .collect(Collectors.toSet())
+            )
+        )
+    );
+  }
+
+  /**
+   * Calculate SHA-256 hash of canonical CBOR encoding. Trust bases with equal content have equal
+   * hash, so hash identifies trust base in caches.
+   *
+   * @return trust base hash
+   */
+  public DataHash calculateHash() {
+    DataHash hash = this.hash;
+    if (hash == null) {
+      hash = new DataHasher(HashAlgorithm.SHA256).update(this.toCbor()).digest();
+      this.hash = hash;
+    }
+
+    return hash;
+  }
+
   /**
    * Create a root trust base from JSON string.
    *
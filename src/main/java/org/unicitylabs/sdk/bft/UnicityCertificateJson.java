@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
 
 /**
  * Unicity certificate serializer and deserializer implementation.
@@ -40,7 +41,7 @@ public class UnicityCertificateJson {
     public void serialize(UnicityCertificate value, JsonGenerator gen,
         SerializerProvider serializers)
         throws IOException {
-      gen.writeObject(value.toCbor());
+      ByteArrayJson.write(gen, value.toCbor());
     }
   }
 
@@ -67,7 +68,7 @@ public class UnicityCertificateJson {
     @Override
     public UnicityCertificate deserialize(JsonParser p, DeserializationContext ctx)
         throws IOException {
-      return UnicityCertificate.fromCbor(p.readValueAs(byte[].class));
+      return UnicityCertificate.fromCbor(ByteArrayJson.read(p, UnicityCertificate.class));
     }
   }
 }
@@ -0,0 +1,89 @@
+package org.unicitylabs.sdk.bft.verification;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.UnicityCertificate;
+import org.unicitylabs.sdk.hash.DataHash;
+
+/**
+ * Memoized unicity certificate verification against single trust base. Proofs from same block
+ * share unicity certificate, so certificate signatures are verified once per distinct certificate
+ * and input hash. Cache is unbounded, it is meant to be used for single bulk operation.
+ */
+public class UnicityCertificateVerificationCache {
+
+  private final RootTrustBase trustBase;
+  private final UnicityCertificateVerificationRule rule = new UnicityCertificateVerificationRule();
+  private final Map<Key, Boolean> results = new ConcurrentHashMap<>();
+
+  /**
+   * Create unicity certificate verification cache.
+   *
+   * @param trustBase root trust base
+   */
+  public UnicityCertificateVerificationCache(RootTrustBase trustBase) {
+    this.trustBase = Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+  }
+
+  /**
+   * Get root trust base.
+   *
+   * @return root trust base
+   */
+  public RootTrustBase getTrustBase() {
+    return this.trustBase;
+  }
+
+  /**
+   * Verify unicity certificate for input hash, result is reused for same certificate and hash.
+   *
+   * @param inputHash          input record hash
+   * @param unicityCertificate unicity certificate
+   * @return true if certificate is valid
+   */
+  public boolean verify(DataHash inputHash, UnicityCertificate unicityCertificate) {
+    return this.results.computeIfAbsent(
+        new Key(inputHash, unicityCertificate),
+        key -> this.rule.verifyFailFast(
+            new UnicityCertificateVerificationContext(inputHash, unicityCertificate, this.trustBase)
+        ).isSuccessful()
+    );
+  }
+
+  /**
+   * Get amount of distinct certificates verified.
+   *
+   * @return verified certificate count
+   */
+  public int size() {
+    return this.results.size();
+  }
+
+  private static class Key {
+
+    private final DataHash inputHash;
+    private final UnicityCertificate unicityCertificate;
+
+    Key(DataHash inputHash, UnicityCertificate unicityCertificate) {
+      this.inputHash = inputHash;
+      this.unicityCertificate = unicityCertificate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(this.inputHash, key.inputHash)
+          && Objects.equals(this.unicityCertificate, key.unicityCertificate);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.inputHash, this.unicityCertificate);
+    }
+  }
+}
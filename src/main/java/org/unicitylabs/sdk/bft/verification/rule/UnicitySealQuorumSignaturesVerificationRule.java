@@ -85,6 +85,43 @@ public class UnicitySealQuorumSignaturesVerificationRule extends
     return VerificationResult.fail("Quorum threshold not reached.", results);
   }
 
+  @Override
+  public VerificationResult verifyFailFast(UnicityCertificateVerificationContext context) {
+    // No per node results, signatures are only checked until quorum threshold is reached
+    UnicitySeal unicitySeal = context.getUnicityCertificate().getUnicitySeal();
+    RootTrustBase trustBase = context.getTrustBase();
+
+    byte[] hash = new DataHasher(HashAlgorithm.SHA256)
+        .update(unicitySeal.toCborWithoutSignatures())
+        .digest()
+        .getData();
+    int successful = 0;
+    for (Map.Entry<String, byte[]> entry : unicitySeal.getSignatures().entrySet()) {
+      if (successful >= trustBase.getQuorumThreshold()) {
+        break;
+      }
+
+      RootTrustBase.NodeInfo node = null;
+      for (RootTrustBase.NodeInfo rootNode : trustBase.getRootNodes()) {
+        if (rootNode.getNodeId().equals(entry.getKey())) {
+          node = rootNode;
+          break;
+        }
+      }
+
+      if (UnicitySealQuorumSignaturesVerificationRule.verifySignature(node, entry.getValue(), hash)
+          .isSuccessful()) {
+        successful++;
+      }
+    }
+
+    if (successful >= trustBase.getQuorumThreshold()) {
+      return VerificationResult.success();
+    }
+
+    return VerificationResult.fail("Quorum threshold not reached.");
+  }
+
   private static VerificationResult verifySignature(
       RootTrustBase.NodeInfo node,
       byte[] signature,
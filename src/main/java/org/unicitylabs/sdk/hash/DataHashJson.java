@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
 
 /**
  * Data hash serializer and deserializer implementation.
@@ -39,7 +40,7 @@ public class DataHashJson {
     @Override
     public void serialize(DataHash value, JsonGenerator gen, SerializerProvider serializers)
         throws IOException {
-      gen.writeObject(value.getImprint());
+      ByteArrayJson.write(gen, value.getImprint());
     }
   }
 
@@ -66,7 +67,7 @@ public class DataHashJson {
      */
     @Override
     public DataHash deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
-      return DataHash.fromImprint(p.readValueAs(byte[].class));
+      return DataHash.fromImprint(ByteArrayJson.read(p, DataHash.class));
     }
   }
 }
@@ -0,0 +1,574 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+
+/**
+ * Base of JSON-RPC HTTP transports. Encodes requests, decodes responses, limits concurrency and
+ * retries failed requests, subclasses only send encoded request over HTTP client.
+ */
+public abstract class AbstractJsonRpcTransport implements JsonRpcTransport {
+
+  /**
+   * JSON content type.
+   */
+  protected static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+  /**
+   * CBOR content type.
+   */
+  protected static final String CONTENT_TYPE_CBOR = "application/cbor";
+
+  private static final ObjectWriter REQUEST_WRITER = UnicityObjectMapper.JSON
+      .writerFor(JsonRpcRequest.class)
+      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  private static final ObjectWriter BATCH_REQUEST_WRITER = UnicityObjectMapper.JSON
+      .writerFor(new TypeReference<List<JsonRpcRequest>>() {})
+      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  private static final int DEFAULT_INITIAL_CONCURRENCY = 16;
+  private static final int DEFAULT_MAX_CONCURRENCY = 256;
+  private static final Map<Class<?>, ObjectReader> RESPONSE_READERS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ObjectReader> BATCH_RESPONSE_READERS =
+      new ConcurrentHashMap<>();
+
+  private final JsonRpcRetryPolicy retryPolicy;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  /**
+   * Create transport with retry policy and concurrency limiter.
+   *
+   * @param retryPolicy retry policy for failed requests
+   * @param limiter     concurrency limiter for requests to this service
+   */
+  protected AbstractJsonRpcTransport(
+      JsonRpcRetryPolicy retryPolicy,
+      AdaptiveConcurrencyLimiter limiter
+  ) {
+    this.retryPolicy = Objects.requireNonNull(retryPolicy, "Retry policy cannot be null.");
+    this.limiter = Objects.requireNonNull(limiter, "Limiter cannot be null.");
+  }
+
+  /**
+   * Create concurrency limiter with default limits.
+   *
+   * @return concurrency limiter
+   */
+  protected static AdaptiveConcurrencyLimiter createDefaultLimiter() {
+    return AbstractJsonRpcTransport.createDefaultLimiter(
+        AbstractJsonRpcTransport.DEFAULT_MAX_CONCURRENCY);
+  }
+
+  /**
+   * Create concurrency limiter with default limits bounded by amount of concurrent requests HTTP
+   * client sends to one host. Requests over that amount would wait in HTTP client queue, where
+   * limiter does not see them.
+   *
+   * @param maxRequestsPerHost maximum concurrent requests of HTTP client to one host
+   * @return concurrency limiter
+   */
+  protected static AdaptiveConcurrencyLimiter createDefaultLimiter(int maxRequestsPerHost) {
+    int maxLimit = Math.min(maxRequestsPerHost, AbstractJsonRpcTransport.DEFAULT_MAX_CONCURRENCY);
+    return new AdaptiveConcurrencyLimiter(
+        Math.min(AbstractJsonRpcTransport.DEFAULT_INITIAL_CONCURRENCY, maxLimit),
+        1,
+        maxLimit
+    );
+  }
+
+  /**
+   * Get concurrency limiter of this transport.
+   *
+   * @return concurrency limiter
+   */
+  public AdaptiveConcurrencyLimiter getLimiter() {
+    return this.limiter;
+  }
+
+  /**
+   * Send a JSON-RPC request with additional HTTP headers.
+   *
+   * @param <T>        expected result type
+   * @param method     JSON-RPC method
+   * @param params     JSON-RPC parameters
+   * @param resultType expected result type
+   * @param headers    additional HTTP headers
+   * @return future with result
+   */
+  @Override
+  public <T> CompletableFuture<T> request(
+      String method,
+      Object params,
+      Class<T> resultType,
+      Map<String, List<String>> headers
+  ) {
+    JsonRpcRequest request = new JsonRpcRequest(method, params);
+
+    return this.execute(
+        method,
+        new RequestPayload(
+            AbstractJsonRpcTransport.CONTENT_TYPE_JSON,
+            output -> AbstractJsonRpcTransport.REQUEST_WRITER.writeValue(output, request)
+        ),
+        AbstractJsonRpcTransport.CONTENT_TYPE_JSON,
+        headers,
+        (contentType, body) -> AbstractJsonRpcTransport.getResult(
+            AbstractJsonRpcTransport.getResponseReader(resultType).readValue(body))
+    );
+  }
+
+  /**
+   * Send a JSON-RPC request in binary CBOR envelope. Request is encoded as CBOR array
+   * [version, id, method, params] and response is expected as [version, id, result, error]. If
+   * server rejects binary mode, future fails with {@link JsonRpcNetworkException} with status 415
+   * or 406. If server answers in other format, future fails with
+   * {@link JsonRpcContentTypeException}.
+   *
+   * @param <T>           expected result type
+   * @param method        JSON-RPC method
+   * @param params        JSON-RPC parameters as CBOR bytes
+   * @param resultDecoder result decoder from CBOR bytes
+   * @param headers       additional HTTP headers
+   * @return future with result
+   */
+  @Override
+  public <T> CompletableFuture<T> requestCbor(
+      String method,
+      byte[] params,
+      Function<byte[], T> resultDecoder,
+      Map<String, List<String>> headers
+  ) {
+    byte[] request = CborSerializer.encodeArray(
+        CborSerializer.encodeTextString("2.0"),
+        CborSerializer.encodeTextString(UUID.randomUUID().toString()),
+        CborSerializer.encodeTextString(method),
+        params
+    );
+
+    return this.execute(
+        method,
+        new RequestPayload(AbstractJsonRpcTransport.CONTENT_TYPE_CBOR,
+            output -> output.write(request)),
+        AbstractJsonRpcTransport.CONTENT_TYPE_CBOR,
+        headers,
+        (contentType, body) -> {
+          if (!AbstractJsonRpcTransport.isCbor(contentType)) {
+            throw new JsonRpcContentTypeException(contentType);
+          }
+
+          return AbstractJsonRpcTransport.getResult(
+              JsonRpcResponse.fromCbor(AbstractJsonRpcTransport.readAll(body), resultDecoder));
+        }
+    );
+  }
+
+  /**
+   * Send JSON-RPC batch of requests with same method in single HTTP request. Responses are
+   * correlated with requests by JSON-RPC id, so server may return them in any order.
+   *
+   * @param <T>        expected result type
+   * @param method     JSON-RPC method
+   * @param params     JSON-RPC parameters for each request in batch
+   * @param resultType expected result type
+   * @param headers    additional HTTP headers
+   * @return future with results in same order as parameters
+   */
+  @Override
+  public <T> CompletableFuture<List<T>> requestBatch(
+      String method,
+      List<?> params,
+      Class<T> resultType,
+      Map<String, List<String>> headers
+  ) {
+    if (params.isEmpty()) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+
+    List<JsonRpcRequest> requests = new ArrayList<>(params.size());
+    for (Object param : params) {
+      requests.add(new JsonRpcRequest(method, param));
+    }
+
+    return this.execute(
+        method,
+        new RequestPayload(
+            AbstractJsonRpcTransport.CONTENT_TYPE_JSON,
+            output -> AbstractJsonRpcTransport.BATCH_REQUEST_WRITER.writeValue(output, requests)
+        ),
+        AbstractJsonRpcTransport.CONTENT_TYPE_JSON,
+        headers,
+        (contentType, body) -> {
+          List<JsonRpcResponse<T>> responses = AbstractJsonRpcTransport
+              .getBatchResponseReader(resultType)
+              .readValue(body);
+
+          Map<UUID, JsonRpcResponse<T>> responsesById = new HashMap<>(responses.size());
+          for (JsonRpcResponse<T> response : responses) {
+            responsesById.put(response.getId(), response);
+          }
+
+          List<T> results = new ArrayList<>(requests.size());
+          for (JsonRpcRequest request : requests) {
+            JsonRpcResponse<T> response = responsesById.get(request.getId());
+            if (response == null) {
+              throw new IOException(
+                  String.format("Missing JSON-RPC batch response for id %s", request.getId()));
+            }
+
+            results.add(AbstractJsonRpcTransport.getResult(response));
+          }
+
+          return results;
+        }
+    );
+  }
+
+  /**
+   * Send request over HTTP and parse response with {@link #readResponse}. Returned future fails
+   * with {@link java.io.IOException} on network failure.
+   *
+   * @param <T>     expected result type
+   * @param payload request body
+   * @param accept  accepted response content type
+   * @param headers additional HTTP headers
+   * @param parser  response body parser
+   * @return future with parsed response
+   */
+  protected abstract <T> CompletableFuture<T> send(
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser
+  );
+
+  /**
+   * Parse HTTP response, responses with unsuccessful status are turned into
+   * {@link JsonRpcNetworkException}.
+   *
+   * @param <T>         expected result type
+   * @param status      HTTP status code
+   * @param contentType response content type, null if not given
+   * @param body        response body, null if response has no body
+   * @param retryAfter  value of Retry-After header, null if not given
+   * @param parser      response body parser
+   * @return parsed response
+   * @throws JsonRpcNetworkException if status is not successful or response contains error
+   */
+  protected static <T> T readResponse(
+      int status,
+      String contentType,
+      InputStream body,
+      String retryAfter,
+      ResponseParser<T> parser
+  ) throws JsonRpcNetworkException {
+    try {
+      if (status < 200 || status >= 300) {
+        throw new JsonRpcNetworkException(
+            status,
+            body != null
+                ? new String(AbstractJsonRpcTransport.readAll(body), StandardCharsets.UTF_8)
+                : "",
+            AbstractJsonRpcTransport.parseRetryAfter(retryAfter)
+        );
+      }
+
+      if (body == null) {
+        throw new IOException("Empty JSON-RPC response body");
+      }
+
+      return parser.parse(contentType, body);
+    } catch (JsonRpcNetworkException | JsonRpcContentTypeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to parse JSON-RPC response", e);
+    }
+  }
+
+  private <T> CompletableFuture<T> execute(
+      String method,
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser
+  ) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+    // Cancelling or timing out result aborts request in flight and stops retries
+    result.whenComplete((value, error) -> {
+      CompletableFuture<?> attempt = current.get();
+      if (attempt != null) {
+        attempt.cancel(true);
+      }
+    });
+
+    this.attempt(method, payload, accept, headers, parser, 1, result, current);
+    return result;
+  }
+
+  private <T> void attempt(
+      String method,
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser,
+      int attempt,
+      CompletableFuture<T> result,
+      AtomicReference<CompletableFuture<?>> current
+  ) {
+    CompletableFuture<Void> permit = this.limiter.acquire();
+    current.set(permit);
+    if (result.isDone()) {
+      // Permit is often granted synchronously, granted permit has to be given back
+      if (!permit.cancel(true)) {
+        this.limiter.release();
+      }
+      return;
+    }
+
+    permit
+        .thenCompose(ignored -> {
+          long startedAt = System.nanoTime();
+          CompletableFuture<T> call = result.isDone()
+              ? CompletableFuture.failedFuture(new CancellationException())
+              : this.sendSafely(payload, accept, headers, parser);
+          current.set(call);
+          if (result.isDone()) {
+            call.cancel(true);
+          }
+
+          return call.whenComplete((value, error) -> {
+            Throwable cause = AbstractJsonRpcTransport.unwrap(error);
+            // Call abandoned by caller tells nothing about server capacity
+            if (cause instanceof CancellationException || cause instanceof TimeoutException) {
+              this.limiter.release();
+              return;
+            }
+            this.limiter.release(
+                startedAt,
+                JsonRpcRetryPolicy.isOverload(cause),
+                cause instanceof JsonRpcNetworkException
+                    ? ((JsonRpcNetworkException) cause).getRetryAfter().orElse(null)
+                    : null
+            );
+          });
+        })
+        .whenComplete((value, error) -> {
+          if (error == null) {
+            result.complete(value);
+            return;
+          }
+          if (result.isDone()) {
+            return;
+          }
+
+          Throwable cause = AbstractJsonRpcTransport.unwrap(error);
+          Optional<Duration> delay = this.retryPolicy.getRetryDelay(method, cause, attempt);
+          if (delay.isEmpty()) {
+            result.completeExceptionally(cause);
+            return;
+          }
+
+          CompletableFuture.delayedExecutor(delay.get().toMillis(), TimeUnit.MILLISECONDS)
+              .execute(() -> {
+                if (!result.isDone()) {
+                  this.attempt(method, payload, accept, headers, parser, attempt + 1, result,
+                      current);
+                }
+              });
+        });
+  }
+
+  private <T> CompletableFuture<T> sendSafely(
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser
+  ) {
+    try {
+      return this.send(payload, accept, headers, parser);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  private static boolean isCbor(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+
+    int index = contentType.indexOf(';');
+    String mediaType = (index < 0 ? contentType : contentType.substring(0, index)).trim();
+    return mediaType.equalsIgnoreCase(AbstractJsonRpcTransport.CONTENT_TYPE_CBOR);
+  }
+
+  private static byte[] readAll(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = input.read(chunk)) != -1) {
+      output.write(chunk, 0, read);
+    }
+
+    return output.toByteArray();
+  }
+
+  private static Duration parseRetryAfter(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+    } catch (NumberFormatException e) {
+      // Retry-After can also be HTTP date
+    }
+
+    try {
+      Duration delay = Duration.between(
+          Instant.now(),
+          ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+      );
+      return delay.isNegative() ? Duration.ZERO : delay;
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static <T> T getResult(JsonRpcResponse<T> response) throws JsonRpcNetworkException {
+    if (response.getError() != null) {
+      throw new JsonRpcNetworkException(
+          response.getError().getCode(),
+          response.getError().getMessage()
+      );
+    }
+
+    return response.getResult();
+  }
+
+  private static ObjectReader getBatchResponseReader(Class<?> resultType) {
+    return AbstractJsonRpcTransport.BATCH_RESPONSE_READERS.computeIfAbsent(
+        resultType,
+        type -> {
+          TypeFactory typeFactory = UnicityObjectMapper.JSON.getTypeFactory();
+          return UnicityObjectMapper.JSON.readerFor(
+              typeFactory.constructCollectionType(
+                  List.class,
+                  typeFactory.constructParametricType(JsonRpcResponse.class, type)
+              )
+          );
+        }
+    );
+  }
+
+  private static ObjectReader getResponseReader(Class<?> resultType) {
+    return AbstractJsonRpcTransport.RESPONSE_READERS.computeIfAbsent(
+        resultType,
+        type -> UnicityObjectMapper.JSON.readerFor(
+            UnicityObjectMapper.JSON.getTypeFactory()
+                .constructParametricType(JsonRpcResponse.class, type)
+        )
+    );
+  }
+
+  /**
+   * Encoded request body, written directly into HTTP client output when client supports it.
+   */
+  protected static final class RequestPayload {
+
+    private final String contentType;
+    private final PayloadWriter writer;
+
+    private RequestPayload(String contentType, PayloadWriter writer) {
+      this.contentType = contentType;
+      this.writer = writer;
+    }
+
+    /**
+     * Get content type of request body.
+     *
+     * @return content type
+     */
+    public String getContentType() {
+      return this.contentType;
+    }
+
+    /**
+     * Write request body to output.
+     *
+     * @param output output stream
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream output) throws IOException {
+      this.writer.write(output);
+    }
+
+    /**
+     * Encode request body to bytes.
+     *
+     * @return request body bytes
+     * @throws IOException if encoding fails
+     */
+    public byte[] toByteArray() throws IOException {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      this.writer.write(output);
+      return output.toByteArray();
+    }
+  }
+
+  /**
+   * Parser of successful HTTP response body.
+   *
+   * @param <T> result type
+   */
+  protected interface ResponseParser<T> {
+
+    /**
+     * Parse response body.
+     *
+     * @param contentType response content type, null if not given
+     * @param body        response body
+     * @return parsed result
+     * @throws Exception if parsing fails or response contains JSON-RPC error
+     */
+    T parse(String contentType, InputStream body) throws Exception;
+  }
+
+  private interface PayloadWriter {
+
+    void write(OutputStream output) throws IOException;
+  }
+}
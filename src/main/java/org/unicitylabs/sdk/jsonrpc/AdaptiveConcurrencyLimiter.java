@@ -0,0 +1,178 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limiter using additive increase / multiplicative decrease. Limit grows by one for
+ * every limit worth of successful requests and is halved when server reports overload. Limit is
+ * halved once per overload, overload reported by requests started before last decrease is
+ * ignored. When server asks to retry after some time, no new requests are started until then.
+ * Requests over the limit wait in FIFO queue, cancelled waiters are removed from it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double DECREASE_FACTOR = 0.5;
+  private static final Duration MAX_PAUSE = Duration.ofSeconds(60);
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+  private double limit;
+  private int inFlight = 0;
+  private long pausedUntil = 0;
+  private long decreasedAt = System.nanoTime();
+  private boolean resumeScheduled = false;
+
+  /**
+   * Create concurrency limiter.
+   *
+   * @param initialLimit initial concurrency limit
+   * @param minLimit     minimum concurrency limit
+   * @param maxLimit     maximum concurrency limit
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit
+        || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          "Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit.");
+    }
+
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+  }
+
+  /**
+   * Get current concurrency limit.
+   *
+   * @return concurrency limit
+   */
+  public synchronized int getLimit() {
+    return (int) this.limit;
+  }
+
+  /**
+   * Get amount of requests in flight.
+   *
+   * @return requests in flight
+   */
+  public synchronized int getInFlight() {
+    return this.inFlight;
+  }
+
+  /**
+   * Get amount of requests waiting for permit.
+   *
+   * @return waiting request count
+   */
+  public synchronized int getQueued() {
+    return this.waiters.size();
+  }
+
+  /**
+   * Acquire permit for request, every acquired permit has to be released with
+   * {@link #release(long, boolean, Duration)} or {@link #release()}. Cancelling returned future before
+   * permit is acquired removes request from queue.
+   *
+   * @return future which completes when permit is acquired
+   */
+  public CompletableFuture<Void> acquire() {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    synchronized (this) {
+      this.waiters.add(future);
+    }
+    future.whenComplete((result, error) -> {
+      if (error != null) {
+        synchronized (this) {
+          this.waiters.remove(future);
+        }
+      }
+    });
+    this.dispatch();
+
+    return future;
+  }
+
+  /**
+   * Release permit without adjusting limit, for requests which were cancelled or timed out on
+   * client side and so say nothing about server capacity.
+   */
+  public void release() {
+    synchronized (this) {
+      this.inFlight--;
+    }
+
+    this.dispatch();
+  }
+
+  /**
+   * Release permit and adjust limit by request outcome.
+   *
+   * @param startedAt  {@link System#nanoTime()} when request was started
+   * @param overloaded true if server reported overload
+   * @param retryAfter time server asked to wait before next request, null if not given
+   */
+  public void release(long startedAt, boolean overloaded, Duration retryAfter) {
+    synchronized (this) {
+      this.inFlight--;
+      if (overloaded) {
+        // Requests in flight during decrease report same overload, limit already reacted to it
+        if (startedAt - this.decreasedAt >= 0) {
+          this.limit = Math.max(this.minLimit,
+              this.limit * AdaptiveConcurrencyLimiter.DECREASE_FACTOR);
+          this.decreasedAt = System.nanoTime();
+        }
+      } else {
+        this.limit = Math.min(this.maxLimit, this.limit + 1 / this.limit);
+      }
+
+      if (retryAfter != null && !retryAfter.isNegative()) {
+        Duration pause = retryAfter.compareTo(AdaptiveConcurrencyLimiter.MAX_PAUSE) > 0
+            ? AdaptiveConcurrencyLimiter.MAX_PAUSE
+            : retryAfter;
+        this.pausedUntil = Math.max(this.pausedUntil, System.nanoTime() + pause.toNanos());
+      }
+    }
+
+    this.dispatch();
+  }
+
+  private void dispatch() {
+    List<CompletableFuture<Void>> ready = new ArrayList<>();
+    synchronized (this) {
+      long pause = this.pausedUntil - System.nanoTime();
+      if (pause > 0) {
+        if (!this.waiters.isEmpty() && !this.resumeScheduled) {
+          this.resumeScheduled = true;
+          CompletableFuture.delayedExecutor(pause, TimeUnit.NANOSECONDS).execute(() -> {
+            synchronized (this) {
+              this.resumeScheduled = false;
+            }
+            this.dispatch();
+          });
+        }
+      } else {
+        while (!this.waiters.isEmpty() && this.inFlight < (int) this.limit) {
+          CompletableFuture<Void> waiter = this.waiters.poll();
+          if (!waiter.isDone()) {
+            this.inFlight++;
+            ready.add(waiter);
+          }
+        }
+      }
+    }
+
+    // Complete outside of lock as callers start their requests in completion thread
+    for (CompletableFuture<Void> waiter : ready) {
+      if (!waiter.complete(null)) {
+        this.release();
+      }
+    }
+  }
+}
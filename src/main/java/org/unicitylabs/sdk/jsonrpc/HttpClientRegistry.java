@@ -0,0 +1,112 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Registry of shared HTTP clients. Transports with equal configuration use the same client, so
+ * connection pool, dispatcher threads and TLS sessions are shared between them.
+ */
+public class HttpClientRegistry {
+
+  private static final Map<HttpTransportConfig, OkHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private HttpClientRegistry() {
+  }
+
+  /**
+   * Get shared HTTP client for default configuration.
+   *
+   * @return HTTP client
+   */
+  public static OkHttpClient getClient() {
+    return HttpClientRegistry.getClient(HttpTransportConfig.DEFAULT);
+  }
+
+  /**
+   * Get shared HTTP client for configuration, client is created on first use.
+   *
+   * @param config transport configuration
+   * @return HTTP client
+   */
+  public static OkHttpClient getClient(HttpTransportConfig config) {
+    Objects.requireNonNull(config, "Config cannot be null.");
+
+    return HttpClientRegistry.CLIENTS.computeIfAbsent(config, HttpClientRegistry::createClient);
+  }
+
+  /**
+   * Get statistics of shared HTTP client for configuration.
+   *
+   * @param config transport configuration
+   * @return statistics, empty statistics if client has not been created
+   */
+  public static HttpTransportStatistics getStatistics(HttpTransportConfig config) {
+    Objects.requireNonNull(config, "Config cannot be null.");
+
+    OkHttpClient client = HttpClientRegistry.CLIENTS.get(config);
+    if (client == null) {
+      return new HttpTransportStatistics(0, 0, 0, 0);
+    }
+
+    return HttpClientRegistry.getStatistics(client);
+  }
+
+  /**
+   * Get statistics of HTTP client.
+   *
+   * @param client HTTP client
+   * @return statistics
+   */
+  public static HttpTransportStatistics getStatistics(OkHttpClient client) {
+    Objects.requireNonNull(client, "Client cannot be null.");
+
+    return new HttpTransportStatistics(
+        client.connectionPool().connectionCount(),
+        client.connectionPool().idleConnectionCount(),
+        client.dispatcher().runningCallsCount(),
+        client.dispatcher().queuedCallsCount()
+    );
+  }
+
+  /**
+   * Get amount of shared HTTP clients.
+   *
+   * @return amount of clients
+   */
+  public static int size() {
+    return HttpClientRegistry.CLIENTS.size();
+  }
+
+  private static OkHttpClient createClient(HttpTransportConfig config) {
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(config.getMaxRequests());
+    dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+    return new OkHttpClient.Builder()
+        .dispatcher(dispatcher)
+        .connectionPool(
+            new ConnectionPool(
+                config.getMaxIdleConnections(),
+                config.getKeepAlive().toMillis(),
+                TimeUnit.MILLISECONDS
+            )
+        )
+        .protocols(
+            config.isHttp2()
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1)
+        )
+        .connectTimeout(config.getConnectTimeout())
+        .readTimeout(config.getReadTimeout())
+        .writeTimeout(config.getWriteTimeout())
+        .build();
+  }
+}
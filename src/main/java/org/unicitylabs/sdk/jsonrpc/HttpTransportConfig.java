@@ -0,0 +1,269 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * HTTP transport configuration, transports with equal configuration share single HTTP client from
+ * {@link HttpClientRegistry}.
+ */
+public class HttpTransportConfig {
+
+  /**
+   * Default configuration.
+   */
+  public static final HttpTransportConfig DEFAULT = new Builder().build();
+
+  private final int maxRequests;
+  private final int maxRequestsPerHost;
+  private final int maxIdleConnections;
+  private final Duration keepAlive;
+  private final boolean http2;
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+  private final Duration writeTimeout;
+
+  private HttpTransportConfig(Builder builder) {
+    this.maxRequests = builder.maxRequests;
+    this.maxRequestsPerHost = builder.maxRequestsPerHost;
+    this.maxIdleConnections = builder.maxIdleConnections;
+    this.keepAlive = builder.keepAlive;
+    this.http2 = builder.http2;
+    this.connectTimeout = builder.connectTimeout;
+    this.readTimeout = builder.readTimeout;
+    this.writeTimeout = builder.writeTimeout;
+  }
+
+  /**
+   * Get maximum amount of concurrent requests.
+   *
+   * @return maximum requests
+   */
+  public int getMaxRequests() {
+    return this.maxRequests;
+  }
+
+  /**
+   * Get maximum amount of concurrent requests per host.
+   *
+   * @return maximum requests per host
+   */
+  public int getMaxRequestsPerHost() {
+    return this.maxRequestsPerHost;
+  }
+
+  /**
+   * Get maximum amount of idle connections kept in pool.
+   *
+   * @return maximum idle connections
+   */
+  public int getMaxIdleConnections() {
+    return this.maxIdleConnections;
+  }
+
+  /**
+   * Get keep alive duration of idle connections.
+   *
+   * @return keep alive duration
+   */
+  public Duration getKeepAlive() {
+    return this.keepAlive;
+  }
+
+  /**
+   * Is HTTP/2 allowed.
+   *
+   * @return true if HTTP/2 is allowed
+   */
+  public boolean isHttp2() {
+    return this.http2;
+  }
+
+  /**
+   * Get connect timeout.
+   *
+   * @return connect timeout
+   */
+  public Duration getConnectTimeout() {
+    return this.connectTimeout;
+  }
+
+  /**
+   * Get read timeout.
+   *
+   * @return read timeout
+   */
+  public Duration getReadTimeout() {
+    return this.readTimeout;
+  }
+
+  /**
+   * Get write timeout.
+   *
+   * @return write timeout
+   */
+  public Duration getWriteTimeout() {
+    return this.writeTimeout;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof HttpTransportConfig)) {
+      return false;
+    }
+    HttpTransportConfig that = (HttpTransportConfig) o;
+    return this.maxRequests == that.maxRequests
+        && this.maxRequestsPerHost == that.maxRequestsPerHost
+        && this.maxIdleConnections == that.maxIdleConnections
+        && this.http2 == that.http2
+        && Objects.equals(this.keepAlive, that.keepAlive)
+        && Objects.equals(this.connectTimeout, that.connectTimeout)
+        && Objects.equals(this.readTimeout, that.readTimeout)
+        && Objects.equals(this.writeTimeout, that.writeTimeout);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.maxRequests, this.maxRequestsPerHost, this.maxIdleConnections,
+        this.keepAlive, this.http2, this.connectTimeout, this.readTimeout, this.writeTimeout);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "HttpTransportConfig{maxRequests=%s, maxRequestsPerHost=%s, maxIdleConnections=%s, "
+            + "keepAlive=%s, http2=%s, connectTimeout=%s, readTimeout=%s, writeTimeout=%s}",
+        this.maxRequests, this.maxRequestsPerHost, this.maxIdleConnections, this.keepAlive,
+        this.http2, this.connectTimeout, this.readTimeout, this.writeTimeout);
+  }
+
+  /**
+   * HTTP transport configuration builder, defaults match OkHttp defaults.
+   */
+  public static class Builder {
+
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private int maxIdleConnections = 5;
+    private Duration keepAlive = Duration.ofMinutes(5);
+    private boolean http2 = true;
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Create configuration builder.
+     */
+    public Builder() {
+    }
+
+    /**
+     * Set maximum amount of concurrent requests.
+     *
+     * @param maxRequests maximum requests
+     * @return current builder
+     */
+    public Builder maxRequests(int maxRequests) {
+      Builder.requirePositive(maxRequests, "Max requests");
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    /**
+     * Set maximum amount of concurrent requests per host.
+     *
+     * @param maxRequestsPerHost maximum requests per host
+     * @return current builder
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      Builder.requirePositive(maxRequestsPerHost, "Max requests per host");
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    /**
+     * Set maximum amount of idle connections kept in pool.
+     *
+     * @param maxIdleConnections maximum idle connections
+     * @return current builder
+     */
+    public Builder maxIdleConnections(int maxIdleConnections) {
+      if (maxIdleConnections < 0) {
+        throw new IllegalArgumentException("Max idle connections cannot be negative.");
+      }
+      this.maxIdleConnections = maxIdleConnections;
+      return this;
+    }
+
+    /**
+     * Set keep alive duration of idle connections.
+     *
+     * @param keepAlive keep alive duration
+     * @return current builder
+     */
+    public Builder keepAlive(Duration keepAlive) {
+      this.keepAlive = Objects.requireNonNull(keepAlive, "Keep alive cannot be null.");
+      return this;
+    }
+
+    /**
+     * Set if HTTP/2 is allowed, otherwise only HTTP/1.1 is used.
+     *
+     * @param http2 allow HTTP/2
+     * @return current builder
+     */
+    public Builder http2(boolean http2) {
+      this.http2 = http2;
+      return this;
+    }
+
+    /**
+     * Set connect timeout.
+     *
+     * @param connectTimeout connect timeout
+     * @return current builder
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = Objects.requireNonNull(connectTimeout,
+          "Connect timeout cannot be null.");
+      return this;
+    }
+
+    /**
+     * Set read timeout.
+     *
+     * @param readTimeout read timeout
+     * @return current builder
+     */
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = Objects.requireNonNull(readTimeout, "Read timeout cannot be null.");
+      return this;
+    }
+
+    /**
+     * Set write timeout.
+     *
+     * @param writeTimeout write timeout
+     * @return current builder
+     */
+    public Builder writeTimeout(Duration writeTimeout) {
+      this.writeTimeout = Objects.requireNonNull(writeTimeout, "Write timeout cannot be null.");
+      return this;
+    }
+
+    /**
+     * Build configuration.
+     *
+     * @return configuration
+     */
+    public HttpTransportConfig build() {
+      return new HttpTransportConfig(this);
+    }
+
+    private static void requirePositive(int value, String name) {
+      if (value < 1) {
+        throw new IllegalArgumentException(String.format("%s must be positive.", name));
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+/**
+ * Snapshot of shared HTTP client connection pool and dispatcher state.
+ */
+public class HttpTransportStatistics {
+
+  private final int connectionCount;
+  private final int idleConnectionCount;
+  private final int runningCallsCount;
+  private final int queuedCallsCount;
+
+  HttpTransportStatistics(
+      int connectionCount,
+      int idleConnectionCount,
+      int runningCallsCount,
+      int queuedCallsCount
+  ) {
+    this.connectionCount = connectionCount;
+    this.idleConnectionCount = idleConnectionCount;
+    this.runningCallsCount = runningCallsCount;
+    this.queuedCallsCount = queuedCallsCount;
+  }
+
+  /**
+   * Get amount of open connections in pool.
+   *
+   * @return connection count
+   */
+  public int getConnectionCount() {
+    return this.connectionCount;
+  }
+
+  /**
+   * Get amount of idle connections in pool.
+   *
+   * @return idle connection count
+   */
+  public int getIdleConnectionCount() {
+    return this.idleConnectionCount;
+  }
+
+  /**
+   * Get amount of running calls.
+   *
+   * @return running calls count
+   */
+  public int getRunningCallsCount() {
+    return this.runningCallsCount;
+  }
+
+  /**
+   * Get amount of calls waiting for dispatcher.
+   *
+   * @return queued calls count
+   */
+  public int getQueuedCallsCount() {
+    return this.queuedCallsCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "HttpTransportStatistics{connectionCount=%s, idleConnectionCount=%s, "
+            + "runningCallsCount=%s, queuedCallsCount=%s}",
+        this.connectionCount, this.idleConnectionCount, this.runningCallsCount,
+        this.queuedCallsCount);
+  }
+}
@@ -0,0 +1,29 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+/**
+ * Exception for successful response with content type other than requested. Server may have
+ * processed the request before answering in unexpected format.
+ */
+public class JsonRpcContentTypeException extends RuntimeException {
+
+  private final String contentType;
+
+  /**
+   * Create exception for response content type.
+   *
+   * @param contentType response content type, null if not given
+   */
+  public JsonRpcContentTypeException(String contentType) {
+    super(String.format("Unsupported response content type: %s", contentType));
+    this.contentType = contentType;
+  }
+
+  /**
+   * Get response content type.
+   *
+   * @return content type, null if not given
+   */
+  public String getContentType() {
+    return this.contentType;
+  }
+}
@@ -2,6 +2,9 @@ package org.unicitylabs.sdk.jsonrpc;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 
 /**
  * JSON RPC response error.
@@ -37,4 +40,31 @@ public class JsonRpcError {
   public String getMessage() {
     return message;
   }
-}
\ No newline at end of file
+
+  /**
+   * Create error from CBOR bytes.
+   *
+   * @param bytes CBOR bytes
+   * @return error
+   */
+  public static JsonRpcError fromCbor(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new JsonRpcError(
+        Math.toIntExact(CborDeserializer.readInteger(data.get(0))),
+        CborDeserializer.readTextString(data.get(1))
+    );
+  }
+
+  /**
+   * Convert error to CBOR bytes.
+   *
+   * @return CBOR bytes
+   */
+  public byte[] toCbor() {
+    return CborSerializer.encodeArray(
+        CborSerializer.encodeInteger(this.code),
+        CborSerializer.encodeTextString(this.message)
+    );
+  }
+}
@@ -1,9 +1,9 @@
-
 package org.unicitylabs.sdk.jsonrpc;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -13,118 +13,154 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import okio.BufferedSink;
 
 /**
- * JSON-RPC HTTP service.
+ * JSON-RPC HTTP service over OkHttp client.
  */
-public class JsonRpcHttpTransport {
-
-  private static final MediaType MEDIA_TYPE_JSON = MediaType.get("application/json; charset=utf-8");
+public class JsonRpcHttpTransport extends AbstractJsonRpcTransport {
 
   private final String url;
   private final OkHttpClient httpClient;
 
   /**
-   * JSON-RPC HTTP service constructor.
+   * JSON-RPC HTTP service constructor, uses shared HTTP client with default configuration.
    *
    * @param url service URL
    */
   public JsonRpcHttpTransport(String url) {
-    this.url = url;
-    this.httpClient = new OkHttpClient();
+    this(url, HttpTransportConfig.DEFAULT);
+  }
+
+  /**
+   * JSON-RPC HTTP service constructor, uses shared HTTP client for given configuration.
+   *
+   * @param url    service URL
+   * @param config HTTP transport configuration
+   */
+  public JsonRpcHttpTransport(String url, HttpTransportConfig config) {
+    this(url, HttpClientRegistry.getClient(config));
   }
 
   /**
-   * Send a JSON-RPC request.
+   * JSON-RPC HTTP service constructor with caller managed HTTP client. Concurrency limit does not
+   * exceed per host request limit of client dispatcher.
    *
-   * @param <T>        expected result type
-   * @param method     JSON-RPC method
-   * @param params     JSON-RPC parameters
-   * @param resultType expected result type
-   * @return future with result
+   * @param url        service URL
+   * @param httpClient HTTP client
    */
-  public <T> CompletableFuture<T> request(String method, Object params, Class<T> resultType) {
-    return request(method, params, resultType, Map.of());
+  public JsonRpcHttpTransport(String url, OkHttpClient httpClient) {
+    this(
+        url,
+        httpClient,
+        JsonRpcRetryPolicy.DEFAULT,
+        AbstractJsonRpcTransport.createDefaultLimiter(
+            Objects.requireNonNull(httpClient, "HTTP client cannot be null.")
+                .dispatcher()
+                .getMaxRequestsPerHost())
+    );
   }
 
   /**
-   * Send a JSON-RPC request with optional API key.
+   * JSON-RPC HTTP service constructor with caller managed HTTP client, retry policy and
+   * concurrency limiter.
    *
-   * @param <T>        expected result type
-   * @param method     JSON-RPC method
-   * @param params     JSON-RPC parameters
-   * @param resultType expected result type
-   * @param headers    additional HTTP headers
-   * @return future with result
+   * @param url         service URL
+   * @param httpClient  HTTP client
+   * @param retryPolicy retry policy for failed requests
+   * @param limiter     concurrency limiter for requests to this service
    */
-  public <T> CompletableFuture<T> request(
-      String method,
-      Object params,
-      Class<T> resultType,
-      Map<String, List<String>> headers
+  public JsonRpcHttpTransport(
+      String url,
+      OkHttpClient httpClient,
+      JsonRpcRetryPolicy retryPolicy,
+      AdaptiveConcurrencyLimiter limiter
+  ) {
+    super(retryPolicy, limiter);
+    this.url = Objects.requireNonNull(url, "Url cannot be null.");
+    this.httpClient = Objects.requireNonNull(httpClient, "HTTP client cannot be null.");
+  }
+
+  /**
+   * Get statistics of HTTP client used by this transport.
+   *
+   * @return statistics
+   */
+  public HttpTransportStatistics getStatistics() {
+    return HttpClientRegistry.getStatistics(this.httpClient);
+  }
+
+  @Override
+  protected <T> CompletableFuture<T> send(
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser
   ) {
     CompletableFuture<T> future = new CompletableFuture<>();
 
-    try {
-      Request.Builder requestBuilder = new Request.Builder()
-          .url(this.url)
-          .post(
-              RequestBody.create(
-                  UnicityObjectMapper.JSON.writeValueAsString(
-                      new JsonRpcRequest(method, params)
-                  ),
-                  JsonRpcHttpTransport.MEDIA_TYPE_JSON)
+    Request.Builder requestBuilder = new Request.Builder()
+        .url(this.url)
+        .header("Accept", accept)
+        .post(new PayloadRequestBody(payload));
+
+    headers.forEach((header, values) ->
+        values.forEach(value ->
+            requestBuilder.addHeader(header, value)));
+
+    Call call = this.httpClient.newCall(requestBuilder.build());
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        future.completeExceptionally(e);
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try (ResponseBody body = response.body()) {
+          MediaType contentType = body != null ? body.contentType() : null;
+          future.complete(
+              AbstractJsonRpcTransport.readResponse(
+                  response.code(),
+                  contentType != null ? contentType.toString() : null,
+                  body != null ? body.byteStream() : null,
+                  response.header("Retry-After"),
+                  parser
+              )
           );
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      }
+    });
+    future.whenComplete((result, error) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
 
-      headers.forEach((header, values) ->
-          values.forEach(value ->
-              requestBuilder.addHeader(header, value)));
+    return future;
+  }
+
+  /**
+   * Request body which serializes JSON-RPC request or batch directly into HTTP sink.
+   */
+  private static class PayloadRequestBody extends RequestBody {
 
-      Request request = requestBuilder.build();
+    private final RequestPayload payload;
 
-      this.httpClient.newCall(request).enqueue(new Callback() {
-        @Override
-        public void onFailure(Call call, IOException e) {
-          future.completeExceptionally(e);
-        }
+    PayloadRequestBody(RequestPayload payload) {
+      this.payload = payload;
+    }
 
-        @Override
-        public void onResponse(Call call, Response response) {
-          try (ResponseBody body = response.body()) {
-            if (!response.isSuccessful()) {
-              String error = body != null ? body.string() : "";
-              future.completeExceptionally(new JsonRpcNetworkException(response.code(), error));
-              return;
-            }
-
-            JsonRpcResponse<T> data = UnicityObjectMapper.JSON.readValue(
-                body != null ? body.string() : "",
-                UnicityObjectMapper.JSON.getTypeFactory()
-                    .constructParametricType(JsonRpcResponse.class, resultType)
-            );
-
-            if (data.getError() != null) {
-              future.completeExceptionally(
-                  new JsonRpcNetworkException(
-                      data.getError().getCode(),
-                      data.getError().getMessage()
-                  )
-              );
-              return;
-            }
-
-            future.complete(data.getResult());
-          } catch (Exception e) {
-            future.completeExceptionally(
-                new RuntimeException("Failed to parse JSON-RPC response", e));
-          }
-        }
-      });
-    } catch (Exception e) {
-      return CompletableFuture.failedFuture(e);
+    @Override
+    public MediaType contentType() {
+      return MediaType.get(this.payload.getContentType());
     }
 
-    return future;
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      this.payload.writeTo(sink.outputStream());
+    }
   }
 }
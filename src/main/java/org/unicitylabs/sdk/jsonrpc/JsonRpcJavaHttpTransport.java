@@ -0,0 +1,200 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON-RPC HTTP service over JDK {@link HttpClient}. Only available on JVM, Android does not
+ * provide {@code java.net.http}. On JDK 21 and newer HTTP client can run response handling on
+ * virtual threads.
+ */
+public class JsonRpcJavaHttpTransport extends AbstractJsonRpcTransport {
+
+  private static final Optional<Method> VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+  private final URI uri;
+  private final HttpClient httpClient;
+  private final Duration requestTimeout;
+
+  /**
+   * JSON-RPC HTTP service constructor, uses shared HTTP client with default configuration.
+   *
+   * @param url service URL
+   */
+  public JsonRpcJavaHttpTransport(String url) {
+    this(url, SharedClient.INSTANCE, HttpTransportConfig.DEFAULT.getReadTimeout());
+  }
+
+  /**
+   * JSON-RPC HTTP service constructor with new HTTP client for given configuration.
+   *
+   * @param url            service URL
+   * @param config         HTTP transport configuration
+   * @param virtualThreads run HTTP client on virtual threads, ignored if JVM does not support them
+   */
+  public JsonRpcJavaHttpTransport(String url, HttpTransportConfig config,
+      boolean virtualThreads) {
+    this(
+        url,
+        JsonRpcJavaHttpTransport.createHttpClient(
+            Objects.requireNonNull(config, "Config cannot be null."), virtualThreads),
+        config.getReadTimeout()
+    );
+  }
+
+  /**
+   * JSON-RPC HTTP service constructor with caller managed HTTP client.
+   *
+   * @param url            service URL
+   * @param httpClient     HTTP client
+   * @param requestTimeout timeout of single HTTP request
+   */
+  public JsonRpcJavaHttpTransport(String url, HttpClient httpClient, Duration requestTimeout) {
+    this(
+        url,
+        httpClient,
+        requestTimeout,
+        JsonRpcRetryPolicy.DEFAULT,
+        AbstractJsonRpcTransport.createDefaultLimiter()
+    );
+  }
+
+  /**
+   * JSON-RPC HTTP service constructor with caller managed HTTP client, retry policy and
+   * concurrency limiter.
+   *
+   * @param url            service URL
+   * @param httpClient     HTTP client
+   * @param requestTimeout timeout of single HTTP request
+   * @param retryPolicy    retry policy for failed requests
+   * @param limiter        concurrency limiter for requests to this service
+   */
+  public JsonRpcJavaHttpTransport(
+      String url,
+      HttpClient httpClient,
+      Duration requestTimeout,
+      JsonRpcRetryPolicy retryPolicy,
+      AdaptiveConcurrencyLimiter limiter
+  ) {
+    super(retryPolicy, limiter);
+    this.uri = URI.create(Objects.requireNonNull(url, "Url cannot be null."));
+    this.httpClient = Objects.requireNonNull(httpClient, "HTTP client cannot be null.");
+    this.requestTimeout = Objects.requireNonNull(requestTimeout,
+        "Request timeout cannot be null.");
+  }
+
+  /**
+   * Check if JVM supports virtual threads.
+   *
+   * @return true if virtual threads are available
+   */
+  public static boolean isVirtualThreadSupported() {
+    return JsonRpcJavaHttpTransport.VIRTUAL_THREAD_EXECUTOR.isPresent();
+  }
+
+  /**
+   * Create HTTP client for given configuration. Connection pool of JDK client is not configurable,
+   * so only timeouts and HTTP version are used from configuration.
+   *
+   * @param config         HTTP transport configuration
+   * @param virtualThreads run HTTP client on virtual threads, ignored if JVM does not support them
+   * @return HTTP client
+   */
+  public static HttpClient createHttpClient(HttpTransportConfig config, boolean virtualThreads) {
+    Objects.requireNonNull(config, "Config cannot be null.");
+
+    HttpClient.Builder builder = HttpClient.newBuilder()
+        .connectTimeout(config.getConnectTimeout())
+        .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+
+    if (virtualThreads && JsonRpcJavaHttpTransport.VIRTUAL_THREAD_EXECUTOR.isPresent()) {
+      try {
+        builder.executor(
+            (ExecutorService) JsonRpcJavaHttpTransport.VIRTUAL_THREAD_EXECUTOR.get().invoke(null));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create virtual thread executor", e);
+      }
+    }
+
+    return builder.build();
+  }
+
+  @Override
+  protected <T> CompletableFuture<T> send(
+      RequestPayload payload,
+      String accept,
+      Map<String, List<String>> headers,
+      ResponseParser<T> parser
+  ) {
+    byte[] body;
+    try {
+      body = payload.toByteArray();
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(this.uri)
+        .timeout(this.requestTimeout)
+        .header("Accept", accept)
+        .header("Content-Type", payload.getContentType())
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+
+    headers.forEach((header, values) ->
+        values.forEach(value ->
+            requestBuilder.header(header, value)));
+
+    CompletableFuture<HttpResponse<byte[]>> exchange = this.httpClient
+        .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    CompletableFuture<T> future = exchange
+        .thenCompose(response -> {
+          try {
+            return CompletableFuture.completedFuture(
+                AbstractJsonRpcTransport.readResponse(
+                    response.statusCode(),
+                    response.headers().firstValue("Content-Type").orElse(null),
+                    response.body() != null ? new ByteArrayInputStream(response.body()) : null,
+                    response.headers().firstValue("Retry-After").orElse(null),
+                    parser
+                )
+            );
+          } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+          }
+        });
+    // Cancelling exchange aborts it on JDK 16 and newer, older clients finish it in background
+    future.whenComplete((result, error) -> {
+      if (future.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return future;
+  }
+
+  private static Optional<Method> findVirtualThreadExecutor() {
+    try {
+      return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+    } catch (NoSuchMethodException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static class SharedClient {
+
+    private static final HttpClient INSTANCE = JsonRpcJavaHttpTransport.createHttpClient(
+        HttpTransportConfig.DEFAULT, false);
+  }
+}
@@ -1,6 +1,9 @@
 
 package org.unicitylabs.sdk.jsonrpc;
 
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * JSON RPC network exception.
  */
@@ -14,6 +17,10 @@ public class JsonRpcNetworkException extends Exception {
    * Error message.
    */
   private final String errorMessage;
+  /**
+   * Time server asked to wait before next request.
+   */
+  private final Duration retryAfter;
 
   /**
    * Create exception from http code and error message.
@@ -22,9 +29,21 @@ public class JsonRpcNetworkException extends Exception {
    * @param message error message
    */
   public JsonRpcNetworkException(int status, String message) {
+    this(status, message, null);
+  }
+
+  /**
+   * Create exception from http code, error message and time to wait before next request.
+   *
+   * @param status     status code
+   * @param message    error message
+   * @param retryAfter time to wait before next request, null if not given
+   */
+  public JsonRpcNetworkException(int status, String message, Duration retryAfter) {
     super(String.format("Network error [%s] occurred: %s", status, message));
     this.status = status;
     this.errorMessage = message;
+    this.retryAfter = retryAfter;
   }
 
   /**
@@ -44,4 +63,13 @@ public class JsonRpcNetworkException extends Exception {
   public String getErrorMessage() {
     return this.errorMessage;
   }
+
+  /**
+   * Get time server asked to wait before next request.
+   *
+   * @return retry after duration, empty if not given
+   */
+  public Optional<Duration> getRetryAfter() {
+    return Optional.ofNullable(this.retryAfter);
+  }
 }
@@ -2,8 +2,11 @@ package org.unicitylabs.sdk.jsonrpc;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
 
 /**
  * JSON RPC response structure.
@@ -70,6 +73,27 @@ public class JsonRpcResponse<T> {
     return this.id;
   }
 
+  /**
+   * Create response from CBOR envelope [version, id, result, error], where result and error are
+   * optional.
+   *
+   * @param bytes         CBOR bytes
+   * @param resultDecoder result decoder from raw CBOR
+   * @param <T>           result type
+   * @return response
+   */
+  public static <T> JsonRpcResponse<T> fromCbor(byte[] bytes, Function<byte[], T> resultDecoder) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+
+    return new JsonRpcResponse<>(
+        CborDeserializer.readTextString(data.get(0)),
+        CborDeserializer.readOptional(data.get(2), resultDecoder),
+        CborDeserializer.readOptional(data.get(3), JsonRpcError::fromCbor),
+        CborDeserializer.readOptional(data.get(1),
+            id -> UUID.fromString(CborDeserializer.readTextString(id)))
+    );
+  }
+
   @Override
   public boolean equals(Object o) {
     if (!(o instanceof JsonRpcResponse)) {
@@ -0,0 +1,155 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for idempotent JSON-RPC methods. Network failures and overload responses are
+ * retried with exponential backoff and full jitter. Delay requested by server with
+ * {@code Retry-After} is honored, if it is longer than maximum delay request is not retried.
+ */
+public class JsonRpcRetryPolicy {
+
+  /**
+   * Default policy, retries aggregator read methods up to three times.
+   */
+  public static final JsonRpcRetryPolicy DEFAULT = new JsonRpcRetryPolicy(
+      3,
+      Duration.ofMillis(100),
+      Duration.ofSeconds(5),
+      Set.of("get_inclusion_proof", "get_block_height")
+  );
+
+  /**
+   * Policy which never retries.
+   */
+  public static final JsonRpcRetryPolicy NONE = new JsonRpcRetryPolicy(
+      1,
+      Duration.ZERO,
+      Duration.ZERO,
+      Set.of()
+  );
+
+  private final int maxAttempts;
+  private final Duration baseDelay;
+  private final Duration maxDelay;
+  private final Set<String> idempotentMethods;
+
+  /**
+   * Create retry policy.
+   *
+   * @param maxAttempts       maximum attempts including first one
+   * @param baseDelay         delay before first retry, doubled for every next retry
+   * @param maxDelay          maximum delay between attempts
+   * @param idempotentMethods JSON-RPC methods which are safe to retry
+   */
+  public JsonRpcRetryPolicy(
+      int maxAttempts,
+      Duration baseDelay,
+      Duration maxDelay,
+      Set<String> idempotentMethods
+  ) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Max attempts must be positive.");
+    }
+    Objects.requireNonNull(baseDelay, "Base delay cannot be null.");
+    Objects.requireNonNull(maxDelay, "Max delay cannot be null.");
+    Objects.requireNonNull(idempotentMethods, "Idempotent methods cannot be null.");
+
+    this.maxAttempts = maxAttempts;
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.idempotentMethods = Set.copyOf(idempotentMethods);
+  }
+
+  /**
+   * Get maximum attempts including first one.
+   *
+   * @return maximum attempts
+   */
+  public int getMaxAttempts() {
+    return this.maxAttempts;
+  }
+
+  /**
+   * Get JSON-RPC methods which are safe to retry.
+   *
+   * @return method names
+   */
+  public Set<String> getIdempotentMethods() {
+    return this.idempotentMethods;
+  }
+
+  /**
+   * Get delay before next attempt of failed request.
+   *
+   * @param method  JSON-RPC method
+   * @param error   failure of previous attempt
+   * @param attempt number of failed attempt, starting from 1
+   * @return delay before next attempt, empty if request should not be retried
+   */
+  public Optional<Duration> getRetryDelay(String method, Throwable error, int attempt) {
+    if (attempt >= this.maxAttempts || !this.idempotentMethods.contains(method)) {
+      return Optional.empty();
+    }
+
+    Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+    if (!JsonRpcRetryPolicy.isRetryable(cause)) {
+      return Optional.empty();
+    }
+
+    long backoff = Math.min(
+        this.maxDelay.toMillis(),
+        this.baseDelay.toMillis() << Math.min(attempt - 1, 30)
+    );
+    long jitter = ThreadLocalRandom.current().nextLong(backoff + 1);
+
+    Optional<Duration> retryAfter = cause instanceof JsonRpcNetworkException
+        ? ((JsonRpcNetworkException) cause).getRetryAfter()
+        : Optional.empty();
+    if (retryAfter.isPresent()) {
+      if (retryAfter.get().compareTo(this.maxDelay) > 0) {
+        return Optional.empty();
+      }
+
+      // Spread retries of clients which got same Retry-After value
+      return Optional.of(retryAfter.get().plusMillis(jitter));
+    }
+
+    return Optional.of(Duration.ofMillis(jitter));
+  }
+
+  /**
+   * Is failure caused by server overload.
+   *
+   * @param error failure
+   * @return true if server responded with 429 or 503
+   */
+  public static boolean isOverload(Throwable error) {
+    if (!(error instanceof JsonRpcNetworkException)) {
+      return false;
+    }
+
+    int status = ((JsonRpcNetworkException) error).getStatus();
+    return status == 429 || status == 503;
+  }
+
+  private static boolean isRetryable(Throwable error) {
+    if (error instanceof IOException) {
+      return true;
+    }
+    if (!(error instanceof JsonRpcNetworkException)) {
+      return false;
+    }
+
+    int status = ((JsonRpcNetworkException) error).getStatus();
+    return status == 429 || status == 502 || status == 503 || status == 504;
+  }
+}
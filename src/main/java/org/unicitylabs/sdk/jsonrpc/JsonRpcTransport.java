@@ -0,0 +1,79 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * JSON-RPC transport used by aggregator client. Cancelling returned future or completing it early,
+ * for example with {@link CompletableFuture#orTimeout}, aborts request in flight and pending
+ * retries.
+ */
+public interface JsonRpcTransport {
+
+  /**
+   * Send a JSON-RPC request.
+   *
+   * @param <T>        expected result type
+   * @param method     JSON-RPC method
+   * @param params     JSON-RPC parameters
+   * @param resultType expected result type
+   * @return future with result
+   */
+  default <T> CompletableFuture<T> request(String method, Object params, Class<T> resultType) {
+    return this.request(method, params, resultType, Map.of());
+  }
+
+  /**
+   * Send a JSON-RPC request with additional HTTP headers.
+   *
+   * @param <T>        expected result type
+   * @param method     JSON-RPC method
+   * @param params     JSON-RPC parameters
+   * @param resultType expected result type
+   * @param headers    additional HTTP headers
+   * @return future with result
+   */
+  <T> CompletableFuture<T> request(
+      String method,
+      Object params,
+      Class<T> resultType,
+      Map<String, List<String>> headers
+  );
+
+  /**
+   * Send a JSON-RPC request in binary CBOR envelope. If server does not support binary mode,
+   * future fails with {@link JsonRpcNetworkException} with status 415 or 406.
+   *
+   * @param <T>           expected result type
+   * @param method        JSON-RPC method
+   * @param params        JSON-RPC parameters as CBOR bytes
+   * @param resultDecoder result decoder from CBOR bytes
+   * @param headers       additional HTTP headers
+   * @return future with result
+   */
+  <T> CompletableFuture<T> requestCbor(
+      String method,
+      byte[] params,
+      Function<byte[], T> resultDecoder,
+      Map<String, List<String>> headers
+  );
+
+  /**
+   * Send JSON-RPC batch of requests with same method in single HTTP request.
+   *
+   * @param <T>        expected result type
+   * @param method     JSON-RPC method
+   * @param params     JSON-RPC parameters for each request in batch
+   * @param resultType expected result type
+   * @param headers    additional HTTP headers
+   * @return future with results in same order as parameters
+   */
+  <T> CompletableFuture<List<T>> requestBatch(
+      String method,
+      List<?> params,
+      Class<T> resultType,
+      Map<String, List<String>> headers
+  );
+}
@@ -1,9 +1,8 @@
 package org.unicitylabs.sdk.mtree.plain;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonGetter;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Objects;
@@ -20,18 +19,14 @@ import org.unicitylabs.sdk.util.BigIntegerConverter;
 /**
  * Sparse merkle tree path for selected path.
  */
+@JsonSerialize(using = SparseMerkleTreePathJson.Serializer.class)
+@JsonDeserialize(using = SparseMerkleTreePathJson.Deserializer.class)
 public class SparseMerkleTreePath {
 
   private final DataHash rootHash;
   private final List<SparseMerkleTreePathStep> steps;
 
-  @JsonCreator
-  SparseMerkleTreePath(
-      @JsonProperty("root")
-      DataHash rootHash,
-      @JsonProperty("steps")
-      List<SparseMerkleTreePathStep> steps
-  ) {
+  SparseMerkleTreePath(DataHash rootHash, List<SparseMerkleTreePathStep> steps) {
     Objects.requireNonNull(rootHash, "rootHash cannot be null");
     Objects.requireNonNull(steps, "steps cannot be null");
 
@@ -44,7 +39,6 @@ public class SparseMerkleTreePath {
    *
    * @return root hash
    */
-  @JsonGetter("root")
   public DataHash getRootHash() {
     return this.rootHash;
   }
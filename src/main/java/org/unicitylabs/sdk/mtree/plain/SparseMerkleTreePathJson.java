@@ -0,0 +1,182 @@
+package org.unicitylabs.sdk.mtree.plain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
+
+/**
+ * Sparse merkle tree path serializer and deserializer implementation.
+ */
+public class SparseMerkleTreePathJson {
+
+  private SparseMerkleTreePathJson() {
+  }
+
+  /**
+   * Sparse merkle tree path serializer.
+   */
+  public static class Serializer extends StdSerializer<SparseMerkleTreePath> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(SparseMerkleTreePath.class);
+    }
+
+    /**
+     * Serialize sparse merkle tree path.
+     *
+     * @param value       sparse merkle tree path
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(SparseMerkleTreePath value, JsonGenerator gen,
+        SerializerProvider serializers) throws IOException {
+      gen.writeStartObject();
+      gen.writeFieldName("root");
+      ByteArrayJson.write(gen, value.getRootHash().getImprint());
+      gen.writeArrayFieldStart("steps");
+      for (SparseMerkleTreePathStep step : value.getSteps()) {
+        gen.writeStartObject();
+        gen.writeStringField("path", step.getPath().toString());
+        gen.writeFieldName("data");
+        byte[] data = step.getData().orElse(null);
+        if (data == null) {
+          gen.writeNull();
+        } else {
+          ByteArrayJson.write(gen, data);
+        }
+        gen.writeEndObject();
+      }
+      gen.writeEndArray();
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Sparse merkle tree path deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<SparseMerkleTreePath> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(SparseMerkleTreePath.class);
+    }
+
+    /**
+     * Deserialize sparse merkle tree path.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return sparse merkle tree path
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    public SparseMerkleTreePath deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, SparseMerkleTreePath.class, "Expected object");
+      }
+
+      DataHash root = null;
+      List<SparseMerkleTreePathStep> steps = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        p.nextToken();
+        switch (field) {
+          case "root":
+            root = p.currentToken() == JsonToken.VALUE_NULL
+                ? null
+                : DataHash.fromImprint(ByteArrayJson.read(p, SparseMerkleTreePath.class));
+            break;
+          case "steps":
+            steps = this.readSteps(p, ctx);
+            break;
+          default:
+            ctx.handleUnknownProperty(p, this, SparseMerkleTreePath.class, field);
+        }
+      }
+
+      try {
+        return new SparseMerkleTreePath(root, steps);
+      } catch (RuntimeException e) {
+        throw ctx.instantiationException(SparseMerkleTreePath.class, e);
+      }
+    }
+
+    private List<SparseMerkleTreePathStep> readSteps(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_ARRAY) {
+        throw MismatchedInputException.from(p, SparseMerkleTreePath.class,
+            "Expected array of steps");
+      }
+
+      List<SparseMerkleTreePathStep> steps = new ArrayList<>();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+          throw MismatchedInputException.from(p, SparseMerkleTreePathStep.class,
+              "Expected object");
+        }
+
+        BigInteger path = null;
+        byte[] data = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+          String field = p.currentName();
+          p.nextToken();
+          switch (field) {
+            case "path":
+              path = Deserializer.readPath(p);
+              break;
+            case "data":
+              data = p.currentToken() == JsonToken.VALUE_NULL
+                  ? null
+                  : ByteArrayJson.read(p, SparseMerkleTreePathStep.class);
+              break;
+            default:
+              ctx.handleUnknownProperty(p, this, SparseMerkleTreePathStep.class, field);
+          }
+        }
+
+        try {
+          steps.add(new SparseMerkleTreePathStep(path, data));
+        } catch (RuntimeException e) {
+          throw ctx.instantiationException(SparseMerkleTreePathStep.class, e);
+        }
+      }
+
+      return steps;
+    }
+
+    private static BigInteger readPath(JsonParser p) throws IOException {
+      switch (p.currentToken()) {
+        case VALUE_NUMBER_INT:
+          return p.getBigIntegerValue();
+        case VALUE_STRING:
+          try {
+            return new BigInteger(p.getText());
+          } catch (NumberFormatException e) {
+            throw MismatchedInputException.from(p, BigInteger.class, "Expected integer string");
+          }
+        default:
+          throw MismatchedInputException.from(p, BigInteger.class, "Expected integer string");
+      }
+    }
+  }
+}
@@ -0,0 +1,1089 @@
+package org.unicitylabs.sdk.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.unicitylabs.sdk.serializer.cbor.CborMajorType;
+import org.unicitylabs.sdk.serializer.cbor.CborReader;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializationException;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
+import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.util.BigIntegerConverter;
+import org.unicitylabs.sdk.util.HexConverter;
+
+/**
+ * Streaming transcoder between CBOR and JSON encodings of tokens, transactions and inclusion
+ * proofs. Encodings are walked element by element and written straight to the other format, no
+ * domain objects are created. Output is the same as encoding the corresponding domain object with
+ * {@link UnicityObjectMapper#JSON} or its {@code toCbor} method.
+ */
+public class CborJsonTranscoder {
+
+  private CborJsonTranscoder() {
+  }
+
+  /**
+   * Structures supported by transcoder.
+   */
+  public enum Structure {
+    /**
+     * Token.
+     */
+    TOKEN,
+    /**
+     * Mint transaction.
+     */
+    MINT_TRANSACTION,
+    /**
+     * Transfer transaction.
+     */
+    TRANSFER_TRANSACTION,
+    /**
+     * Inclusion proof.
+     */
+    INCLUSION_PROOF
+  }
+
+  /**
+   * Transcode CBOR encoded structure to JSON string.
+   *
+   * @param structure structure encoded in CBOR
+   * @param cbor      CBOR bytes
+   * @return JSON string
+   */
+  public static String toJson(Structure structure, byte[] cbor) {
+    StringWriter writer = new StringWriter(cbor.length * 2);
+    try (JsonGenerator generator = UnicityObjectMapper.JSON.getFactory().createGenerator(writer)) {
+      CborJsonTranscoder.toJson(structure, cbor, generator);
+    } catch (IOException e) {
+      throw new JsonSerializationException(CborJsonTranscoder.class, e);
+    }
+
+    return writer.toString();
+  }
+
+  /**
+   * Transcode CBOR encoded structure to JSON generator.
+   *
+   * @param structure structure encoded in CBOR
+   * @param cbor      CBOR bytes
+   * @param generator JSON generator
+   * @throws IOException on generator failure
+   */
+  public static void toJson(Structure structure, byte[] cbor, JsonGenerator generator)
+      throws IOException {
+    CborReader reader = new CborReader(cbor);
+    switch (structure) {
+      case TOKEN:
+        CborJsonTranscoder.writeToken(reader, generator);
+        break;
+      case MINT_TRANSACTION:
+        CborJsonTranscoder.writeMintTransaction(reader, generator);
+        break;
+      case TRANSFER_TRANSACTION:
+        CborJsonTranscoder.writeTransferTransaction(reader, generator);
+        break;
+      case INCLUSION_PROOF:
+        CborJsonTranscoder.writeInclusionProof(reader, generator);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported structure: " + structure);
+    }
+
+    if (reader.hasRemaining()) {
+      throw new CborSerializationException("Unexpected data after end of element.");
+    }
+  }
+
+  /**
+   * Transcode JSON string to CBOR encoded structure.
+   *
+   * @param structure structure encoded in JSON
+   * @param json      JSON string
+   * @return CBOR bytes
+   */
+  public static byte[] toCbor(Structure structure, String json) {
+    try (JsonParser parser = UnicityObjectMapper.JSON.getFactory().createParser(json)) {
+      parser.nextToken();
+      byte[] result = CborJsonTranscoder.toCbor(structure, parser);
+      if (parser.nextToken() != null) {
+        throw new JsonParseException(parser, "Unexpected content after end of value");
+      }
+
+      return result;
+    } catch (IOException e) {
+      throw new JsonSerializationException(CborJsonTranscoder.class, e);
+    }
+  }
+
+  /**
+   * Transcode JSON value at current parser token to CBOR encoded structure. Parser is left at
+   * last token of the value.
+   *
+   * @param structure structure encoded in JSON
+   * @param parser    JSON parser
+   * @return CBOR bytes
+   * @throws IOException on parser failure or invalid input
+   */
+  public static byte[] toCbor(Structure structure, JsonParser parser) throws IOException {
+    CborOutput output = new CborOutput();
+    switch (structure) {
+      case TOKEN:
+        CborJsonTranscoder.readToken(parser, output);
+        break;
+      case MINT_TRANSACTION:
+        CborJsonTranscoder.readMintTransaction(parser, output);
+        break;
+      case TRANSFER_TRANSACTION:
+        CborJsonTranscoder.readTransferTransaction(parser, output);
+        break;
+      case INCLUSION_PROOF:
+        CborJsonTranscoder.readInclusionProof(parser, output);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported structure: " + structure);
+    }
+
+    return output.toByteArray();
+  }
+
+  private static void writeToken(CborReader reader, JsonGenerator generator) throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 5);
+    String version = reader.readTextString();
+    if (!Token.TOKEN_VERSION.equals(version)) {
+      throw new CborSerializationException("Invalid version: " + version);
+    }
+
+    generator.writeStartObject();
+    generator.writeFieldName("state");
+    CborJsonTranscoder.writeTokenState(reader, generator);
+    generator.writeFieldName("genesis");
+    CborJsonTranscoder.writeMintTransaction(reader, generator);
+    generator.writeFieldName("transactions");
+    generator.writeStartArray();
+    for (int i = reader.readArrayLength(); i > 0; i--) {
+      CborJsonTranscoder.writeTransferTransaction(reader, generator);
+    }
+    generator.writeEndArray();
+    generator.writeFieldName("nametags");
+    CborJsonTranscoder.writeTokens(reader, generator);
+    generator.writeStringField("version", version);
+    generator.writeEndObject();
+  }
+
+  private static void writeTokens(CborReader reader, JsonGenerator generator) throws IOException {
+    generator.writeStartArray();
+    for (int i = reader.readArrayLength(); i > 0; i--) {
+      CborJsonTranscoder.writeToken(reader, generator);
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeTokenState(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 2);
+    generator.writeStartObject();
+    generator.writeFieldName("predicate");
+    CborJsonTranscoder.writeRawCbor(reader, generator);
+    generator.writeFieldName("data");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeMintTransaction(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 2);
+    generator.writeStartObject();
+    generator.writeFieldName("data");
+    CborJsonTranscoder.writeMintTransactionData(reader, generator);
+    generator.writeFieldName("inclusionProof");
+    CborJsonTranscoder.writeInclusionProof(reader, generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeMintTransactionData(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 8);
+    generator.writeStartObject();
+    generator.writeFieldName("tokenId");
+    CborJsonTranscoder.writeByteString(reader, generator);
+    generator.writeFieldName("tokenType");
+    CborJsonTranscoder.writeByteString(reader, generator);
+    generator.writeFieldName("tokenData");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeFieldName("coinData");
+    if (reader.readNull()) {
+      generator.writeNull();
+    } else {
+      generator.writeStartArray();
+      for (int i = reader.readArrayLength(); i > 0; i--) {
+        CborJsonTranscoder.readArrayHeader(reader, 2);
+        generator.writeStartArray();
+        CborJsonTranscoder.writeByteString(reader, generator);
+        CborJsonTranscoder.writeBigInteger(reader, generator);
+        generator.writeEndArray();
+      }
+      generator.writeEndArray();
+    }
+    generator.writeStringField("recipient", reader.readTextString());
+    generator.writeFieldName("salt");
+    CborJsonTranscoder.writeByteString(reader, generator);
+    generator.writeFieldName("recipientDataHash");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeFieldName("reason");
+    if (reader.readNull()) {
+      generator.writeNull();
+    } else {
+      CborJsonTranscoder.writeSplitMintReason(reader, generator);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeSplitMintReason(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 3);
+    String type = reader.readTextString();
+    generator.writeStartObject();
+    generator.writeFieldName("token");
+    CborJsonTranscoder.writeToken(reader, generator);
+    generator.writeFieldName("proofs");
+    generator.writeStartArray();
+    for (int i = reader.readArrayLength(); i > 0; i--) {
+      CborJsonTranscoder.readArrayHeader(reader, 3);
+      generator.writeStartObject();
+      generator.writeFieldName("coinId");
+      CborJsonTranscoder.writeByteString(reader, generator);
+      generator.writeFieldName("aggregationPath");
+      CborJsonTranscoder.writeMerkleTreePath(reader, generator, false);
+      generator.writeFieldName("coinTreePath");
+      CborJsonTranscoder.writeMerkleTreePath(reader, generator, true);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeStringField("type", type);
+    generator.writeEndObject();
+  }
+
+  private static void writeTransferTransaction(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 2);
+    generator.writeStartObject();
+    generator.writeFieldName("data");
+    CborJsonTranscoder.readArrayHeader(reader, 6);
+    generator.writeStartObject();
+    generator.writeFieldName("sourceState");
+    CborJsonTranscoder.writeTokenState(reader, generator);
+    generator.writeStringField("recipient", reader.readTextString());
+    generator.writeFieldName("salt");
+    CborJsonTranscoder.writeByteString(reader, generator);
+    generator.writeFieldName("recipientDataHash");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeFieldName("message");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeFieldName("nametags");
+    CborJsonTranscoder.writeTokens(reader, generator);
+    generator.writeEndObject();
+    generator.writeFieldName("inclusionProof");
+    CborJsonTranscoder.writeInclusionProof(reader, generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeInclusionProof(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 4);
+    generator.writeStartObject();
+    generator.writeFieldName("merkleTreePath");
+    CborJsonTranscoder.writeMerkleTreePath(reader, generator, false);
+    generator.writeFieldName("authenticator");
+    if (reader.readNull()) {
+      generator.writeNull();
+    } else {
+      CborJsonTranscoder.readArrayHeader(reader, 4);
+      generator.writeStartObject();
+      generator.writeStringField("algorithm", reader.readTextString());
+      generator.writeFieldName("publicKey");
+      CborJsonTranscoder.writeByteString(reader, generator);
+      generator.writeFieldName("signature");
+      CborJsonTranscoder.writeByteString(reader, generator);
+      generator.writeFieldName("stateHash");
+      CborJsonTranscoder.writeByteString(reader, generator);
+      generator.writeEndObject();
+    }
+    generator.writeFieldName("transactionHash");
+    CborJsonTranscoder.writeOptionalByteString(reader, generator);
+    generator.writeFieldName("unicityCertificate");
+    CborJsonTranscoder.writeRawCbor(reader, generator);
+    generator.writeEndObject();
+  }
+
+  private static void writeMerkleTreePath(CborReader reader, JsonGenerator generator, boolean sum)
+      throws IOException {
+    CborJsonTranscoder.readArrayHeader(reader, 2);
+    generator.writeStartObject();
+    generator.writeFieldName("root");
+    CborJsonTranscoder.writeByteString(reader, generator);
+    generator.writeFieldName("steps");
+    generator.writeStartArray();
+    for (int i = reader.readArrayLength(); i > 0; i--) {
+      CborJsonTranscoder.readArrayHeader(reader, sum ? 3 : 2);
+      generator.writeStartObject();
+      generator.writeFieldName("path");
+      CborJsonTranscoder.writeBigInteger(reader, generator);
+      generator.writeFieldName("data");
+      CborJsonTranscoder.writeOptionalByteString(reader, generator);
+      if (sum) {
+        generator.writeFieldName("value");
+        CborJsonTranscoder.writeBigInteger(reader, generator);
+      }
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private static void readArrayHeader(CborReader reader, int length) {
+    if (reader.readArrayLength() != length) {
+      throw new CborSerializationException(
+          String.format("Expected array of %s elements.", length));
+    }
+  }
+
+  private static void writeByteString(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    int position = reader.skipByteString();
+    ByteArrayJson.write(generator, reader.getData(), position, reader.getPosition() - position);
+  }
+
+  private static void writeOptionalByteString(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    if (reader.readNull()) {
+      generator.writeNull();
+      return;
+    }
+
+    CborJsonTranscoder.writeByteString(reader, generator);
+  }
+
+  private static void writeBigInteger(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    generator.writeString(BigIntegerConverter.decode(reader.readByteString()).toString());
+  }
+
+  private static void writeRawCbor(CborReader reader, JsonGenerator generator)
+      throws IOException {
+    int position = reader.skip();
+    ByteArrayJson.write(generator, reader.getData(), position, reader.getPosition() - position);
+  }
+
+  private static void readToken(JsonParser parser, CborOutput output) throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(
+        output, "version", "state", "genesis", "transactions", "nametags");
+    // Version is read only, CBOR always carries current version
+    array.start(0);
+    output.writeTextString(Token.TOKEN_VERSION);
+    array.end();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "state":
+          array.start(1);
+          CborJsonTranscoder.readTokenState(parser, output);
+          break;
+        case "genesis":
+          array.start(2);
+          CborJsonTranscoder.readMintTransaction(parser, output);
+          break;
+        case "transactions":
+          array.start(3);
+          CborJsonTranscoder.readTransferTransactions(parser, output);
+          break;
+        case "nametags":
+          array.start(4);
+          CborJsonTranscoder.readTokens(parser, output);
+          break;
+        case "version":
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readTokens(JsonParser parser, CborOutput output) throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+    int position = output.size();
+    int count = 0;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      CborJsonTranscoder.readToken(parser, output);
+      count++;
+    }
+
+    output.insertHead(position, CborMajorType.ARRAY, count);
+  }
+
+  private static void readTransferTransactions(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+    int position = output.size();
+    int count = 0;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      CborJsonTranscoder.readTransferTransaction(parser, output);
+      count++;
+    }
+
+    output.insertHead(position, CborMajorType.ARRAY, count);
+  }
+
+  private static void readTokenState(JsonParser parser, CborOutput output) throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "predicate", "data").nullable(1);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "predicate":
+          array.start(0);
+          CborJsonTranscoder.readRawCbor(parser, output);
+          break;
+        case "data":
+          array.start(1);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readMintTransaction(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "data", "inclusionProof");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "data":
+          array.start(0);
+          CborJsonTranscoder.readMintTransactionData(parser, output);
+          break;
+        case "inclusionProof":
+          array.start(1);
+          CborJsonTranscoder.readInclusionProof(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readMintTransactionData(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "tokenId", "tokenType", "tokenData", "coinData",
+        "recipient", "salt", "recipientDataHash", "reason").nullable(2, 3, 6, 7);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "tokenId":
+          array.start(0);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "tokenType":
+          array.start(1);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "tokenData":
+          array.start(2);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "coinData":
+          array.start(3);
+          if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            output.writeNull();
+          } else {
+            CborJsonTranscoder.readCoinData(parser, output);
+          }
+          break;
+        case "recipient":
+          array.start(4);
+          output.writeTextString(CborJsonTranscoder.readText(parser));
+          break;
+        case "salt":
+          array.start(5);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "recipientDataHash":
+          array.start(6);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "reason":
+          array.start(7);
+          if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            output.writeNull();
+          } else {
+            CborJsonTranscoder.readSplitMintReason(parser, output);
+          }
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readCoinData(JsonParser parser, CborOutput output) throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+    int position = output.size();
+    int count = 0;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+      output.writeHead(CborMajorType.ARRAY, 2);
+      parser.nextToken();
+      CborJsonTranscoder.readByteString(parser, output);
+      parser.nextToken();
+      CborJsonTranscoder.readBigInteger(parser, output);
+      if (parser.nextToken() != JsonToken.END_ARRAY) {
+        throw new JsonParseException(parser,
+            "Each entry must be an array of two elements: [coinId, amount]");
+      }
+      count++;
+    }
+
+    output.insertHead(position, CborMajorType.ARRAY, count);
+  }
+
+  private static void readSplitMintReason(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "type", "token", "proofs");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "type":
+          array.start(0);
+          output.writeTextString(CborJsonTranscoder.readText(parser));
+          break;
+        case "token":
+          array.start(1);
+          CborJsonTranscoder.readToken(parser, output);
+          break;
+        case "proofs":
+          array.start(2);
+          CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+          int position = output.size();
+          int count = 0;
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            CborJsonTranscoder.readSplitMintReasonProof(parser, output);
+            count++;
+          }
+          output.insertHead(position, CborMajorType.ARRAY, count);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    if (array.isMissing(0)) {
+      array.start(0);
+      output.writeTextString("TOKEN_SPLIT");
+      array.end();
+    }
+    array.finish(parser);
+  }
+
+  private static void readSplitMintReasonProof(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "coinId", "aggregationPath", "coinTreePath");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "coinId":
+          array.start(0);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "aggregationPath":
+          array.start(1);
+          CborJsonTranscoder.readMerkleTreePath(parser, output, false);
+          break;
+        case "coinTreePath":
+          array.start(2);
+          CborJsonTranscoder.readMerkleTreePath(parser, output, true);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readTransferTransaction(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "data", "inclusionProof");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "data":
+          array.start(0);
+          CborJsonTranscoder.readTransferTransactionData(parser, output);
+          break;
+        case "inclusionProof":
+          array.start(1);
+          CborJsonTranscoder.readInclusionProof(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readTransferTransactionData(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "sourceState", "recipient", "salt",
+        "recipientDataHash", "message", "nametags").nullable(3, 4);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "sourceState":
+          array.start(0);
+          CborJsonTranscoder.readTokenState(parser, output);
+          break;
+        case "recipient":
+          array.start(1);
+          output.writeTextString(CborJsonTranscoder.readText(parser));
+          break;
+        case "salt":
+          array.start(2);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "recipientDataHash":
+          array.start(3);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "message":
+          array.start(4);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "nametags":
+          array.start(5);
+          CborJsonTranscoder.readTokens(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readInclusionProof(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "merkleTreePath", "authenticator",
+        "transactionHash", "unicityCertificate").nullable(1, 2);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "merkleTreePath":
+          array.start(0);
+          CborJsonTranscoder.readMerkleTreePath(parser, output, false);
+          break;
+        case "authenticator":
+          array.start(1);
+          if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            output.writeNull();
+          } else {
+            CborJsonTranscoder.readAuthenticator(parser, output);
+          }
+          break;
+        case "transactionHash":
+          array.start(2);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "unicityCertificate":
+          array.start(3);
+          CborJsonTranscoder.readRawCbor(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readAuthenticator(JsonParser parser, CborOutput output)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "algorithm", "publicKey", "signature",
+        "stateHash");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "algorithm":
+          array.start(0);
+          output.writeTextString(CborJsonTranscoder.readText(parser));
+          break;
+        case "publicKey":
+          array.start(1);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "signature":
+          array.start(2);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "stateHash":
+          array.start(3);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readMerkleTreePath(JsonParser parser, CborOutput output, boolean sum)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = new FieldArray(output, "root", "steps");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "root":
+          array.start(0);
+          CborJsonTranscoder.readByteString(parser, output);
+          break;
+        case "steps":
+          array.start(1);
+          CborJsonTranscoder.expect(parser, JsonToken.START_ARRAY);
+          int position = output.size();
+          int count = 0;
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            CborJsonTranscoder.readMerkleTreePathStep(parser, output, sum);
+            count++;
+          }
+          output.insertHead(position, CborMajorType.ARRAY, count);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void readMerkleTreePathStep(JsonParser parser, CborOutput output, boolean sum)
+      throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.START_OBJECT);
+    FieldArray array = sum
+        ? new FieldArray(output, "path", "data", "value").nullable(1)
+        : new FieldArray(output, "path", "data").nullable(1);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      switch (field) {
+        case "path":
+          array.start(0);
+          CborJsonTranscoder.readBigInteger(parser, output);
+          break;
+        case "data":
+          array.start(1);
+          CborJsonTranscoder.readOptionalByteString(parser, output);
+          break;
+        case "value":
+          if (!sum) {
+            throw CborJsonTranscoder.unknownField(parser, field);
+          }
+          array.start(2);
+          CborJsonTranscoder.readBigInteger(parser, output);
+          break;
+        default:
+          throw CborJsonTranscoder.unknownField(parser, field);
+      }
+      array.end();
+    }
+
+    array.finish(parser);
+  }
+
+  private static void expect(JsonParser parser, JsonToken token) throws IOException {
+    if (parser.currentToken() != token) {
+      throw new JsonParseException(parser,
+          String.format("Expected %s but got %s", token, parser.currentToken()));
+    }
+  }
+
+  private static String readText(JsonParser parser) throws IOException {
+    CborJsonTranscoder.expect(parser, JsonToken.VALUE_STRING);
+    return parser.getText();
+  }
+
+  private static void readByteString(JsonParser parser, CborOutput output) throws IOException {
+    int position = output.size();
+    CborJsonTranscoder.readHex(parser, output);
+    output.insertHead(position, CborMajorType.BYTE_STRING, output.size() - position);
+  }
+
+  private static void readOptionalByteString(JsonParser parser, CborOutput output)
+      throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      output.writeNull();
+      return;
+    }
+
+    CborJsonTranscoder.readByteString(parser, output);
+  }
+
+  private static void readRawCbor(JsonParser parser, CborOutput output) throws IOException {
+    int position = output.size();
+    CborJsonTranscoder.readHex(parser, output);
+    CborReader reader = new CborReader(output.getData(), position, output.size() - position);
+    try {
+      reader.skip();
+    } catch (CborSerializationException e) {
+      throw new JsonParseException(parser, "Invalid CBOR value", e);
+    }
+    if (reader.hasRemaining()) {
+      throw new JsonParseException(parser, "Invalid CBOR value");
+    }
+  }
+
+  private static void readBigInteger(JsonParser parser, CborOutput output) throws IOException {
+    try {
+      BigInteger value = new BigInteger(CborJsonTranscoder.readText(parser));
+      if (value.signum() < 0) {
+        throw new JsonParseException(parser, "Expected non-negative integer");
+      }
+
+      byte[] bytes = BigIntegerConverter.encode(value);
+      output.writeHead(CborMajorType.BYTE_STRING, bytes.length);
+      output.write(bytes, 0, bytes.length);
+    } catch (NumberFormatException e) {
+      throw new JsonParseException(parser, "Expected integer string", e);
+    }
+  }
+
+  private static void readHex(JsonParser parser, CborOutput output) throws IOException {
+    try {
+      CborJsonTranscoder.expect(parser, JsonToken.VALUE_STRING);
+      int length = parser.getTextLength();
+      output.ensureCapacity(length / 2);
+      output.advance(HexConverter.decode(parser.getTextCharacters(), parser.getTextOffset(),
+          length, output.getData(), output.size()));
+    } catch (IllegalArgumentException e) {
+      throw new JsonParseException(parser, "Expected hex string value", e);
+    }
+  }
+
+  private static JsonParseException unknownField(JsonParser parser, String field) {
+    return new JsonParseException(parser, String.format("Unknown field '%s'", field));
+  }
+
+  /**
+   * Growable CBOR output, whole structure is written into single buffer. Heads of byte strings
+   * and arrays which length is not known up front are inserted after their content is written.
+   */
+  private static final class CborOutput {
+
+    private byte[] data = new byte[256];
+    private int size = 0;
+
+    int size() {
+      return this.size;
+    }
+
+    byte[] getData() {
+      return this.data;
+    }
+
+    void ensureCapacity(int length) {
+      if (this.size + length > this.data.length) {
+        this.data = Arrays.copyOf(this.data, Math.max(this.data.length * 2, this.size + length));
+      }
+    }
+
+    void advance(int length) {
+      this.size += length;
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+      this.ensureCapacity(length);
+      System.arraycopy(bytes, offset, this.data, this.size, length);
+      this.size += length;
+    }
+
+    void writeHead(CborMajorType type, long value) {
+      this.insertHead(this.size, type, value);
+    }
+
+    void insertHead(int position, CborMajorType type, long value) {
+      int additionalLength = value < 24 ? 0 : value <= 0xFF ? 1 : value <= 0xFFFF ? 2
+          : value <= 0xFFFFFFFFL ? 4 : 8;
+      this.ensureCapacity(1 + additionalLength);
+      System.arraycopy(this.data, position, this.data, position + 1 + additionalLength,
+          this.size - position);
+      if (additionalLength == 0) {
+        this.data[position] = (byte) (type.getType() | value);
+      } else {
+        int info = 24 + Integer.numberOfTrailingZeros(additionalLength);
+        this.data[position] = (byte) (type.getType() | info);
+        for (int i = 0; i < additionalLength; i++) {
+          this.data[position + additionalLength - i] = (byte) (value >>> (8 * i));
+        }
+      }
+      this.size += 1 + additionalLength;
+    }
+
+    void writeNull() {
+      this.ensureCapacity(1);
+      this.data[this.size++] = (byte) 0xF6;
+    }
+
+    void writeTextString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      this.writeHead(CborMajorType.TEXT_STRING, bytes.length);
+      this.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Move segments to follow each other from start position, anything else after start position
+     * is dropped.
+     */
+    void reorder(int start, int[] starts, int[] ends) {
+      int length = 0;
+      for (int i = 0; i < starts.length; i++) {
+        length += ends[i] - starts[i];
+      }
+
+      byte[] segments = new byte[length];
+      int position = 0;
+      for (int i = 0; i < starts.length; i++) {
+        System.arraycopy(this.data, starts[i], segments, position, ends[i] - starts[i]);
+        position += ends[i] - starts[i];
+      }
+      System.arraycopy(segments, 0, this.data, start, length);
+      this.size = start + length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(this.data, this.size);
+    }
+  }
+
+  /**
+   * Fixed length CBOR array of JSON object fields. Fields are written to output in order they
+   * appear in JSON and put in array order when object ends.
+   */
+  private static final class FieldArray {
+
+    private final CborOutput output;
+    private final String[] names;
+    private final boolean[] nullable;
+    private final int[] starts;
+    private final int[] ends;
+    private final int start;
+    private int current = -1;
+
+    FieldArray(CborOutput output, String... names) {
+      this.output = output;
+      this.names = names;
+      this.nullable = new boolean[names.length];
+      this.starts = new int[names.length];
+      this.ends = new int[names.length];
+      Arrays.fill(this.starts, -1);
+
+      output.writeHead(CborMajorType.ARRAY, names.length);
+      this.start = output.size();
+    }
+
+    FieldArray nullable(int... indexes) {
+      for (int index : indexes) {
+        this.nullable[index] = true;
+      }
+
+      return this;
+    }
+
+    void start(int index) {
+      this.current = index;
+      this.starts[index] = this.output.size();
+    }
+
+    void end() {
+      if (this.current >= 0) {
+        this.ends[this.current] = this.output.size();
+        this.current = -1;
+      }
+    }
+
+    boolean isMissing(int index) {
+      return this.starts[index] < 0;
+    }
+
+    void finish(JsonParser parser) throws IOException {
+      for (int i = 0; i < this.names.length; i++) {
+        if (this.isMissing(i)) {
+          if (!this.nullable[i]) {
+            throw new JsonParseException(parser,
+                String.format("Missing field '%s'", this.names[i]));
+          }
+          this.start(i);
+          this.output.writeNull();
+          this.end();
+        }
+      }
+
+      int position = this.start;
+      for (int i = 0; i < this.names.length && position >= 0; i++) {
+        position = this.starts[i] == position ? this.ends[i] : -1;
+      }
+      // Fields out of order or repeated fields, repeated field keeps last value
+      if (position != this.output.size()) {
+        this.output.reorder(this.start, this.starts, this.ends);
+      }
+    }
+  }
+}
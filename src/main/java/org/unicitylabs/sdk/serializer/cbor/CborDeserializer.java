@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import org.unicitylabs.sdk.serializer.cbor.CborSerializer.CborMap;
@@ -15,9 +14,6 @@ import org.unicitylabs.sdk.serializer.cbor.CborSerializer.CborMap.Entry;
  */
 public class CborDeserializer {
 
-  private static final byte MAJOR_TYPE_MASK = (byte) 0b11100000;
-  private static final byte ADDITIONAL_INFORMATION_MASK = (byte) 0b00011111;
-
   private CborDeserializer() {}
 
   /**
@@ -29,7 +25,7 @@ public class CborDeserializer {
    * @return parsed value
    */
   public static <T> T readOptional(byte[] data, Function<byte[], T> reader) {
-    if (Byte.compareUnsigned(new CborReader(data).readByte(), (byte) 0xf6) == 0) {
+    if (new CborReader(data).isNull()) {
       return null;
     }
 
@@ -47,6 +43,16 @@ public class CborDeserializer {
     return new CborNumber(reader.readLength(CborMajorType.UNSIGNED_INTEGER));
   }
 
+  /**
+   * Read signed integer from CBOR bytes.
+   *
+   * @param data bytes
+   * @return signed integer
+   */
+  public static long readInteger(byte[] data) {
+    return new CborReader(data).readInteger();
+  }
+
   /**
    * Read byte string from CBOR bytes.
    *
@@ -54,8 +60,7 @@ public class CborDeserializer {
    * @return bytes
    */
   public static byte[] readByteString(byte[] data) {
-    CborReader reader = new CborReader(data);
-    return reader.read((int) reader.readLength(CborMajorType.BYTE_STRING));
+    return new CborReader(data).readByteString();
   }
 
   /**
@@ -65,9 +70,7 @@ public class CborDeserializer {
    * @return text
    */
   public static String readTextString(byte[] data) {
-    CborReader reader = new CborReader(data);
-    return new String(
-        reader.read((int) reader.readLength(CborMajorType.TEXT_STRING)));
+    return new CborReader(data).readTextString();
   }
 
   /**
@@ -78,7 +81,7 @@ public class CborDeserializer {
    */
   public static List<byte[]> readArray(byte[] data) {
     CborReader reader = new CborReader(data);
-    long length = reader.readLength(CborMajorType.ARRAY);
+    int length = reader.readArrayLength();
 
     ArrayList<byte[]> result = new ArrayList<>();
     for (int i = 0; i < length; i++) {
@@ -127,118 +130,7 @@ public class CborDeserializer {
    * @return boolean
    */
   public static boolean readBoolean(byte[] data) {
-    byte byteValue = new CborReader(data).readByte();
-    if (byteValue == (byte) 0xf5) {
-      return true;
-    }
-    if (byteValue == (byte) 0xf4) {
-      return false;
-    }
-    throw new CborSerializationException("Type mismatch, expected boolean.");
-  }
-
-  private static class CborReader {
-
-    final byte[] data;
-    int position = 0;
-
-    CborReader(byte[] data) {
-      Objects.requireNonNull(data, "Input byte array cannot be null.");
-
-      this.data = data;
-    }
-
-    public byte readByte() {
-      if (this.position >= this.data.length) {
-        throw new CborSerializationException("Premature end of data.");
-      }
-
-      return this.data[this.position++];
-    }
-
-    public byte[] read(int length) {
-      try {
-        if ((this.position + length) > this.data.length) {
-          throw new CborSerializationException("Premature end of data.");
-        }
-
-        return Arrays.copyOfRange(this.data, this.position, this.position + length);
-      } finally {
-        this.position += length;
-      }
-    }
-
-    public long readLength(CborMajorType majorType) {
-      byte initialByte = this.readByte();
-
-      if (CborMajorType.fromType(initialByte & CborDeserializer.MAJOR_TYPE_MASK) != majorType) {
-        throw new CborSerializationException("Major type mismatch.");
-      }
-
-      byte additionalInformation = (byte) (initialByte
-          & CborDeserializer.ADDITIONAL_INFORMATION_MASK);
-      if (Byte.compareUnsigned(additionalInformation, (byte) 24) < 0) {
-        return additionalInformation;
-      }
-
-      switch (majorType) {
-        case ARRAY:
-        case BYTE_STRING:
-        case TEXT_STRING:
-          if (Byte.compareUnsigned(additionalInformation, (byte) 31) == 0) {
-            throw new CborSerializationException("Indefinite length array not supported.");
-          }
-          break;
-        default:
-      }
-
-      if (Byte.compareUnsigned(additionalInformation, (byte) 27) > 0) {
-        throw new CborSerializationException("Encoded item is not well-formed.");
-      }
-
-      long t = 0;
-      int length = (int) Math.pow(2, additionalInformation - 24);
-      for (int i = 0; i < length; ++i) {
-        t = (t << 8) | this.readByte() & 0xFF;
-      }
-
-      return t;
-    }
-
-    public byte[] readRawCbor() {
-      if (this.position >= this.data.length) {
-        throw new CborSerializationException("Premature end of data.");
-      }
-
-      CborMajorType majorType = CborMajorType.fromType(
-          this.data[this.position] & CborDeserializer.MAJOR_TYPE_MASK);
-      int position = this.position;
-      int length = (int) this.readLength(majorType);
-      switch (majorType) {
-        case BYTE_STRING:
-        case TEXT_STRING:
-          this.read(length);
-          break;
-        case ARRAY:
-          for (int i = 0; i < length; i++) {
-            this.readRawCbor();
-          }
-          break;
-        case MAP:
-          for (int i = 0; i < length; i++) {
-            this.readRawCbor();
-            this.readRawCbor();
-          }
-          break;
-        case TAG:
-          this.readRawCbor();
-          break;
-        default:
-          break;
-      }
-
-      return Arrays.copyOfRange(this.data, position, this.position);
-    }
+    return new CborReader(data).readBoolean();
   }
 
   /**
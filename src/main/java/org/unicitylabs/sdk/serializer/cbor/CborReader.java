@@ -0,0 +1,341 @@
+package org.unicitylabs.sdk.serializer.cbor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Forward only CBOR cursor over a byte array. Reads elements in place without copying nested
+ * structures, so callers can walk an encoding element by element.
+ */
+public class CborReader {
+
+  private static final byte MAJOR_TYPE_MASK = (byte) 0b11100000;
+  private static final byte ADDITIONAL_INFORMATION_MASK = (byte) 0b00011111;
+  private static final byte NULL = (byte) 0xf6;
+
+  private final byte[] data;
+  private final int limit;
+  private int position;
+
+  /**
+   * Create reader over whole byte array.
+   *
+   * @param data CBOR bytes
+   */
+  public CborReader(byte[] data) {
+    this(data, 0, Objects.requireNonNull(data, "Input byte array cannot be null.").length);
+  }
+
+  /**
+   * Create reader over byte array range.
+   *
+   * @param data   CBOR bytes
+   * @param offset start of the range
+   * @param length length of the range
+   */
+  public CborReader(byte[] data, int offset, int length) {
+    Objects.requireNonNull(data, "Input byte array cannot be null.");
+    if (offset < 0 || length < 0 || offset + length > data.length) {
+      throw new IndexOutOfBoundsException("Invalid CBOR range.");
+    }
+
+    this.data = data;
+    this.position = offset;
+    this.limit = offset + length;
+  }
+
+  /**
+   * Get current position in underlying byte array.
+   *
+   * @return position
+   */
+  public int getPosition() {
+    return this.position;
+  }
+
+  /**
+   * Check if there is unread data left.
+   *
+   * @return true if data is left
+   */
+  public boolean hasRemaining() {
+    return this.position < this.limit;
+  }
+
+  /**
+   * Get major type of next element without consuming it.
+   *
+   * @return major type
+   */
+  public CborMajorType peekMajorType() {
+    return CborMajorType.fromType(this.peekByte() & CborReader.MAJOR_TYPE_MASK);
+  }
+
+  /**
+   * Check if next element is CBOR null without consuming it.
+   *
+   * @return true if next element is null
+   */
+  public boolean isNull() {
+    return this.peekByte() == CborReader.NULL;
+  }
+
+  /**
+   * Consume next element if it is CBOR null.
+   *
+   * @return true if null was consumed
+   */
+  public boolean readNull() {
+    if (!this.isNull()) {
+      return false;
+    }
+
+    this.position++;
+    return true;
+  }
+
+  /**
+   * Read single byte.
+   *
+   * @return byte
+   */
+  public byte readByte() {
+    if (this.position >= this.limit) {
+      throw new CborSerializationException("Premature end of data.");
+    }
+
+    return this.data[this.position++];
+  }
+
+  /**
+   * Read copy of given amount of bytes.
+   *
+   * @param length amount of bytes
+   * @return bytes
+   */
+  public byte[] read(int length) {
+    int start = this.skipBytes(length);
+    return Arrays.copyOfRange(this.data, start, start + length);
+  }
+
+  /**
+   * Read element header of given major type and return its argument, which is length for strings,
+   * arrays and maps, value for integers and tag number for tags.
+   *
+   * @param majorType expected major type
+   * @return header argument
+   */
+  public long readLength(CborMajorType majorType) {
+    byte initialByte = this.readByte();
+
+    if (CborMajorType.fromType(initialByte & CborReader.MAJOR_TYPE_MASK) != majorType) {
+      throw new CborSerializationException("Major type mismatch.");
+    }
+
+    byte additionalInformation = (byte) (initialByte & CborReader.ADDITIONAL_INFORMATION_MASK);
+    if (Byte.compareUnsigned(additionalInformation, (byte) 24) < 0) {
+      return additionalInformation;
+    }
+
+    switch (majorType) {
+      case ARRAY:
+      case BYTE_STRING:
+      case TEXT_STRING:
+        if (Byte.compareUnsigned(additionalInformation, (byte) 31) == 0) {
+          throw new CborSerializationException("Indefinite length array not supported.");
+        }
+        break;
+      default:
+    }
+
+    if (Byte.compareUnsigned(additionalInformation, (byte) 27) > 0) {
+      throw new CborSerializationException("Encoded item is not well-formed.");
+    }
+
+    long t = 0;
+    int length = 1 << (additionalInformation - 24);
+    for (int i = 0; i < length; ++i) {
+      t = (t << 8) | this.readByte() & 0xFF;
+    }
+
+    return t;
+  }
+
+  /**
+   * Read array header.
+   *
+   * @return amount of elements in array
+   */
+  public int readArrayLength() {
+    return this.readSize(CborMajorType.ARRAY);
+  }
+
+  /**
+   * Read unsigned integer.
+   *
+   * @return unsigned integer
+   */
+  public long readUnsignedInteger() {
+    return this.readLength(CborMajorType.UNSIGNED_INTEGER);
+  }
+
+  /**
+   * Read signed integer, unsigned and negative integer major types are accepted.
+   *
+   * @return signed integer
+   */
+  public long readInteger() {
+    CborMajorType majorType = this.peekMajorType();
+    if (majorType != CborMajorType.UNSIGNED_INTEGER
+        && majorType != CborMajorType.NEGATIVE_INTEGER) {
+      throw new CborSerializationException("Type mismatch, expected integer.");
+    }
+
+    long value = this.readLength(majorType);
+    if (value < 0) {
+      throw new CborSerializationException("Integer does not fit into signed long.");
+    }
+
+    return majorType == CborMajorType.NEGATIVE_INTEGER ? -1 - value : value;
+  }
+
+  /**
+   * Read tag number, tagged element is next element in reader.
+   *
+   * @return tag number
+   */
+  public long readTag() {
+    return this.readLength(CborMajorType.TAG);
+  }
+
+  /**
+   * Read byte string.
+   *
+   * @return bytes
+   */
+  public byte[] readByteString() {
+    return this.read(this.readSize(CborMajorType.BYTE_STRING));
+  }
+
+  /**
+   * Read byte string header and skip its content, content is available from underlying array
+   * starting at returned position.
+   *
+   * @return position of byte string content
+   */
+  public int skipByteString() {
+    return this.skipBytes(this.readSize(CborMajorType.BYTE_STRING));
+  }
+
+  /**
+   * Read text string.
+   *
+   * @return text
+   */
+  public String readTextString() {
+    int length = this.readSize(CborMajorType.TEXT_STRING);
+    int start = this.skipBytes(length);
+    return new String(this.data, start, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Read boolean.
+   *
+   * @return boolean
+   */
+  public boolean readBoolean() {
+    byte value = this.readByte();
+    if (value == (byte) 0xf5) {
+      return true;
+    }
+    if (value == (byte) 0xf4) {
+      return false;
+    }
+    throw new CborSerializationException("Type mismatch, expected boolean.");
+  }
+
+  /**
+   * Skip next element with all of its nested elements.
+   *
+   * @return start position of skipped element
+   */
+  public int skip() {
+    int start = this.position;
+    CborMajorType majorType = this.peekMajorType();
+    long length = this.readLength(majorType);
+    switch (majorType) {
+      case BYTE_STRING:
+      case TEXT_STRING:
+        this.skipBytes(CborReader.toSize(length));
+        break;
+      case ARRAY:
+        for (long i = 0; i < length; i++) {
+          this.skip();
+        }
+        break;
+      case MAP:
+        for (long i = 0; i < length; i++) {
+          this.skip();
+          this.skip();
+        }
+        break;
+      case TAG:
+        this.skip();
+        break;
+      default:
+        break;
+    }
+
+    return start;
+  }
+
+  /**
+   * Read copy of next raw CBOR element.
+   *
+   * @return CBOR element bytes
+   */
+  public byte[] readRawCbor() {
+    int start = this.skip();
+    return Arrays.copyOfRange(this.data, start, this.position);
+  }
+
+  /**
+   * Get underlying byte array, used together with positions returned by reader.
+   *
+   * @return underlying bytes
+   */
+  public byte[] getData() {
+    return this.data;
+  }
+
+  private byte peekByte() {
+    if (this.position >= this.limit) {
+      throw new CborSerializationException("Premature end of data.");
+    }
+
+    return this.data[this.position];
+  }
+
+  private int readSize(CborMajorType majorType) {
+    return CborReader.toSize(this.readLength(majorType));
+  }
+
+  private int skipBytes(int length) {
+    if (length < 0 || length > this.limit - this.position) {
+      throw new CborSerializationException("Premature end of data.");
+    }
+
+    int start = this.position;
+    this.position += length;
+    return start;
+  }
+
+  private static int toSize(long length) {
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new CborSerializationException("Encoded length too large.");
+    }
+
+    return (int) length;
+  }
+}
@@ -53,6 +53,22 @@ public class CborSerializer {
     return result;
   }
 
+  /**
+   * Encode signed integer to CBOR bytes, negative values use negative integer major type.
+   *
+   * @param input signed integer
+   * @return bytes
+   */
+  public static byte[] encodeInteger(long input) {
+    if (input >= 0) {
+      return CborSerializer.encodeUnsignedInteger(input);
+    }
+
+    byte[] result = CborSerializer.encodeUnsignedInteger(-1 - input);
+    result[0] |= (byte) CborMajorType.NEGATIVE_INTEGER.getType();
+    return result;
+  }
+
   /**
    * Encode byte string to CBOR bytes.
    *
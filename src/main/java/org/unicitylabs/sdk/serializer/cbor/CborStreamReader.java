@@ -0,0 +1,142 @@
+package org.unicitylabs.sdk.serializer.cbor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Reader of CBOR sequence from input stream. Elements are read one at a time, so memory use is
+ * bounded by largest element instead of whole stream.
+ */
+public class CborStreamReader implements Closeable {
+
+  /**
+   * Maximum nesting depth of arrays, maps and tags in element.
+   */
+  public static final int MAX_DEPTH = 256;
+
+  private static final int MAJOR_TYPE_MASK = 0b11100000;
+  private static final int ADDITIONAL_INFORMATION_MASK = 0b00011111;
+  private static final int CHUNK_SIZE = 8192;
+
+  private final InputStream input;
+  private final byte[] chunk = new byte[CborStreamReader.CHUNK_SIZE];
+
+  /**
+   * Create CBOR stream reader.
+   *
+   * @param input input stream
+   */
+  public CborStreamReader(InputStream input) {
+    this.input = Objects.requireNonNull(input, "Input cannot be null.");
+  }
+
+  /**
+   * Read next raw CBOR element.
+   *
+   * @return CBOR element bytes, null if stream ended before element
+   * @throws IOException if reading fails
+   */
+  public byte[] readItem() throws IOException {
+    int initialByte = this.input.read();
+    if (initialByte == -1) {
+      return null;
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    this.copyItem(initialByte, output, 0);
+    return output.toByteArray();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.input.close();
+  }
+
+  private void copyItem(int initialByte, ByteArrayOutputStream output, int depth)
+      throws IOException {
+    if (depth > CborStreamReader.MAX_DEPTH) {
+      throw new CborSerializationException("Maximum nesting depth exceeded.");
+    }
+
+    CborMajorType majorType = CborMajorType.fromType(
+        initialByte & CborStreamReader.MAJOR_TYPE_MASK);
+    int additionalInformation = initialByte & CborStreamReader.ADDITIONAL_INFORMATION_MASK;
+    output.write(initialByte);
+
+    long length = additionalInformation;
+    if (additionalInformation == 31) {
+      throw new CborSerializationException("Indefinite length encoding not supported.");
+    }
+    if (additionalInformation > 27) {
+      throw new CborSerializationException("Encoded item is not well-formed.");
+    }
+    if (additionalInformation >= 24) {
+      length = 0;
+      for (int i = 0; i < 1 << (additionalInformation - 24); i++) {
+        int value = this.readByte();
+        output.write(value);
+        length = (length << 8) | value;
+      }
+    }
+
+    switch (majorType) {
+      case BYTE_STRING:
+      case TEXT_STRING:
+        this.copyBytes(length, output);
+        break;
+      case ARRAY:
+        this.copyItems(length, output, depth);
+        break;
+      case MAP:
+        this.copyItems(length, output, depth);
+        this.copyItems(length, output, depth);
+        break;
+      case TAG:
+        this.copyItems(1, output, depth);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void copyItems(long count, ByteArrayOutputStream output, int depth)
+      throws IOException {
+    if (count < 0) {
+      throw new CborSerializationException("Encoded length too large.");
+    }
+
+    for (long i = 0; i < count; i++) {
+      this.copyItem(this.readByte(), output, depth + 1);
+    }
+  }
+
+  // Length is not trusted, bytes are copied in chunks so stream end is reached before allocating
+  private void copyBytes(long length, ByteArrayOutputStream output) throws IOException {
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new CborSerializationException("Encoded length too large.");
+    }
+
+    long remaining = length;
+    while (remaining > 0) {
+      int read = this.input.read(this.chunk, 0,
+          (int) Math.min(remaining, CborStreamReader.CHUNK_SIZE));
+      if (read == -1) {
+        throw new CborSerializationException("Premature end of data.");
+      }
+      output.write(this.chunk, 0, read);
+      remaining -= read;
+    }
+  }
+
+  private int readByte() throws IOException {
+    int value = this.input.read();
+    if (value == -1) {
+      throw new CborSerializationException("Premature end of data.");
+    }
+
+    return value;
+  }
+}
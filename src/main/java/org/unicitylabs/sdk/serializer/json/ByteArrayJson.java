@@ -16,9 +16,69 @@ import org.unicitylabs.sdk.util.HexConverter;
  */
 public class ByteArrayJson {
 
+  private static final int MAX_BUFFER_SIZE = 8192;
+  private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
   private ByteArrayJson() {
   }
 
+  /**
+   * Write bytes as hex string value.
+   *
+   * @param gen   json generator
+   * @param value bytes
+   * @throws IOException on generator failure
+   */
+  public static void write(JsonGenerator gen, byte[] value) throws IOException {
+    ByteArrayJson.write(gen, value, 0, value.length);
+  }
+
+  /**
+   * Write byte array range as hex string value, hex is encoded into reused character buffer which
+   * generator copies to its output.
+   *
+   * @param gen    json generator
+   * @param value  bytes
+   * @param offset start of range
+   * @param length length of range
+   * @throws IOException on generator failure
+   */
+  public static void write(JsonGenerator gen, byte[] value, int offset, int length)
+      throws IOException {
+    int size = length * 2;
+    char[] buffer = ByteArrayJson.BUFFER.get();
+    if (buffer.length < size) {
+      buffer = new char[size];
+      if (size <= ByteArrayJson.MAX_BUFFER_SIZE) {
+        ByteArrayJson.BUFFER.set(buffer);
+      }
+    }
+
+    HexConverter.encode(value, offset, length, buffer, 0);
+    gen.writeString(buffer, 0, size);
+  }
+
+  /**
+   * Read bytes from hex string value at current parser token, characters are decoded from parser
+   * buffer directly.
+   *
+   * @param p          json parser
+   * @param targetType type which is being deserialized, used for error reporting
+   * @return bytes
+   * @throws IOException on invalid input
+   */
+  public static byte[] read(JsonParser p, Class<?> targetType) throws IOException {
+    if (p.currentToken() != JsonToken.VALUE_STRING) {
+      throw MismatchedInputException.from(p, targetType, "Expected hex string value");
+    }
+
+    try {
+      return HexConverter.decode(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    } catch (IllegalArgumentException e) {
+      throw MismatchedInputException.from(p, targetType, "Expected hex string value");
+    }
+  }
+
   /**
    * Byte array serializer.
    */
@@ -42,7 +102,7 @@ public class ByteArrayJson {
     @Override
     public void serialize(byte[] value, JsonGenerator gen, SerializerProvider serializers)
         throws IOException {
-      gen.writeString(HexConverter.encode(value));
+      ByteArrayJson.write(gen, value);
     }
   }
 
@@ -69,16 +129,7 @@ public class ByteArrayJson {
      */
     @Override
     public byte[] deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
-      if (p.getCurrentToken() != JsonToken.VALUE_STRING) {
-        throw MismatchedInputException.from(p, byte[].class,
-            "Expected hex string value");
-      }
-
-      try {
-        return HexConverter.decode(p.readValueAs(String.class));
-      } catch (Exception e) {
-        throw MismatchedInputException.from(p, byte[].class, "Expected hex string value");
-      }
+      return ByteArrayJson.read(p, byte[].class);
     }
   }
 }
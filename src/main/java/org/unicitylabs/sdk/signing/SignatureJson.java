@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
 
 /**
  * Signature serializer and deserializer implementation.
@@ -40,7 +41,7 @@ public class SignatureJson {
     public void serialize(Signature value, JsonGenerator gen,
         SerializerProvider serializers)
         throws IOException {
-      gen.writeObject(value.encode());
+      ByteArrayJson.write(gen, value.encode());
     }
   }
 
@@ -68,7 +69,7 @@ public class SignatureJson {
     @Override
     public Signature deserialize(JsonParser p, DeserializationContext ctx)
         throws IOException {
-      return Signature.decode(p.readValueAs(byte[].class));
+      return Signature.decode(ByteArrayJson.read(p, Signature.class));
     }
   }
 }
@@ -1,20 +1,17 @@
 package org.unicitylabs.sdk.token;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
-import org.unicitylabs.sdk.address.Address;
-import org.unicitylabs.sdk.address.ProxyAddress;
 import org.unicitylabs.sdk.bft.RootTrustBase;
-import org.unicitylabs.sdk.predicate.Predicate;
-import org.unicitylabs.sdk.predicate.PredicateEngineService;
+import org.unicitylabs.sdk.hash.DataHash;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
 import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
 import org.unicitylabs.sdk.serializer.cbor.CborSerializationException;
@@ -25,6 +22,7 @@ import org.unicitylabs.sdk.transaction.MintTransaction;
 import org.unicitylabs.sdk.transaction.MintTransactionReason;
 import org.unicitylabs.sdk.transaction.Transaction;
 import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.util.PersistentList;
 import org.unicitylabs.sdk.verification.VerificationException;
 import org.unicitylabs.sdk.verification.VerificationResult;
 
@@ -33,6 +31,8 @@ import org.unicitylabs.sdk.verification.VerificationResult;
  *
  * @param <R> mint transaction reason for current token.
  */
+@JsonSerialize(using = TokenJson.Serializer.class)
+@JsonDeserialize(using = TokenJson.Deserializer.class)
 public class Token<R extends MintTransactionReason> {
 
   /**
@@ -45,15 +45,10 @@ public class Token<R extends MintTransactionReason> {
   private final List<TransferTransaction> transactions;
   private final List<Token<?>> nametags;
 
-  @JsonCreator
   Token(
-      @JsonProperty("state")
       TokenState state,
-      @JsonProperty("genesis")
       MintTransaction<R> genesis,
-      @JsonProperty("transactions")
       List<TransferTransaction> transactions,
-      @JsonProperty("nametags")
       List<Token<?>> nametags
   ) {
     Objects.requireNonNull(state, "State cannot be null");
@@ -63,16 +58,40 @@ public class Token<R extends MintTransactionReason> {
 
     this.state = state;
     this.genesis = genesis;
-    this.transactions = List.copyOf(transactions);
+    this.transactions = PersistentList.copyOf(transactions);
     this.nametags = List.copyOf(nametags);
   }
 
+  private Token(
+      TokenState state,
+      MintTransaction<R> genesis,
+      List<TransferTransaction> transactions,
+      List<Token<?>> nametags,
+      boolean copy
+  ) {
+    this.state = state;
+    this.genesis = genesis;
+    this.transactions = copy ? PersistentList.copyOf(transactions) : transactions;
+    this.nametags = copy ? List.copyOf(nametags) : nametags;
+  }
+
+  /**
+   * Create token over given lists without copying them, lists have to be unmodifiable.
+   */
+  static <R extends MintTransactionReason> Token<R> createView(
+      TokenState state,
+      MintTransaction<R> genesis,
+      List<TransferTransaction> transactions,
+      List<Token<?>> nametags
+  ) {
+    return new Token<>(state, genesis, transactions, nametags, false);
+  }
+
   /**
    * Get token id from genesis.
    *
    * @return token id
    */
-  @JsonIgnore
   public TokenId getId() {
     return this.genesis.getData().getTokenId();
   }
@@ -82,7 +101,6 @@ public class Token<R extends MintTransactionReason> {
    *
    * @return token type
    */
-  @JsonIgnore
   public TokenType getType() {
     return this.genesis.getData().getTokenType();
   }
@@ -92,7 +110,6 @@ public class Token<R extends MintTransactionReason> {
    *
    * @return token immutable data
    */
-  @JsonIgnore
   public Optional<byte[]> getData() {
     return this.genesis.getData().getTokenData();
   }
@@ -102,7 +119,6 @@ public class Token<R extends MintTransactionReason> {
    *
    * @return token coins data
    */
-  @JsonIgnore
   public Optional<TokenCoinData> getCoins() {
     return this.genesis.getData().getCoinData();
   }
@@ -112,7 +128,6 @@ public class Token<R extends MintTransactionReason> {
    *
    * @return token version
    */
-  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   public String getVersion() {
     return TOKEN_VERSION;
   }
@@ -204,7 +219,7 @@ public class Token<R extends MintTransactionReason> {
   }
 
   /**
-   * Update token to next state with given transfer transaction.
+   * Update token to next state with given transfer transaction. Resources are not limited.
    *
    * @param trustBase   trust base to verify latest state
    * @param state       current state
@@ -218,23 +233,58 @@ public class Token<R extends MintTransactionReason> {
       TokenState state,
       TransferTransaction transaction,
       List<Token<?>> nametags
+  ) throws VerificationException {
+    return this.update(trustBase, state, transaction, nametags, VerificationPolicy.unlimited());
+  }
+
+  /**
+   * Update token to next state with given transfer transaction, rejecting transaction and
+   * nametags which exceed verification policy limits before verifying them.
+   *
+   * @param trustBase   trust base to verify latest state
+   * @param state       current state
+   * @param transaction latest transaction
+   * @param nametags    nametags associated with transaction
+   * @param policy      verification policy
+   * @return token with latest state
+   * @throws VerificationException if token state is invalid or policy limit is exceeded
+   */
+  public Token<R> update(
+      RootTrustBase trustBase,
+      TokenState state,
+      TransferTransaction transaction,
+      List<Token<?>> nametags,
+      VerificationPolicy policy
   ) throws VerificationException {
     Objects.requireNonNull(state, "State cannot be null");
     Objects.requireNonNull(transaction, "Transaction cannot be null");
     Objects.requireNonNull(nametags, "Nametag tokens cannot be null");
     Objects.requireNonNull(trustBase, "Trust base cannot be null");
+    Objects.requireNonNull(policy, "Verification policy cannot be null");
 
-    VerificationResult result = transaction.verify(trustBase, this);
+    VerificationResult budget = policy.checkUpdate(this, transaction, nametags);
+    if (!budget.isSuccessful()) {
+      throw new VerificationException("Verification budget exceeded", budget);
+    }
+
+    // Nametag results are shared between previous and new state verification
+    TokenVerifier verifier = new TokenVerifier(trustBase);
+    Map<DataHash, VerificationResult> nametagResults = new HashMap<>();
+    VerificationResult result = verifier.verifyTransaction(this, transaction, nametagResults);
 
     if (!result.isSuccessful()) {
       throw new VerificationException("Transaction verification failed", result);
     }
 
-    LinkedList<TransferTransaction> transactions = new LinkedList<>(this.transactions);
-    transactions.add(transaction);
-    Token<R> token = new Token<>(state, this.genesis, transactions, nametags);
+    // History is shared with this token, appending does not copy it
+    Token<R> token = new Token<>(
+        state,
+        this.genesis,
+        PersistentList.<TransferTransaction>copyOf(this.transactions).append(transaction),
+        nametags
+    );
 
-    result = token.verifyNametagTokens(trustBase);
+    result = verifier.verifyNametagTokens(nametags, nametagResults);
     if (!result.isSuccessful()) {
       throw new VerificationException("Nametag tokens verification failed", result);
     }
@@ -253,47 +303,81 @@ public class Token<R extends MintTransactionReason> {
   }
 
   /**
-   * Verify current token state against trustbase.
+   * Verify current token state against trustbase. Resources are not limited, use
+   * {@link #verify(RootTrustBase, VerificationPolicy)} for untrusted tokens.
    *
    * @param trustBase trust base to verify state against
    * @return verification result
    */
   public VerificationResult verify(RootTrustBase trustBase) {
-    List<VerificationResult> results = new ArrayList<>();
-    results.add(
-        VerificationResult.fromChildren(
-            "Genesis verification",
-            List.of(this.genesis.verify(trustBase))
-        )
-    );
+    return new TokenVerifier(trustBase).verify(this);
+  }
 
-    for (int i = 0; i < this.transactions.size(); i++) {
-      TransferTransaction transaction = this.transactions.get(i);
-      results.add(
-          transaction.verify(
-              trustBase,
-              new Token<>(
-                  transaction.getData().getSourceState(),
-                  this.genesis,
-                  this.transactions.subList(0, i),
-                  transaction.getData().getNametags()
-              )
-          )
-      );
-    }
+  /**
+   * Verify current token state against trustbase if token is within verification policy limits.
+   * Limits are checked before cryptographic verification.
+   *
+   * @param trustBase trust base to verify state against
+   * @param policy    verification policy
+   * @return verification result, budget exceeded result if policy limit is exceeded
+   */
+  public VerificationResult verify(RootTrustBase trustBase, VerificationPolicy policy) {
+    return new TokenVerifier(trustBase).verify(this, policy);
+  }
 
-    results.add(
-        VerificationResult.fromChildren(
-            "Current state verification",
-            List.of(
-                this.verifyNametagTokens(trustBase),
-                this.verifyRecipient(),
-                this.verifyRecipientData()
-            )
-        )
-    );
+  /**
+   * Verify current token state against trustbase on given executor if token is within
+   * verification policy limits.
+   *
+   * @param trustBase trust base to verify state against
+   * @param executor  executor for cryptographic checks
+   * @param policy    verification policy
+   * @return verification result, budget exceeded result if policy limit is exceeded
+   */
+  public VerificationResult verify(
+      RootTrustBase trustBase,
+      Executor executor,
+      VerificationPolicy policy
+  ) {
+    return new TokenVerifier(trustBase, executor).verify(this, policy);
+  }
+
+  /**
+   * Verify current token state against trustbase if token is within verification policy limits
+   * and stop at first failure.
+   *
+   * @param trustBase trust base to verify state against
+   * @param policy    verification policy
+   * @return successful result, reason of first failure or budget exceeded result
+   */
+  public VerificationResult verifyFailFast(RootTrustBase trustBase, VerificationPolicy policy) {
+    return new TokenVerifier(trustBase).verifyFailFast(this, policy);
+  }
 
-    return VerificationResult.fromChildren("Token verification", results);
+  /**
+   * Verify current token state against trustbase, running cryptographic checks of every
+   * transaction concurrently on given executor. Result is same as for sequential verification.
+   * Resources are not limited.
+   *
+   * @param trustBase trust base to verify state against
+   * @param executor  executor for cryptographic checks, for example
+   *                  {@link java.util.concurrent.ForkJoinPool}
+   * @return verification result
+   */
+  public VerificationResult verify(RootTrustBase trustBase, Executor executor) {
+    return new TokenVerifier(trustBase, executor).verify(this);
+  }
+
+  /**
+   * Verify current token state against trustbase and stop at first failure. Verification result
+   * tree is not built, use {@link #verify(RootTrustBase)} for full diagnostics. Resources are not
+   * limited.
+   *
+   * @param trustBase trust base to verify state against
+   * @return successful result or reason of first failure
+   */
+  public VerificationResult verifyFailFast(RootTrustBase trustBase) {
+    return new TokenVerifier(trustBase).verifyFailFast(this);
   }
 
   /**
@@ -303,11 +387,7 @@ public class Token<R extends MintTransactionReason> {
    * @return verification result
    */
   public VerificationResult verifyNametagTokens(RootTrustBase trustBase) {
-    return VerificationResult.fromChildren(
-        "Nametag verification",
-        this.nametags.stream()
-            .map(token -> token.verify(trustBase))
-            .collect(Collectors.toList()));
+    return new TokenVerifier(trustBase).verifyNametagTokens(this.nametags);
   }
 
   /**
@@ -316,20 +396,7 @@ public class Token<R extends MintTransactionReason> {
    * @return verification result
    */
   public VerificationResult verifyRecipient() {
-    Predicate predicate = PredicateEngineService.createPredicate(this.state.getPredicate());
-    Address expectedRecipient = predicate.getReference().toAddress();
-
-    Transaction<?> previousTransaction = this.transactions.isEmpty()
-        ? this.genesis
-        : this.transactions.get(this.transactions.size() - 1);
-
-    Address transactionRecipient = ProxyAddress.resolve(
-        previousTransaction.getData().getRecipient(), this.nametags);
-    return VerificationResult.fromChildren("Recipient verification", List.of(
-        expectedRecipient.equals(transactionRecipient)
-            ? VerificationResult.success()
-            : VerificationResult.fail("Recipient address mismatch")
-    ));
+    return TokenVerifier.verifyRecipient(this.state, this.getLatestTransaction(), this.nametags);
   }
 
   /**
@@ -338,16 +405,13 @@ public class Token<R extends MintTransactionReason> {
    * @return verification result
    */
   public VerificationResult verifyRecipientData() {
-    Transaction<?> previousTransaction = this.transactions.isEmpty()
+    return TokenVerifier.verifyRecipientData(this.state, this.getLatestTransaction());
+  }
+
+  private Transaction<?> getLatestTransaction() {
+    return this.transactions.isEmpty()
         ? this.genesis
         : this.transactions.get(this.transactions.size() - 1);
-
-    return VerificationResult.fromChildren("Recipient data verification", List.of(
-        previousTransaction.containsRecipientData(this.state.getData().orElse(null))
-            ? VerificationResult.success()
-            : VerificationResult.fail(
-                "State data hash does not match previous transaction recipient data hash")
-    ));
   }
 
   /**
@@ -363,6 +427,7 @@ public class Token<R extends MintTransactionReason> {
       throw new CborSerializationException("Invalid version: " + version);
     }
 
+    // Input bytes are not kept as encoding, they are not necessarily canonical
     return new Token<>(
         TokenState.fromCbor(data.get(1)),
         MintTransaction.fromCbor(data.get(2)),
@@ -376,7 +441,8 @@ public class Token<R extends MintTransactionReason> {
   }
 
   /**
-   * Convert token to CBOR bytes.
+   * Convert token to CBOR bytes. Transactions keep their encodings, so token bytes are spliced from
+   * them and only transactions which have not been encoded before are encoded.
    *
    * @return CBOR bytes
    */
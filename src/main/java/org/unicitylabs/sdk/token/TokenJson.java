@@ -0,0 +1,146 @@
+package org.unicitylabs.sdk.token;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.unicitylabs.sdk.transaction.MintTransaction;
+import org.unicitylabs.sdk.transaction.MintTransactionReason;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+
+/**
+ * Token serializer and deserializer implementation.
+ */
+public class TokenJson {
+
+  private TokenJson() {
+  }
+
+  /**
+   * Token serializer.
+   */
+  public static class Serializer extends StdSerializer<Token<?>> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(Token.class, false);
+    }
+
+    /**
+     * Serialize token.
+     *
+     * @param value       token
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(Token<?> value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeStartObject();
+      serializers.defaultSerializeField("state", value.getState(), gen);
+      serializers.defaultSerializeField("genesis", value.getGenesis(), gen);
+      gen.writeArrayFieldStart("transactions");
+      for (TransferTransaction transaction : value.getTransactions()) {
+        serializers.defaultSerializeValue(transaction, gen);
+      }
+      gen.writeEndArray();
+      gen.writeArrayFieldStart("nametags");
+      for (Token<?> nametag : value.getNametags()) {
+        this.serialize(nametag, gen, serializers);
+      }
+      gen.writeEndArray();
+      gen.writeStringField("version", value.getVersion());
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Token deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<Token<?>> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(Token.class);
+    }
+
+    /**
+     * Deserialize token.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return token
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Token<?> deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, Token.class, "Expected object");
+      }
+
+      TokenState state = null;
+      MintTransaction<MintTransactionReason> genesis = null;
+      List<TransferTransaction> transactions = null;
+      List<Token<?>> nametags = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        if (p.nextToken() == JsonToken.VALUE_NULL) {
+          continue;
+        }
+
+        switch (field) {
+          case "state":
+            state = ctx.readValue(p, TokenState.class);
+            break;
+          case "genesis":
+            genesis = ctx.readValue(p, MintTransaction.class);
+            break;
+          case "transactions":
+            transactions = new ArrayList<>();
+            this.expectArray(p);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+              transactions.add(ctx.readValue(p, TransferTransaction.class));
+            }
+            break;
+          case "nametags":
+            nametags = new ArrayList<>();
+            this.expectArray(p);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+              nametags.add(this.deserialize(p, ctx));
+            }
+            break;
+          case "version":
+            break;
+          default:
+            ctx.handleUnknownProperty(p, this, Token.class, field);
+        }
+      }
+
+      try {
+        return new Token(state, genesis, transactions, nametags);
+      } catch (RuntimeException e) {
+        throw ctx.instantiationException(Token.class, e);
+      }
+    }
+
+    private void expectArray(JsonParser p) throws IOException {
+      if (p.currentToken() != JsonToken.START_ARRAY) {
+        throw MismatchedInputException.from(p, Token.class, "Expected array");
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package org.unicitylabs.sdk.token;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.DataHasher;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+/**
+ * Cache of verified token history checkpoints. Checkpoint is hash of trust base, genesis and
+ * history prefix whose genesis and transfers were successfully verified, so token which extends
+ * already verified history only needs its new transfers verified. Cache also keeps verification
+ * results of nametag tokens by trust base and token hash. Entries are evicted by LRU policy.
+ */
+public class TokenVerificationCache {
+
+  /**
+   * Default maximum amount of cached checkpoints and of cached nametag results.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  private final Map<DataHash, Integer> entries;
+  private final Map<DataHash, VerificationResult> nametagResults;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  /**
+   * Create token verification cache with default size.
+   */
+  public TokenVerificationCache() {
+    this(TokenVerificationCache.DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Create token verification cache.
+   *
+   * @param maxEntries maximum amount of cached checkpoints and of cached nametag results
+   */
+  public TokenVerificationCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Max entries must be positive.");
+    }
+
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<DataHash, Integer> eldest) {
+        return this.size() > maxEntries;
+      }
+    };
+    this.nametagResults = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<DataHash, VerificationResult> eldest) {
+        return this.size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Remove all cached checkpoints and nametag results.
+   */
+  public synchronized void clear() {
+    this.entries.clear();
+    this.nametagResults.clear();
+  }
+
+  /**
+   * Get amount of cached checkpoints.
+   *
+   * @return cached checkpoint count
+   */
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Get amount of cached nametag token results.
+   *
+   * @return cached nametag result count
+   */
+  public synchronized int getNametagResultCount() {
+    return this.nametagResults.size();
+  }
+
+  /**
+   * Get amount of verifications which resumed from cached checkpoint.
+   *
+   * @return hit count
+   */
+  public synchronized long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Get amount of verifications which did not find cached checkpoint.
+   *
+   * @return miss count
+   */
+  public synchronized long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Write cached checkpoints as CBOR, nametag results are not persisted.
+   *
+   * @param output output stream
+   * @throws IOException if writing fails
+   */
+  public void save(OutputStream output) throws IOException {
+    Objects.requireNonNull(output, "Output cannot be null.");
+
+    List<byte[]> items = new ArrayList<>();
+    synchronized (this) {
+      for (Map.Entry<DataHash, Integer> entry : this.entries.entrySet()) {
+        items.add(
+            CborSerializer.encodeArray(
+                entry.getKey().toCbor(),
+                CborSerializer.encodeUnsignedInteger(entry.getValue())
+            )
+        );
+      }
+    }
+
+    output.write(CborSerializer.encodeArray(items.toArray(new byte[0][])));
+  }
+
+  /**
+   * Read checkpoints written by {@link #save(OutputStream)}. Checkpoints are hashes and cannot be
+   * verified again, so they must only be read from trusted storage.
+   *
+   * @param input input stream
+   * @return amount of checkpoints added to cache
+   * @throws IOException if reading fails
+   */
+  public int load(InputStream input) throws IOException {
+    Objects.requireNonNull(input, "Input cannot be null.");
+
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = input.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+
+    int count = 0;
+    for (byte[] item : CborDeserializer.readArray(buffer.toByteArray())) {
+      List<byte[]> data = CborDeserializer.readArray(item);
+      this.put(
+          DataHash.fromCbor(data.get(0)),
+          CborDeserializer.readUnsignedInteger(data.get(1)).asInt()
+      );
+      count++;
+    }
+
+    return count;
+  }
+
+  /**
+   * Calculate checkpoint hashes for every history prefix of token. Element at index i is
+   * checkpoint of genesis and first i transfers.
+   */
+  static List<DataHash> calculateCheckpoints(Token<?> token, RootTrustBase trustBase) {
+    List<TransferTransaction> transactions = token.getTransactions();
+    List<DataHash> checkpoints = new ArrayList<>(transactions.size() + 1);
+    DataHash checkpoint = new DataHasher(HashAlgorithm.SHA256)
+        .update(trustBase.calculateHash().getImprint())
+        .update(token.getGenesis().toCbor())
+        .digest();
+    checkpoints.add(checkpoint);
+
+    for (TransferTransaction transaction : transactions) {
+      checkpoint = new DataHasher(HashAlgorithm.SHA256)
+          .update(checkpoint.getImprint())
+          .update(transaction.toCbor())
+          .digest();
+      checkpoints.add(checkpoint);
+    }
+
+    return checkpoints;
+  }
+
+  /**
+   * Find longest verified prefix.
+   *
+   * @return amount of transfers in longest verified prefix, -1 if genesis is not verified
+   */
+  synchronized int findVerifiedPrefix(List<DataHash> checkpoints) {
+    for (int i = checkpoints.size() - 1; i >= 0; i--) {
+      Integer length = this.entries.get(checkpoints.get(i));
+      if (length != null && length == i) {
+        this.hitCount++;
+        return i;
+      }
+    }
+
+    this.missCount++;
+    return -1;
+  }
+
+  synchronized void put(DataHash checkpoint, int length) {
+    this.entries.put(checkpoint, length);
+  }
+
+  VerificationResult getNametagResult(DataHash tokenHash, RootTrustBase trustBase) {
+    DataHash key = TokenVerificationCache.calculateNametagKey(tokenHash, trustBase);
+    synchronized (this) {
+      return this.nametagResults.get(key);
+    }
+  }
+
+  void putNametagResult(DataHash tokenHash, RootTrustBase trustBase, VerificationResult result) {
+    DataHash key = TokenVerificationCache.calculateNametagKey(tokenHash, trustBase);
+    synchronized (this) {
+      this.nametagResults.put(key, result);
+    }
+  }
+
+  private static DataHash calculateNametagKey(DataHash tokenHash, RootTrustBase trustBase) {
+    return new DataHasher(HashAlgorithm.SHA256)
+        .update(trustBase.calculateHash().getImprint())
+        .update(tokenHash.getImprint())
+        .digest();
+  }
+}
@@ -0,0 +1,544 @@
+package org.unicitylabs.sdk.token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.unicitylabs.sdk.address.Address;
+import org.unicitylabs.sdk.address.ProxyAddress;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.DataHasher;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.predicate.Predicate;
+import org.unicitylabs.sdk.predicate.PredicateEngineService;
+import org.unicitylabs.sdk.transaction.Transaction;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+/**
+ * Token verification engine. Token history is walked once, source state and previous transaction
+ * are carried forward, so verification of n transfers does not copy history n times. Produces same
+ * verification result tree as verifying every transfer against token at its source state.
+ *
+ * <p>Inclusion proofs, authenticator signatures and nametag tokens of every transaction are
+ * independent of each other. When verifier is created with an executor, these checks run
+ * concurrently on it and only cheap linkage checks between transactions run in order.
+ *
+ * <p>When verifier is created with {@link TokenVerificationCache}, verification resumes from the
+ * longest history prefix verified before and only new transfers are verified. Verified prefix is
+ * reported as single checkpoint result instead of genesis and transfer results.
+ *
+ * <p>Nametag token results are memoized by token hash during single verification, so nametag
+ * used in many transfers or nested in other nametags is verified once. Cache also keeps nametag
+ * results between verifications.
+ *
+ * <p>{@link #verifyFailFast(Token)} verifies same rules, but stops at first failure and does not
+ * build verification result tree, it is meant for accept or reject decisions.
+ *
+ * <p>Verification methods without {@link VerificationPolicy} do not limit resources, untrusted
+ * tokens should be verified with policy, which is checked before any cryptographic work.
+ */
+public class TokenVerifier {
+
+  private static final String RECIPIENT_MISMATCH = "Recipient address mismatch";
+  private static final String RECIPIENT_DATA_MISMATCH =
+      "State data hash does not match previous transaction recipient data hash";
+
+  private final RootTrustBase trustBase;
+  private final TokenVerificationCache cache;
+  private final Executor executor;
+
+  /**
+   * Create token verifier which verifies tokens in calling thread.
+   *
+   * @param trustBase trust base to verify tokens against
+   */
+  public TokenVerifier(RootTrustBase trustBase) {
+    this.trustBase = Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+    this.cache = null;
+    this.executor = null;
+  }
+
+  /**
+   * Create token verifier which runs cryptographic checks of token history concurrently.
+   *
+   * @param trustBase trust base to verify tokens against
+   * @param executor  executor for cryptographic checks, for example
+   *                  {@link java.util.concurrent.ForkJoinPool}
+   */
+  public TokenVerifier(RootTrustBase trustBase, Executor executor) {
+    this.trustBase = Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+    this.cache = null;
+    this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
+  }
+
+  /**
+   * Create token verifier which skips history prefixes verified before.
+   *
+   * @param trustBase trust base to verify tokens against
+   * @param cache     verified checkpoint cache
+   */
+  public TokenVerifier(RootTrustBase trustBase, TokenVerificationCache cache) {
+    this.trustBase = Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+    this.cache = Objects.requireNonNull(cache, "Cache cannot be null.");
+    this.executor = null;
+  }
+
+  /**
+   * Create token verifier which skips history prefixes verified before and runs cryptographic
+   * checks of new transfers concurrently.
+   *
+   * @param trustBase trust base to verify tokens against
+   * @param cache     verified checkpoint cache
+   * @param executor  executor for cryptographic checks
+   */
+  public TokenVerifier(RootTrustBase trustBase, TokenVerificationCache cache, Executor executor) {
+    this.trustBase = Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+    this.cache = Objects.requireNonNull(cache, "Cache cannot be null.");
+    this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
+  }
+
+  /**
+   * Verify genesis, every transfer and current state of token.
+   *
+   * @param token token to verify
+   * @return verification result
+   */
+  public VerificationResult verify(Token<?> token) {
+    Objects.requireNonNull(token, "Token cannot be null.");
+
+    return this.verify(token, new ConcurrentHashMap<>(), this.executor);
+  }
+
+  /**
+   * Verify genesis, every transfer and current state of token if token is within verification
+   * policy limits.
+   *
+   * @param token  token to verify
+   * @param policy verification policy
+   * @return verification result, budget exceeded result if policy limit is exceeded
+   */
+  public VerificationResult verify(Token<?> token, VerificationPolicy policy) {
+    Objects.requireNonNull(token, "Token cannot be null.");
+    Objects.requireNonNull(policy, "Verification policy cannot be null.");
+
+    VerificationResult result = policy.check(token);
+    return result.isSuccessful() ? this.verify(token) : result;
+  }
+
+  private VerificationResult verify(
+      Token<?> token,
+      Map<DataHash, VerificationResult> nametagResults,
+      Executor executor
+  ) {
+    List<TransferTransaction> transactions = token.getTransactions();
+    List<DataHash> checkpoints = this.cache == null
+        ? List.of()
+        : TokenVerificationCache.calculateCheckpoints(token, this.trustBase);
+    int verified = this.cache == null ? -1 : this.cache.findVerifiedPrefix(checkpoints);
+    int first = Math.max(verified, 0);
+
+    List<Supplier<VerificationResult>> checks = new ArrayList<>(transactions.size() * 2 + 2);
+    if (verified < 0) {
+      checks.add(() -> token.getGenesis().verify(this.trustBase));
+    }
+    for (int i = first; i < transactions.size(); i++) {
+      int index = i;
+      TransferTransaction transaction = transactions.get(i);
+      checks.add(() -> this.verifyNametagTokens(transaction.getData().getNametags(),
+          nametagResults));
+      // Predicates get token at source state, history prefix is a view and is not copied
+      checks.add(() -> this.verifyPredicate(
+          Token.createView(
+              transaction.getData().getSourceState(),
+              token.getGenesis(),
+              transactions.subList(0, index),
+              transaction.getData().getNametags()
+          ),
+          transaction
+      ));
+    }
+    checks.add(() -> this.verifyNametagTokens(token.getNametags(), nametagResults));
+    Iterator<VerificationResult> proofs = TokenVerifier.run(checks, executor).iterator();
+
+    List<VerificationResult> results = new ArrayList<>(transactions.size() - first + 2);
+    if (verified < 0) {
+      results.add(
+          VerificationResult.fromChildren(
+              "Genesis verification",
+              List.of(proofs.next())
+          )
+      );
+    } else {
+      results.add(
+          VerificationResult.fromChildren(
+              String.format("Checkpoint verification of %d transactions", verified),
+              List.of()
+          )
+      );
+    }
+    // Longest prefix whose genesis and transfers all succeeded
+    int prefix = results.get(0).isSuccessful() ? first : -1;
+
+    Transaction<?> previousTransaction = first == 0
+        ? token.getGenesis()
+        : transactions.get(first - 1);
+    for (int i = first; i < transactions.size(); i++) {
+      TransferTransaction transaction = transactions.get(i);
+      TokenState sourceState = transaction.getData().getSourceState();
+      VerificationResult result = VerificationResult.fromChildren("Transaction verification",
+          List.of(
+              proofs.next(),
+              TokenVerifier.verifyRecipient(sourceState, previousTransaction,
+                  transaction.getData().getNametags()),
+              TokenVerifier.verifyRecipientData(sourceState, previousTransaction),
+              proofs.next()
+          )
+      );
+      if (prefix == i && result.isSuccessful()) {
+        prefix = i + 1;
+      }
+      results.add(result);
+      previousTransaction = transaction;
+    }
+
+    results.add(
+        VerificationResult.fromChildren(
+            "Current state verification",
+            List.of(
+                proofs.next(),
+                TokenVerifier.verifyRecipient(token.getState(), previousTransaction,
+                    token.getNametags()),
+                TokenVerifier.verifyRecipientData(token.getState(), previousTransaction)
+            )
+        )
+    );
+
+    if (this.cache != null && prefix > verified) {
+      this.cache.put(checkpoints.get(prefix), prefix);
+    }
+
+    return VerificationResult.fromChildren("Token verification", results);
+  }
+
+  /**
+   * Verify token and stop at first failure. Result trees are not built, result is either
+   * successful or carries reason of first failure. Checks run in calling thread even if verifier
+   * has an executor.
+   *
+   * @param token token to verify
+   * @return verification result
+   */
+  public VerificationResult verifyFailFast(Token<?> token) {
+    Objects.requireNonNull(token, "Token cannot be null.");
+
+    return this.verifyFailFast(token, new HashMap<>());
+  }
+
+  /**
+   * Verify token if it is within verification policy limits and stop at first failure.
+   *
+   * @param token  token to verify
+   * @param policy verification policy
+   * @return verification result, budget exceeded result if policy limit is exceeded
+   */
+  public VerificationResult verifyFailFast(Token<?> token, VerificationPolicy policy) {
+    Objects.requireNonNull(token, "Token cannot be null.");
+    Objects.requireNonNull(policy, "Verification policy cannot be null.");
+
+    VerificationResult result = policy.check(token);
+    return result.isSuccessful() ? this.verifyFailFast(token) : result;
+  }
+
+  /**
+   * Verify transfer against token at its source state and stop at first failure, cheapest checks
+   * first. Result trees are not built.
+   *
+   * @param sourceToken token at source state of transaction
+   * @param transaction transfer transaction
+   * @return successful result or reason of first failure
+   */
+  public VerificationResult verifyTransactionFailFast(
+      Token<?> sourceToken,
+      TransferTransaction transaction
+  ) {
+    Objects.requireNonNull(sourceToken, "Source token cannot be null.");
+    Objects.requireNonNull(transaction, "Transaction cannot be null.");
+
+    List<TransferTransaction> transactions = sourceToken.getTransactions();
+    return this.verifyTransactionFailFast(
+        sourceToken,
+        transactions.isEmpty()
+            ? sourceToken.getGenesis()
+            : transactions.get(transactions.size() - 1),
+        transaction,
+        new HashMap<>()
+    );
+  }
+
+  VerificationResult verifyNametagTokens(List<Token<?>> nametags) {
+    return this.verifyNametagTokens(nametags, new HashMap<>());
+  }
+
+  /**
+   * Verify nametag tokens, result of every distinct nametag token is memoized in given map and
+   * in shared cache if verifier has one. Nametags are always verified in calling thread.
+   */
+  VerificationResult verifyNametagTokens(
+      List<Token<?>> nametags,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    List<VerificationResult> results = new ArrayList<>(nametags.size());
+    for (Token<?> nametag : nametags) {
+      results.add(this.verifyNametagToken(nametag, nametagResults));
+    }
+
+    return VerificationResult.fromChildren("Nametag verification", results);
+  }
+
+  /**
+   * Verify transfer against token at its source state same way as
+   * {@link TransferTransaction#verify(RootTrustBase, Token)}, sharing memoized nametag results.
+   */
+  VerificationResult verifyTransaction(
+      Token<?> token,
+      TransferTransaction transaction,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    return VerificationResult.fromChildren("Transaction verification", List.of(
+        this.verifyNametagTokens(token.getNametags(), nametagResults),
+        token.verifyRecipient(),
+        token.verifyRecipientData(),
+        this.verifyPredicate(token, transaction)
+    ));
+  }
+
+  static VerificationResult verifyRecipient(
+      TokenState state,
+      Transaction<?> previousTransaction,
+      List<Token<?>> nametags
+  ) {
+    return VerificationResult.fromChildren("Recipient verification", List.of(
+        TokenVerifier.isRecipientValid(state, previousTransaction, nametags)
+            ? VerificationResult.success()
+            : VerificationResult.fail(TokenVerifier.RECIPIENT_MISMATCH)
+    ));
+  }
+
+  static VerificationResult verifyRecipientData(
+      TokenState state,
+      Transaction<?> previousTransaction
+  ) {
+    return VerificationResult.fromChildren("Recipient data verification", List.of(
+        TokenVerifier.isRecipientDataValid(state, previousTransaction)
+            ? VerificationResult.success()
+            : VerificationResult.fail(TokenVerifier.RECIPIENT_DATA_MISMATCH)
+    ));
+  }
+
+  private static boolean isRecipientValid(
+      TokenState state,
+      Transaction<?> previousTransaction,
+      List<Token<?>> nametags
+  ) {
+    Predicate predicate = PredicateEngineService.createPredicate(state.getPredicate());
+    Address expectedRecipient = predicate.getReference().toAddress();
+
+    return expectedRecipient.equals(
+        ProxyAddress.resolve(previousTransaction.getData().getRecipient(), nametags));
+  }
+
+  private static boolean isRecipientDataValid(
+      TokenState state,
+      Transaction<?> previousTransaction
+  ) {
+    return previousTransaction.containsRecipientData(state.getData().orElse(null));
+  }
+
+  private VerificationResult verifyFailFast(
+      Token<?> token,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    List<TransferTransaction> transactions = token.getTransactions();
+    List<DataHash> checkpoints = this.cache == null
+        ? List.of()
+        : TokenVerificationCache.calculateCheckpoints(token, this.trustBase);
+    int verified = this.cache == null ? -1 : this.cache.findVerifiedPrefix(checkpoints);
+    int first = Math.max(verified, 0);
+
+    if (verified < 0) {
+      VerificationResult result = token.getGenesis().verify(this.trustBase);
+      if (!result.isSuccessful()) {
+        return VerificationResult.fail("Genesis verification failed", List.of(result));
+      }
+    }
+
+    Transaction<?> previousTransaction = first == 0
+        ? token.getGenesis()
+        : transactions.get(first - 1);
+    for (int i = first; i < transactions.size(); i++) {
+      TransferTransaction transaction = transactions.get(i);
+      VerificationResult result = this.verifyTransactionFailFast(
+          Token.createView(
+              transaction.getData().getSourceState(),
+              token.getGenesis(),
+              transactions.subList(0, i),
+              transaction.getData().getNametags()
+          ),
+          previousTransaction,
+          transaction,
+          nametagResults
+      );
+      if (!result.isSuccessful()) {
+        if (this.cache != null && i > verified) {
+          this.cache.put(checkpoints.get(i), i);
+        }
+        return VerificationResult.fail(String.format("Transaction %d verification failed", i),
+            List.of(result));
+      }
+      previousTransaction = transaction;
+    }
+
+    if (this.cache != null && transactions.size() > verified) {
+      this.cache.put(checkpoints.get(transactions.size()), transactions.size());
+    }
+
+    if (!TokenVerifier.isRecipientValid(token.getState(), previousTransaction,
+        token.getNametags())) {
+      return VerificationResult.fail(TokenVerifier.RECIPIENT_MISMATCH);
+    }
+    if (!TokenVerifier.isRecipientDataValid(token.getState(), previousTransaction)) {
+      return VerificationResult.fail(TokenVerifier.RECIPIENT_DATA_MISMATCH);
+    }
+
+    return this.verifyNametagTokensFailFast(token.getNametags(), nametagResults);
+  }
+
+  /**
+   * Verify transfer against token at its source state, cheapest checks first.
+   */
+  private VerificationResult verifyTransactionFailFast(
+      Token<?> sourceToken,
+      Transaction<?> previousTransaction,
+      TransferTransaction transaction,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    if (!TokenVerifier.isRecipientValid(sourceToken.getState(), previousTransaction,
+        sourceToken.getNametags())) {
+      return VerificationResult.fail(TokenVerifier.RECIPIENT_MISMATCH);
+    }
+    if (!TokenVerifier.isRecipientDataValid(sourceToken.getState(), previousTransaction)) {
+      return VerificationResult.fail(TokenVerifier.RECIPIENT_DATA_MISMATCH);
+    }
+
+    VerificationResult result = this.verifyPredicate(sourceToken, transaction);
+    if (!result.isSuccessful()) {
+      return result;
+    }
+
+    return this.verifyNametagTokensFailFast(sourceToken.getNametags(), nametagResults);
+  }
+
+  private VerificationResult verifyNametagTokensFailFast(
+      List<Token<?>> nametags,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    for (Token<?> nametag : nametags) {
+      DataHash hash = new DataHasher(HashAlgorithm.SHA256).update(nametag.toCbor()).digest();
+      VerificationResult result = nametagResults.get(hash);
+      if (result == null) {
+        // Shared cache holds full results, only their outcome is used here
+        VerificationResult cached = this.cache == null
+            ? null
+            : this.cache.getNametagResult(hash, this.trustBase);
+        result = cached == null
+            ? this.verifyFailFast(nametag, nametagResults)
+            : cached.isSuccessful() ? VerificationResult.success() : cached;
+        nametagResults.put(hash, result);
+      }
+
+      if (!result.isSuccessful()) {
+        return VerificationResult.fail("Nametag verification failed", List.of(result));
+      }
+    }
+
+    return VerificationResult.success();
+  }
+
+  private VerificationResult verifyNametagToken(
+      Token<?> nametag,
+      Map<DataHash, VerificationResult> nametagResults
+  ) {
+    DataHash hash = new DataHasher(HashAlgorithm.SHA256).update(nametag.toCbor()).digest();
+    VerificationResult result = nametagResults.get(hash);
+    if (result != null) {
+      return result;
+    }
+
+    result = this.cache == null ? null : this.cache.getNametagResult(hash, this.trustBase);
+    if (result == null) {
+      result = this.verify(nametag, nametagResults, null);
+      if (this.cache != null) {
+        this.cache.putNametagResult(hash, this.trustBase, result);
+      }
+    }
+
+    nametagResults.put(hash, result);
+    return result;
+  }
+
+  private VerificationResult verifyPredicate(
+      Token<?> sourceToken,
+      TransferTransaction transaction
+  ) {
+    Predicate predicate = PredicateEngineService.createPredicate(
+        sourceToken.getState().getPredicate());
+
+    return predicate.verify(sourceToken, transaction, this.trustBase)
+        ? VerificationResult.success()
+        : VerificationResult.fail("Predicate verification failed");
+  }
+
+  private static List<VerificationResult> run(
+      List<Supplier<VerificationResult>> checks,
+      Executor executor
+  ) {
+    List<VerificationResult> results = new ArrayList<>(checks.size());
+    if (executor == null) {
+      for (Supplier<VerificationResult> check : checks) {
+        results.add(check.get());
+      }
+      return results;
+    }
+
+    List<CompletableFuture<VerificationResult>> futures = new ArrayList<>(checks.size());
+    for (Supplier<VerificationResult> check : checks) {
+      futures.add(CompletableFuture.supplyAsync(check, executor));
+    }
+
+    try {
+      for (CompletableFuture<VerificationResult> future : futures) {
+        results.add(future.join());
+      }
+    } catch (CompletionException e) {
+      futures.forEach(future -> future.cancel(false));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+
+    return results;
+  }
+}
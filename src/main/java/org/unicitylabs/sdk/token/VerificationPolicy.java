@@ -0,0 +1,267 @@
+package org.unicitylabs.sdk.token;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.DataHasher;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+import org.unicitylabs.sdk.transaction.MintTransactionReason;
+import org.unicitylabs.sdk.transaction.Transaction;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.transaction.split.SplitMintReason;
+import org.unicitylabs.sdk.transaction.split.SplitMintReasonProof;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+/**
+ * Resource limits for verification of untrusted tokens. Token structure is checked against limits
+ * before any cryptographic verification, token exceeding a limit is rejected with
+ * {@link org.unicitylabs.sdk.verification.VerificationResultCode#BUDGET_EXCEEDED}.
+ *
+ * <p>Verification cost is counted in steps, counting follows {@link TokenVerifier}. Every
+ * transaction costs one step, one step for every sparse Merkle tree path step of its inclusion
+ * proof and one step for every signature of its unicity seal. Split mint reason costs one step and
+ * one step for every path step of its proofs. Nametag tokens are memoized by verifier, so every
+ * distinct nametag token is counted once. History prefixes skipped through
+ * {@link TokenVerificationCache} are still counted, so step count is upper bound of work done.
+ */
+public class VerificationPolicy {
+
+  /**
+   * Policy with limits well above what valid tokens need.
+   */
+  public static final VerificationPolicy DEFAULT = new VerificationPolicy(
+      10_000, 4, 1_000, 1_000, 10_000_000);
+
+  private static final VerificationPolicy UNLIMITED = new VerificationPolicy(
+      Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+  private final int maxTransactions;
+  private final int maxNametagDepth;
+  private final int maxNametags;
+  private final int maxSignaturesPerSeal;
+  private final long maxSteps;
+
+  /**
+   * Create verification policy.
+   *
+   * @param maxTransactions      maximum history length of token and of every nametag token
+   * @param maxNametagDepth      maximum nesting depth of nametag tokens, 0 disallows nametags
+   * @param maxNametags          maximum amount of distinct nametag tokens including nested ones
+   * @param maxSignaturesPerSeal maximum amount of signatures in unicity seal
+   * @param maxSteps             maximum amount of verification steps
+   */
+  public VerificationPolicy(
+      int maxTransactions,
+      int maxNametagDepth,
+      int maxNametags,
+      int maxSignaturesPerSeal,
+      long maxSteps
+  ) {
+    if (maxTransactions < 0 || maxNametagDepth < 0 || maxNametags < 0
+        || maxSignaturesPerSeal < 0 || maxSteps < 0) {
+      throw new IllegalArgumentException("Verification limits cannot be negative.");
+    }
+
+    this.maxTransactions = maxTransactions;
+    this.maxNametagDepth = maxNametagDepth;
+    this.maxNametags = maxNametags;
+    this.maxSignaturesPerSeal = maxSignaturesPerSeal;
+    this.maxSteps = maxSteps;
+  }
+
+  /**
+   * Get policy without limits.
+   *
+   * @return verification policy
+   */
+  public static VerificationPolicy unlimited() {
+    return VerificationPolicy.UNLIMITED;
+  }
+
+  /**
+   * Get maximum history length.
+   *
+   * @return maximum amount of transfers
+   */
+  public int getMaxTransactions() {
+    return this.maxTransactions;
+  }
+
+  /**
+   * Get maximum nesting depth of nametag tokens.
+   *
+   * @return maximum depth
+   */
+  public int getMaxNametagDepth() {
+    return this.maxNametagDepth;
+  }
+
+  /**
+   * Get maximum amount of nametag tokens.
+   *
+   * @return maximum nametag count
+   */
+  public int getMaxNametags() {
+    return this.maxNametags;
+  }
+
+  /**
+   * Get maximum amount of signatures in unicity seal.
+   *
+   * @return maximum signature count
+   */
+  public int getMaxSignaturesPerSeal() {
+    return this.maxSignaturesPerSeal;
+  }
+
+  /**
+   * Get maximum amount of verification steps.
+   *
+   * @return maximum step count
+   */
+  public long getMaxSteps() {
+    return this.maxSteps;
+  }
+
+  /**
+   * Check token structure against limits. Walk stops at first exceeded limit. Nametags are
+   * encoded for deduplication only after their history length and depth are checked and every
+   * nametag object is encoded once, so walk costs at most token size times nametag depth limit.
+   *
+   * @param token token
+   * @return successful result or budget exceeded result
+   */
+  public VerificationResult check(Token<?> token) {
+    Budget budget = new Budget();
+    try {
+      budget.spendToken(token, 0);
+    } catch (BudgetExceededException e) {
+      return VerificationResult.budgetExceeded(e.getMessage());
+    }
+
+    return VerificationResult.success();
+  }
+
+  /**
+   * Check work of {@link Token#update} against limits, update verifies new transaction, nametags
+   * of source token, nametags of transaction and new nametags.
+   */
+  VerificationResult checkUpdate(
+      Token<?> token,
+      TransferTransaction transaction,
+      List<Token<?>> nametags
+  ) {
+    Budget budget = new Budget();
+    try {
+      budget.spendHistoryLength(token.getTransactions().size() + 1);
+      budget.spendTransaction(transaction);
+      budget.spendNametags(token.getNametags(), 0);
+      budget.spendNametags(transaction.getData().getNametags(), 0);
+      budget.spendNametags(nametags, 0);
+    } catch (BudgetExceededException e) {
+      return VerificationResult.budgetExceeded(e.getMessage());
+    }
+
+    return VerificationResult.success();
+  }
+
+  private final class Budget {
+
+    private final Set<Token<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<DataHash> nametags = new HashSet<>();
+    private long steps = 0;
+
+    private void spendToken(Token<?> token, int depth) {
+      List<TransferTransaction> transactions = token.getTransactions();
+      this.spendHistoryLength(transactions.size());
+
+      this.spendTransaction(token.getGenesis());
+      token.getGenesis().getData().getReason().ifPresent(this::spendReason);
+      for (TransferTransaction transaction : transactions) {
+        this.spendTransaction(transaction);
+        this.spendNametags(transaction.getData().getNametags(), depth);
+      }
+      this.spendNametags(token.getNametags(), depth);
+    }
+
+    private void spendHistoryLength(int length) {
+      if (length > VerificationPolicy.this.maxTransactions) {
+        throw new BudgetExceededException(String.format(
+            "History length %d exceeds limit %d", length, VerificationPolicy.this.maxTransactions));
+      }
+    }
+
+    private void spendNametags(List<Token<?>> nametags, int depth) {
+      if (nametags.isEmpty()) {
+        return;
+      }
+      if (depth >= VerificationPolicy.this.maxNametagDepth) {
+        throw new BudgetExceededException(String.format(
+            "Nametag depth exceeds limit %d", VerificationPolicy.this.maxNametagDepth));
+      }
+
+      for (Token<?> nametag : nametags) {
+        if (!this.visited.add(nametag)) {
+          continue;
+        }
+        // Hashing encodes whole nametag, so cheap limits are checked first
+        this.spendHistoryLength(nametag.getTransactions().size());
+        // Verifier memoizes nametag results by same hash
+        DataHash hash = new DataHasher(HashAlgorithm.SHA256).update(nametag.toCbor()).digest();
+        if (!this.nametags.add(hash)) {
+          continue;
+        }
+        if (this.nametags.size() > VerificationPolicy.this.maxNametags) {
+          throw new BudgetExceededException(String.format(
+              "Nametag count exceeds limit %d", VerificationPolicy.this.maxNametags));
+        }
+        this.spendToken(nametag, depth + 1);
+      }
+    }
+
+    private void spendReason(MintTransactionReason reason) {
+      long steps = 1;
+      if (reason instanceof SplitMintReason) {
+        for (SplitMintReasonProof proof : ((SplitMintReason) reason).getProofs()) {
+          steps += proof.getAggregationPath().getSteps().size()
+              + proof.getCoinTreePath().getSteps().size();
+        }
+      }
+      this.spendSteps(steps);
+    }
+
+    private void spendTransaction(Transaction<?> transaction) {
+      InclusionProof inclusionProof = transaction.getInclusionProof();
+      Map<String, byte[]> signatures = inclusionProof.getUnicityCertificate().getUnicitySeal()
+          .getSignatures();
+      int signatureCount = signatures == null ? 0 : signatures.size();
+      if (signatureCount > VerificationPolicy.this.maxSignaturesPerSeal) {
+        throw new BudgetExceededException(String.format(
+            "Unicity seal signature count %d exceeds limit %d",
+            signatureCount, VerificationPolicy.this.maxSignaturesPerSeal));
+      }
+
+      this.spendSteps(1 + signatureCount + inclusionProof.getMerkleTreePath().getSteps().size());
+    }
+
+    private void spendSteps(long steps) {
+      this.steps += steps;
+      if (this.steps > VerificationPolicy.this.maxSteps) {
+        throw new BudgetExceededException(String.format(
+            "Verification steps exceed limit %d", VerificationPolicy.this.maxSteps));
+      }
+    }
+  }
+
+  private static final class BudgetExceededException extends RuntimeException {
+
+    private BudgetExceededException(String message) {
+      super(message, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package org.unicitylabs.sdk.token.bundle;
+
+/**
+ * Token bundle format constants. Bundle is CBOR sequence which starts with format version
+ * followed by records. Record is array of record type and payload. Definition record payload is
+ * shared object, such as nametag token, unicity certificate or unicity seal, definitions are
+ * indexed in order of appearance. Token record payload is token CBOR where shared objects are
+ * replaced with tagged reference to definition index.
+ */
+final class TokenBundle {
+
+  static final long VERSION = 1;
+  static final long DEFINITION_RECORD = 0;
+  static final long TOKEN_RECORD = 1;
+  // Same tag number as CBOR value sharing reference
+  static final long REFERENCE_TAG = 29;
+
+  private TokenBundle() {
+  }
+}
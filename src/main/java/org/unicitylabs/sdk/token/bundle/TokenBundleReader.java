@@ -0,0 +1,236 @@
+package org.unicitylabs.sdk.token.bundle;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer.CborTag;
+import org.unicitylabs.sdk.serializer.cbor.CborMajorType;
+import org.unicitylabs.sdk.serializer.cbor.CborReader;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializationException;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.serializer.cbor.CborStreamReader;
+import org.unicitylabs.sdk.token.Token;
+
+/**
+ * Reader of token bundle written by {@link TokenBundleWriter}. Tokens are read one at a time, but
+ * every shared object definition read so far stays in memory until reader is closed. Expanded
+ * definitions with nested references inlined are cached up to maximum token size in total.
+ *
+ * <p>Token and every shared object expanded from bundle is limited to maximum token size, so
+ * small bundle with definitions referencing each other many times cannot expand beyond it.
+ * Reference to definition is accepted only in same kind of slot where definition was first used.
+ */
+public class TokenBundleReader implements Closeable {
+
+  /**
+   * Default maximum size of expanded token in bytes.
+   */
+  public static final int DEFAULT_MAX_TOKEN_SIZE = 16 * 1024 * 1024;
+
+  private final CborStreamReader input;
+  private final int maxTokenSize;
+  private final List<byte[]> definitions = new ArrayList<>();
+  private final List<Kind> kinds = new ArrayList<>();
+  private final Map<Integer, byte[]> expandedDefinitions = new HashMap<>();
+  private final Set<Integer> expanding = new HashSet<>();
+  private long expandedDefinitionsSize = 0;
+  private boolean headerRead = false;
+
+  /**
+   * Create token bundle reader with default maximum token size, input is buffered by reader.
+   *
+   * @param input input stream
+   */
+  public TokenBundleReader(InputStream input) {
+    this(input, TokenBundleReader.DEFAULT_MAX_TOKEN_SIZE);
+  }
+
+  /**
+   * Create token bundle reader, input is buffered by reader.
+   *
+   * @param input        input stream
+   * @param maxTokenSize maximum size of expanded token in bytes
+   */
+  public TokenBundleReader(InputStream input, int maxTokenSize) {
+    if (maxTokenSize < 1) {
+      throw new IllegalArgumentException("Max token size must be positive.");
+    }
+
+    this.input = new CborStreamReader(
+        new BufferedInputStream(Objects.requireNonNull(input, "Input cannot be null.")));
+    this.maxTokenSize = maxTokenSize;
+  }
+
+  /**
+   * Read next token from bundle.
+   *
+   * @return token, null if bundle has no more tokens
+   * @throws IOException if reading fails
+   */
+  public Token<?> read() throws IOException {
+    if (!this.headerRead) {
+      byte[] header = this.input.readItem();
+      if (header == null) {
+        throw new CborSerializationException("Token bundle header missing.");
+      }
+      if (CborDeserializer.readUnsignedInteger(header).asLong() != TokenBundle.VERSION) {
+        throw new CborSerializationException("Unsupported token bundle version.");
+      }
+      this.headerRead = true;
+    }
+
+    byte[] item;
+    while ((item = this.input.readItem()) != null) {
+      List<byte[]> record = CborDeserializer.readArray(item);
+      if (record.size() != 2) {
+        throw new CborSerializationException("Invalid token bundle record.");
+      }
+
+      long type = CborDeserializer.readUnsignedInteger(record.get(0)).asLong();
+      if (type == TokenBundle.DEFINITION_RECORD) {
+        this.definitions.add(record.get(1));
+        this.kinds.add(null);
+      } else if (type == TokenBundle.TOKEN_RECORD) {
+        return Token.fromCbor(this.expandToken(record.get(1)));
+      } else {
+        throw new CborSerializationException("Unknown token bundle record type.");
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.input.close();
+  }
+
+  private byte[] expandToken(byte[] bytes) {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+    data.set(2, this.expandTransaction(data.get(2)));
+
+    List<byte[]> transactions = CborDeserializer.readArray(data.get(3));
+    for (int i = 0; i < transactions.size(); i++) {
+      List<byte[]> transaction = CborDeserializer.readArray(transactions.get(i));
+      List<byte[]> transactionData = CborDeserializer.readArray(transaction.get(0));
+      transactionData.set(5, this.expandNametags(transactionData.get(5)));
+      transaction.set(0, this.encodeArray(transactionData));
+      transactions.set(i, this.expandTransaction(this.encodeArray(transaction)));
+    }
+    data.set(3, this.encodeArray(transactions));
+    data.set(4, this.expandNametags(data.get(4)));
+
+    return this.encodeArray(data);
+  }
+
+  private byte[] expandNametags(byte[] bytes) {
+    List<byte[]> nametags = CborDeserializer.readArray(bytes);
+    for (int i = 0; i < nametags.size(); i++) {
+      nametags.set(i, this.resolve(nametags.get(i), Kind.NAMETAG));
+    }
+
+    return this.encodeArray(nametags);
+  }
+
+  private byte[] expandTransaction(byte[] bytes) {
+    List<byte[]> transaction = CborDeserializer.readArray(bytes);
+    List<byte[]> inclusionProof = CborDeserializer.readArray(transaction.get(1));
+    inclusionProof.set(3, this.resolve(inclusionProof.get(3), Kind.CERTIFICATE));
+    transaction.set(1, this.encodeArray(inclusionProof));
+
+    return this.encodeArray(transaction);
+  }
+
+  private byte[] expandCertificate(byte[] bytes) {
+    CborTag tag = CborDeserializer.readTag(bytes);
+    List<byte[]> certificate = CborDeserializer.readArray(tag.getData());
+    certificate.set(6, this.resolve(certificate.get(6), Kind.SEAL));
+
+    return CborSerializer.encodeTag(tag.getTag(), this.encodeArray(certificate));
+  }
+
+  private byte[] expand(byte[] bytes, Kind kind) {
+    switch (kind) {
+      case NAMETAG:
+        return this.expandToken(bytes);
+      case CERTIFICATE:
+        return this.expandCertificate(bytes);
+      default:
+        return bytes;
+    }
+  }
+
+  /**
+   * Replace reference with expanded definition, object which is not reference is expanded in
+   * place.
+   */
+  private byte[] resolve(byte[] bytes, Kind kind) {
+    CborReader reader = new CborReader(bytes);
+    if (reader.peekMajorType() != CborMajorType.TAG
+        || reader.readTag() != TokenBundle.REFERENCE_TAG) {
+      return this.expand(bytes, kind);
+    }
+
+    long reference = reader.readUnsignedInteger();
+    if (reference < 0 || reference >= this.definitions.size()) {
+      throw new CborSerializationException("Invalid token bundle reference.");
+    }
+
+    int index = (int) reference;
+    Kind definitionKind = this.kinds.get(index);
+    if (definitionKind == null) {
+      this.kinds.set(index, kind);
+    } else if (definitionKind != kind) {
+      throw new CborSerializationException("Token bundle reference to wrong kind of object.");
+    }
+
+    byte[] expanded = this.expandedDefinitions.get(index);
+    if (expanded != null) {
+      return expanded;
+    }
+    if (!this.expanding.add(index)) {
+      throw new CborSerializationException("Cyclic token bundle reference.");
+    }
+    try {
+      expanded = this.expand(this.definitions.get(index), kind);
+    } finally {
+      this.expanding.remove(index);
+    }
+
+    // Definitions expanding close to limit are not cached beyond limit, so memory stays bounded
+    if (this.expandedDefinitionsSize + expanded.length <= this.maxTokenSize) {
+      this.expandedDefinitions.put(index, expanded);
+      this.expandedDefinitionsSize += expanded.length;
+    }
+
+    return expanded;
+  }
+
+  private byte[] encodeArray(List<byte[]> items) {
+    long length = 0;
+    for (byte[] item : items) {
+      length += item.length;
+    }
+    if (length > this.maxTokenSize) {
+      throw new CborSerializationException(
+          String.format("Token bundle object exceeds maximum token size %d.", this.maxTokenSize));
+    }
+
+    return CborSerializer.encodeArray(items.toArray(new byte[0][]));
+  }
+
+  private enum Kind {
+    NAMETAG,
+    CERTIFICATE,
+    SEAL
+  }
+}
@@ -0,0 +1,164 @@
+package org.unicitylabs.sdk.token.bundle;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.DataHasher;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer.CborTag;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.token.Token;
+
+/**
+ * Writer of token bundle. Nametag tokens, unicity certificates and unicity seals are interned by
+ * content hash, so each of them is written once per bundle no matter how many tokens use it.
+ * Tokens are written one at a time and can be read back with {@link TokenBundleReader}.
+ */
+public class TokenBundleWriter implements Closeable, Flushable {
+
+  private final OutputStream output;
+  private final Map<DataHash, Integer> definitions = new HashMap<>();
+  private int tokenCount = 0;
+
+  /**
+   * Create token bundle writer and write bundle header.
+   *
+   * @param output output stream
+   * @throws IOException if writing fails
+   */
+  public TokenBundleWriter(OutputStream output) throws IOException {
+    this.output = Objects.requireNonNull(output, "Output cannot be null.");
+    this.output.write(CborSerializer.encodeUnsignedInteger(TokenBundle.VERSION));
+  }
+
+  /**
+   * Write token to bundle.
+   *
+   * @param token token
+   * @throws IOException if writing fails
+   */
+  public void write(Token<?> token) throws IOException {
+    Objects.requireNonNull(token, "Token cannot be null.");
+
+    byte[] payload = this.compactToken(token.toCbor());
+    this.writeRecord(TokenBundle.TOKEN_RECORD, payload);
+    this.tokenCount++;
+  }
+
+  /**
+   * Get amount of tokens written.
+   *
+   * @return token count
+   */
+  public int getTokenCount() {
+    return this.tokenCount;
+  }
+
+  /**
+   * Get amount of distinct shared objects written.
+   *
+   * @return definition count
+   */
+  public int getDefinitionCount() {
+    return this.definitions.size();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.output.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.output.close();
+  }
+
+  private byte[] compactToken(byte[] bytes) throws IOException {
+    List<byte[]> data = CborDeserializer.readArray(bytes);
+    data.set(2, this.compactTransaction(data.get(2)));
+
+    List<byte[]> transactions = CborDeserializer.readArray(data.get(3));
+    for (int i = 0; i < transactions.size(); i++) {
+      List<byte[]> transaction = CborDeserializer.readArray(transactions.get(i));
+      List<byte[]> transactionData = CborDeserializer.readArray(transaction.get(0));
+      transactionData.set(5, this.compactNametags(transactionData.get(5)));
+      transaction.set(0, CborSerializer.encodeArray(transactionData.toArray(new byte[0][])));
+      transactions.set(i, this.compactTransaction(
+          CborSerializer.encodeArray(transaction.toArray(new byte[0][]))));
+    }
+    data.set(3, CborSerializer.encodeArray(transactions.toArray(new byte[0][])));
+    data.set(4, this.compactNametags(data.get(4)));
+
+    return CborSerializer.encodeArray(data.toArray(new byte[0][]));
+  }
+
+  private byte[] compactNametags(byte[] bytes) throws IOException {
+    List<byte[]> nametags = CborDeserializer.readArray(bytes);
+    for (int i = 0; i < nametags.size(); i++) {
+      nametags.set(i, this.intern(nametags.get(i), this::compactToken));
+    }
+
+    return CborSerializer.encodeArray(nametags.toArray(new byte[0][]));
+  }
+
+  private byte[] compactTransaction(byte[] bytes) throws IOException {
+    List<byte[]> transaction = CborDeserializer.readArray(bytes);
+    List<byte[]> inclusionProof = CborDeserializer.readArray(transaction.get(1));
+    inclusionProof.set(3, this.intern(inclusionProof.get(3), this::compactCertificate));
+    transaction.set(1, CborSerializer.encodeArray(inclusionProof.toArray(new byte[0][])));
+
+    return CborSerializer.encodeArray(transaction.toArray(new byte[0][]));
+  }
+
+  private byte[] compactCertificate(byte[] bytes) throws IOException {
+    CborTag tag = CborDeserializer.readTag(bytes);
+    List<byte[]> certificate = CborDeserializer.readArray(tag.getData());
+    certificate.set(6, this.intern(certificate.get(6), seal -> seal));
+
+    return CborSerializer.encodeTag(
+        tag.getTag(),
+        CborSerializer.encodeArray(certificate.toArray(new byte[0][]))
+    );
+  }
+
+  /**
+   * Get reference to shared object, definition is written when object is seen first time.
+   */
+  private byte[] intern(byte[] bytes, Compactor compactor) throws IOException {
+    DataHash hash = new DataHasher(HashAlgorithm.SHA256).update(bytes).digest();
+    Integer index = this.definitions.get(hash);
+    if (index == null) {
+      // Nested shared objects are defined before object referencing them
+      byte[] payload = compactor.compact(bytes);
+      index = this.definitions.size();
+      this.writeRecord(TokenBundle.DEFINITION_RECORD, payload);
+      this.definitions.put(hash, index);
+    }
+
+    return CborSerializer.encodeTag(
+        TokenBundle.REFERENCE_TAG,
+        CborSerializer.encodeUnsignedInteger(index)
+    );
+  }
+
+  private void writeRecord(long type, byte[] payload) throws IOException {
+    this.output.write(
+        CborSerializer.encodeArray(
+            CborSerializer.encodeUnsignedInteger(type),
+            payload
+        )
+    );
+  }
+
+  private interface Compactor {
+
+    byte[] compact(byte[] bytes) throws IOException;
+  }
+}
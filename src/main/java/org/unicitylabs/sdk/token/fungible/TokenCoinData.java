@@ -4,6 +4,7 @@ package org.unicitylabs.sdk.token.fungible;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,12 +24,17 @@ public class TokenCoinData {
   private final Map<CoinId, BigInteger> coins;
 
   /**
-   * Create token coin data from coins map.
+   * Create token coin data from coins map. Coins keep iteration order of given map, so encoding
+   * of decoded coin data is same as the encoding it was decoded from.
    *
    * @param coins map of token coins
    */
   public TokenCoinData(Map<CoinId, BigInteger> coins) {
-    this.coins = Map.copyOf(coins);
+    Map<CoinId, BigInteger> copy = new LinkedHashMap<>();
+    coins.forEach((coinId, amount) -> copy.put(
+        Objects.requireNonNull(coinId, "Coin id cannot be null."),
+        Objects.requireNonNull(amount, "Coin amount cannot be null.")));
+    this.coins = Collections.unmodifiableMap(copy);
   }
 
   /**
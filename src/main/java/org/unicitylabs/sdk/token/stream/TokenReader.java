@@ -0,0 +1,250 @@
+package org.unicitylabs.sdk.token.stream;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.unicitylabs.sdk.serializer.cbor.CborStreamReader;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+/**
+ * Reader of tokens from CBOR sequence written by {@link TokenWriter}. Tokens are decoded one at a
+ * time, so memory use is bounded by largest token instead of whole input.
+ */
+public class TokenReader implements Closeable {
+
+  private final CborStreamReader input;
+  private long tokenCount = 0;
+
+  /**
+   * Create token reader from input stream.
+   *
+   * @param input input stream
+   */
+  public TokenReader(InputStream input) {
+    this(Objects.requireNonNull(input, "Input cannot be null."), true);
+  }
+
+  /**
+   * Create token reader from byte channel.
+   *
+   * @param channel byte channel
+   */
+  public TokenReader(ReadableByteChannel channel) {
+    this(Channels.newInputStream(Objects.requireNonNull(channel, "Channel cannot be null.")));
+  }
+
+  private TokenReader(InputStream input, boolean buffered) {
+    this.input = new CborStreamReader(buffered ? new BufferedInputStream(input) : input);
+  }
+
+  /**
+   * Create token reader from memory mapped file.
+   *
+   * @param path file path
+   * @return token reader
+   * @throws IOException if file cannot be opened
+   */
+  public static TokenReader open(Path path) throws IOException {
+    Objects.requireNonNull(path, "Path cannot be null.");
+
+    return new TokenReader(
+        new MappedFileInputStream(FileChannel.open(path, StandardOpenOption.READ)),
+        false
+    );
+  }
+
+  /**
+   * Read next token.
+   *
+   * @return token, null if there are no more tokens
+   * @throws IOException if reading fails
+   */
+  public Token<?> read() throws IOException {
+    byte[] bytes = this.input.readItem();
+    if (bytes == null) {
+      return null;
+    }
+
+    Token<?> token = Token.fromCbor(bytes);
+    this.tokenCount++;
+    return token;
+  }
+
+  /**
+   * Read all remaining tokens.
+   *
+   * @param consumer consumer called with every token
+   * @return amount of tokens read
+   * @throws IOException if reading fails
+   */
+  public long readAll(Consumer<Token<?>> consumer) throws IOException {
+    Objects.requireNonNull(consumer, "Consumer cannot be null.");
+
+    long count = 0;
+    Token<?> token;
+    while ((token = this.read()) != null) {
+      consumer.accept(token);
+      count++;
+    }
+
+    return count;
+  }
+
+  /**
+   * Read all remaining tokens and verify them on executor while reading continues. Consumer is
+   * called on calling thread in input order. At most given amount of tokens wait for verification
+   * at once, which bounds memory use.
+   *
+   * @param verifier   verification function, such as {@code token -> token.verify(trustBase)}
+   * @param executor   executor for verification
+   * @param maxPending maximum amount of tokens waiting for verification
+   * @param consumer   consumer called with every token and its verification result
+   * @return amount of tokens read
+   * @throws IOException if reading fails
+   */
+  public long readAll(
+      Function<Token<?>, VerificationResult> verifier,
+      Executor executor,
+      int maxPending,
+      BiConsumer<Token<?>, VerificationResult> consumer
+  ) throws IOException {
+    Objects.requireNonNull(verifier, "Verifier cannot be null.");
+    Objects.requireNonNull(executor, "Executor cannot be null.");
+    Objects.requireNonNull(consumer, "Consumer cannot be null.");
+    if (maxPending < 1) {
+      throw new IllegalArgumentException("Max pending must be positive.");
+    }
+
+    Deque<Token<?>> tokens = new ArrayDeque<>();
+    Deque<CompletableFuture<VerificationResult>> results = new ArrayDeque<>();
+    long count = 0;
+    try {
+      Token<?> token;
+      while ((token = this.read()) != null) {
+        Token<?> current = token;
+        tokens.add(current);
+        results.add(CompletableFuture.supplyAsync(() -> verifier.apply(current), executor));
+        if (results.size() >= maxPending) {
+          consumer.accept(tokens.poll(), TokenReader.join(results.poll()));
+        }
+        count++;
+      }
+
+      while (!results.isEmpty()) {
+        consumer.accept(tokens.poll(), TokenReader.join(results.poll()));
+      }
+    } finally {
+      results.forEach(future -> future.cancel(false));
+    }
+
+    return count;
+  }
+
+  /**
+   * Get amount of tokens read.
+   *
+   * @return token count
+   */
+  public long getTokenCount() {
+    return this.tokenCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.input.close();
+  }
+
+  private static VerificationResult join(CompletableFuture<VerificationResult> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Input stream over file which is mapped to memory in regions, so files larger than single
+   * mapping can be read.
+   */
+  private static class MappedFileInputStream extends InputStream {
+
+    private static final long REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private long position = 0;
+    private MappedByteBuffer buffer;
+
+    private MappedFileInputStream(FileChannel channel) throws IOException {
+      this.channel = channel;
+      this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!this.ensureRemaining()) {
+        return -1;
+      }
+
+      return this.buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      Objects.checkFromIndexSize(offset, length, bytes.length);
+      if (length == 0) {
+        return 0;
+      }
+      if (!this.ensureRemaining()) {
+        return -1;
+      }
+
+      int read = Math.min(length, this.buffer.remaining());
+      this.buffer.get(bytes, offset, read);
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.buffer = null;
+      this.channel.close();
+    }
+
+    private boolean ensureRemaining() throws IOException {
+      if (this.buffer != null && this.buffer.hasRemaining()) {
+        return true;
+      }
+      if (this.position >= this.size) {
+        return false;
+      }
+
+      long length = Math.min(MappedFileInputStream.REGION_SIZE, this.size - this.position);
+      this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+      this.position += length;
+      return true;
+    }
+  }
+}
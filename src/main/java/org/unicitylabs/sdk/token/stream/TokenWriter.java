@@ -0,0 +1,72 @@
+package org.unicitylabs.sdk.token.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import org.unicitylabs.sdk.token.Token;
+
+/**
+ * Writer of tokens as CBOR sequence, tokens are written one at a time without collecting them
+ * into single array. Written tokens can be read with {@link TokenReader}.
+ */
+public class TokenWriter implements Closeable, Flushable {
+
+  private final OutputStream output;
+  private long tokenCount = 0;
+
+  /**
+   * Create token writer to output stream.
+   *
+   * @param output output stream
+   */
+  public TokenWriter(OutputStream output) {
+    this.output = new BufferedOutputStream(
+        Objects.requireNonNull(output, "Output cannot be null."));
+  }
+
+  /**
+   * Create token writer to byte channel.
+   *
+   * @param channel byte channel
+   */
+  public TokenWriter(WritableByteChannel channel) {
+    this(Channels.newOutputStream(Objects.requireNonNull(channel, "Channel cannot be null.")));
+  }
+
+  /**
+   * Write token.
+   *
+   * @param token token
+   * @throws IOException if writing fails
+   */
+  public void write(Token<?> token) throws IOException {
+    Objects.requireNonNull(token, "Token cannot be null.");
+
+    this.output.write(token.toCbor());
+    this.tokenCount++;
+  }
+
+  /**
+   * Get amount of tokens written.
+   *
+   * @return token count
+   */
+  public long getTokenCount() {
+    return this.tokenCount;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.output.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.output.close();
+  }
+}
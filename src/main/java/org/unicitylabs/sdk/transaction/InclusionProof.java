@@ -1,8 +1,8 @@
 package org.unicitylabs.sdk.transaction;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -12,6 +12,7 @@ import org.unicitylabs.sdk.api.LeafValue;
 import org.unicitylabs.sdk.api.RequestId;
 import org.unicitylabs.sdk.bft.RootTrustBase;
 import org.unicitylabs.sdk.bft.UnicityCertificate;
+import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationCache;
 import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationContext;
 import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationRule;
 import org.unicitylabs.sdk.hash.DataHash;
@@ -27,19 +28,23 @@ import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 /**
  * Represents a proof of inclusion or non-inclusion in a sparse merkle tree.
  */
+@JsonSerialize(using = InclusionProofJson.Serializer.class)
+@JsonDeserialize(using = InclusionProofJson.Deserializer.class)
 public class InclusionProof {
 
+  private static final UnicityCertificateVerificationRule CERTIFICATE_RULE =
+      new UnicityCertificateVerificationRule();
+
   private final SparseMerkleTreePath merkleTreePath;
   private final Authenticator authenticator;
   private final DataHash transactionHash;
   private final UnicityCertificate unicityCertificate;
 
-  @JsonCreator
   InclusionProof(
-      @JsonProperty("merkleTreePath") SparseMerkleTreePath merkleTreePath,
-      @JsonProperty("authenticator") Authenticator authenticator,
-      @JsonProperty("transactionHash") DataHash transactionHash,
-      @JsonProperty("unicityCertificate") UnicityCertificate unicityCertificate
+      SparseMerkleTreePath merkleTreePath,
+      Authenticator authenticator,
+      DataHash transactionHash,
+      UnicityCertificate unicityCertificate
   ) {
     Objects.requireNonNull(merkleTreePath, "Merkle tree path cannot be null.");
     Objects.requireNonNull(unicityCertificate, "Unicity certificate cannot be null.");
@@ -98,14 +103,42 @@ public class InclusionProof {
    * @return inclusion proof verification status
    */
   public InclusionProofVerificationStatus verify(RequestId requestId, RootTrustBase trustBase) {
+    return this.verify(
+        requestId,
+        InclusionProof.CERTIFICATE_RULE.verifyFailFast(
+            new UnicityCertificateVerificationContext(
+                this.merkleTreePath.getRootHash(),
+                this.unicityCertificate,
+                trustBase
+            )
+        ).isSuccessful()
+    );
+  }
+
+  /**
+   * Verify inclusion proof using memoized unicity certificate verification, certificate shared
+   * by multiple proofs is verified only once.
+   *
+   * @param requestId    request id
+   * @param certificates unicity certificate verification cache
+   * @return inclusion proof verification status
+   */
+  public InclusionProofVerificationStatus verify(
+      RequestId requestId,
+      UnicityCertificateVerificationCache certificates
+  ) {
+    return this.verify(
+        requestId,
+        certificates.verify(this.merkleTreePath.getRootHash(), this.unicityCertificate)
+    );
+  }
+
+  private InclusionProofVerificationStatus verify(
+      RequestId requestId,
+      boolean isCertificateValid
+  ) {
     // Check if path is valid and signed by a trusted authority
-    if (!new UnicityCertificateVerificationRule().verify(
-        new UnicityCertificateVerificationContext(
-            this.merkleTreePath.getRootHash(),
-            this.unicityCertificate,
-            trustBase
-        )
-    ).isSuccessful()) {
+    if (!isCertificateValid) {
       return InclusionProofVerificationStatus.NOT_AUTHENTICATED;
     }
 
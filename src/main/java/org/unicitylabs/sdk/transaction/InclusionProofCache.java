@@ -0,0 +1,359 @@
+package org.unicitylabs.sdk.transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.unicitylabs.sdk.api.RequestId;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationCache;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+
+/**
+ * Cache of verified inclusion proofs by request id. Inclusion proofs are final and are kept until
+ * evicted by LRU policy, non inclusion proofs are valid only for block height they were fetched
+ * at. Entries are only returned for trust base with same content as one used for verification.
+ */
+public class InclusionProofCache {
+
+  /**
+   * Default maximum amount of cached proofs.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  private final Map<RequestId, CacheEntry> entries;
+  private long blockHeight = -1;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  /**
+   * Create inclusion proof cache with default size.
+   */
+  public InclusionProofCache() {
+    this(InclusionProofCache.DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Create inclusion proof cache.
+   *
+   * @param maxEntries maximum amount of cached proofs
+   */
+  public InclusionProofCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Max entries must be positive.");
+    }
+
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<RequestId, CacheEntry> eldest) {
+        return this.size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Get cached inclusion or non inclusion proof for request id.
+   *
+   * @param requestId request id
+   * @param trustBase trust base proof has to be verified against
+   * @return verified inclusion proof, empty if not cached
+   */
+  public synchronized Optional<InclusionProof> get(RequestId requestId, RootTrustBase trustBase) {
+    return this.lookup(requestId, trustBase).map(entry -> entry.inclusionProof);
+  }
+
+  /**
+   * Get verification status of cached proof for request id.
+   *
+   * @param requestId request id
+   * @param trustBase trust base proof has to be verified against
+   * @return {@link InclusionProofVerificationStatus#OK} or
+   *     {@link InclusionProofVerificationStatus#PATH_NOT_INCLUDED}, empty if not cached
+   */
+  public synchronized Optional<InclusionProofVerificationStatus> getStatus(
+      RequestId requestId,
+      RootTrustBase trustBase
+  ) {
+    return this.lookup(requestId, trustBase).map(entry -> entry.status);
+  }
+
+  /**
+   * Verify inclusion proof and cache it if it is valid inclusion or non inclusion proof. Proof is
+   * assumed to be fetched at current block height of cache.
+   *
+   * @param requestId      request id
+   * @param inclusionProof inclusion proof
+   * @param trustBase      trust base for verification
+   * @return verification status
+   */
+  public InclusionProofVerificationStatus put(
+      RequestId requestId,
+      InclusionProof inclusionProof,
+      RootTrustBase trustBase
+  ) {
+    return this.put(requestId, inclusionProof, trustBase, this.getBlockHeight());
+  }
+
+  /**
+   * Verify inclusion proof and cache it if it is valid inclusion or non inclusion proof. Non
+   * inclusion proof fetched before current block height is not cached.
+   *
+   * @param requestId      request id
+   * @param inclusionProof inclusion proof
+   * @param trustBase      trust base for verification
+   * @param blockHeight    block height known before proof was fetched
+   * @return verification status
+   */
+  public InclusionProofVerificationStatus put(
+      RequestId requestId,
+      InclusionProof inclusionProof,
+      RootTrustBase trustBase,
+      long blockHeight
+  ) {
+    Objects.requireNonNull(requestId, "Request id cannot be null.");
+    Objects.requireNonNull(inclusionProof, "Inclusion proof cannot be null.");
+    Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+
+    return this.store(requestId, inclusionProof, inclusionProof.verify(requestId, trustBase),
+        trustBase, blockHeight);
+  }
+
+  /**
+   * Verify inclusion proof using memoized unicity certificate verification and cache it if it is
+   * valid inclusion or non inclusion proof. Proof is assumed to be fetched at current block height
+   * of cache.
+   *
+   * @param requestId      request id
+   * @param inclusionProof inclusion proof
+   * @param certificates   unicity certificate verification cache
+   * @return verification status
+   */
+  public InclusionProofVerificationStatus put(
+      RequestId requestId,
+      InclusionProof inclusionProof,
+      UnicityCertificateVerificationCache certificates
+  ) {
+    return this.put(requestId, inclusionProof, certificates, this.getBlockHeight());
+  }
+
+  /**
+   * Verify inclusion proof using memoized unicity certificate verification and cache it if it is
+   * valid inclusion or non inclusion proof. Non inclusion proof fetched before current block
+   * height is not cached.
+   *
+   * @param requestId      request id
+   * @param inclusionProof inclusion proof
+   * @param certificates   unicity certificate verification cache
+   * @param blockHeight    block height known before proof was fetched
+   * @return verification status
+   */
+  public InclusionProofVerificationStatus put(
+      RequestId requestId,
+      InclusionProof inclusionProof,
+      UnicityCertificateVerificationCache certificates,
+      long blockHeight
+  ) {
+    Objects.requireNonNull(requestId, "Request id cannot be null.");
+    Objects.requireNonNull(inclusionProof, "Inclusion proof cannot be null.");
+    Objects.requireNonNull(certificates, "Certificates cannot be null.");
+
+    return this.store(requestId, inclusionProof, inclusionProof.verify(requestId, certificates),
+        certificates.getTrustBase(), blockHeight);
+  }
+
+  /**
+   * Get latest known block height.
+   *
+   * @return block height, -1 if not known
+   */
+  public synchronized long getBlockHeight() {
+    return this.blockHeight;
+  }
+
+  /**
+   * Update latest known block height, non inclusion proofs from earlier blocks are dropped.
+   *
+   * @param blockHeight current block height
+   * @return true if block height advanced
+   */
+  public synchronized boolean updateBlockHeight(long blockHeight) {
+    if (blockHeight <= this.blockHeight) {
+      return false;
+    }
+
+    this.blockHeight = blockHeight;
+    this.entries.values().removeIf(
+        entry -> entry.status != InclusionProofVerificationStatus.OK);
+    return true;
+  }
+
+  /**
+   * Remove all cached proofs.
+   */
+  public synchronized void clear() {
+    this.entries.clear();
+  }
+
+  /**
+   * Get amount of cached proofs.
+   *
+   * @return cached proof count
+   */
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Get amount of lookups which were answered from cache.
+   *
+   * @return hit count
+   */
+  public synchronized long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Get amount of lookups which were not answered from cache.
+   *
+   * @return miss count
+   */
+  public synchronized long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Get ratio of lookups answered from cache.
+   *
+   * @return hit ratio between 0 and 1, 0 if there have been no lookups
+   */
+  public synchronized double getHitRatio() {
+    long total = this.hitCount + this.missCount;
+    return total == 0 ? 0 : (double) this.hitCount / total;
+  }
+
+  /**
+   * Write cached inclusion proofs as CBOR. Non inclusion proofs are not persisted as they are
+   * only valid for current block.
+   *
+   * @param output output stream
+   * @throws IOException if writing fails
+   */
+  public void save(OutputStream output) throws IOException {
+    Objects.requireNonNull(output, "Output cannot be null.");
+
+    List<byte[]> items = new ArrayList<>();
+    synchronized (this) {
+      for (Map.Entry<RequestId, CacheEntry> entry : this.entries.entrySet()) {
+        if (entry.getValue().status == InclusionProofVerificationStatus.OK) {
+          items.add(
+              CborSerializer.encodeArray(
+                  entry.getKey().toCbor(),
+                  entry.getValue().inclusionProof.toCbor()
+              )
+          );
+        }
+      }
+    }
+
+    output.write(CborSerializer.encodeArray(items.toArray(new byte[0][])));
+  }
+
+  /**
+   * Read inclusion proofs written by {@link #save(OutputStream)}. Every proof is verified again
+   * against given trust base and only valid inclusion proofs are added to cache.
+   *
+   * @param input     input stream
+   * @param trustBase trust base for verification
+   * @return amount of proofs added to cache
+   * @throws IOException if reading fails
+   */
+  public int load(InputStream input, RootTrustBase trustBase) throws IOException {
+    Objects.requireNonNull(input, "Input cannot be null.");
+    Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = input.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+
+    int count = 0;
+    for (byte[] item : CborDeserializer.readArray(buffer.toByteArray())) {
+      List<byte[]> data = CborDeserializer.readArray(item);
+      InclusionProofVerificationStatus status = this.put(
+          RequestId.fromCbor(data.get(0)),
+          InclusionProof.fromCbor(data.get(1)),
+          trustBase
+      );
+      if (status == InclusionProofVerificationStatus.OK) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private InclusionProofVerificationStatus store(
+      RequestId requestId,
+      InclusionProof inclusionProof,
+      InclusionProofVerificationStatus status,
+      RootTrustBase trustBase,
+      long blockHeight
+  ) {
+    if (status == InclusionProofVerificationStatus.OK
+        || status == InclusionProofVerificationStatus.PATH_NOT_INCLUDED) {
+      CacheEntry entry = new CacheEntry(inclusionProof, status, trustBase.calculateHash(),
+          blockHeight);
+      synchronized (this) {
+        // Non inclusion fetched before block height advanced may already be stale
+        if (status == InclusionProofVerificationStatus.OK || blockHeight >= this.blockHeight) {
+          this.entries.put(requestId, entry);
+        }
+      }
+    }
+
+    return status;
+  }
+
+  private Optional<CacheEntry> lookup(RequestId requestId, RootTrustBase trustBase) {
+    CacheEntry entry = this.entries.get(requestId);
+    if (entry == null || !entry.trustBaseHash.equals(trustBase.calculateHash())
+        || (entry.status != InclusionProofVerificationStatus.OK
+        && entry.blockHeight != this.blockHeight)) {
+      this.missCount++;
+      return Optional.empty();
+    }
+
+    this.hitCount++;
+    return Optional.of(entry);
+  }
+
+  private static class CacheEntry {
+
+    private final InclusionProof inclusionProof;
+    private final InclusionProofVerificationStatus status;
+    private final DataHash trustBaseHash;
+    private final long blockHeight;
+
+    CacheEntry(
+        InclusionProof inclusionProof,
+        InclusionProofVerificationStatus status,
+        DataHash trustBaseHash,
+        long blockHeight
+    ) {
+      this.inclusionProof = inclusionProof;
+      this.status = status;
+      this.trustBaseHash = trustBaseHash;
+      this.blockHeight = blockHeight;
+    }
+  }
+}
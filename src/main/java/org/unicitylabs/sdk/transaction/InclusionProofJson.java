@@ -0,0 +1,123 @@
+package org.unicitylabs.sdk.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import org.unicitylabs.sdk.api.Authenticator;
+import org.unicitylabs.sdk.bft.UnicityCertificate;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.mtree.plain.SparseMerkleTreePath;
+
+/**
+ * Inclusion proof serializer and deserializer implementation.
+ */
+public class InclusionProofJson {
+
+  private InclusionProofJson() {
+  }
+
+  /**
+   * Inclusion proof serializer.
+   */
+  public static class Serializer extends StdSerializer<InclusionProof> {
+
+    /**
+     * Create serializer.
+     */
+    public Serializer() {
+      super(InclusionProof.class);
+    }
+
+    /**
+     * Serialize inclusion proof.
+     *
+     * @param value       inclusion proof
+     * @param gen         json generator
+     * @param serializers serializer provider
+     * @throws IOException on serialization failure
+     */
+    @Override
+    public void serialize(InclusionProof value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeStartObject();
+      serializers.defaultSerializeField("merkleTreePath", value.getMerkleTreePath(), gen);
+      serializers.defaultSerializeField("authenticator",
+          value.getAuthenticator().orElse(null), gen);
+      serializers.defaultSerializeField("transactionHash",
+          value.getTransactionHash().orElse(null), gen);
+      serializers.defaultSerializeField("unicityCertificate", value.getUnicityCertificate(), gen);
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Inclusion proof deserializer.
+   */
+  public static class Deserializer extends StdDeserializer<InclusionProof> {
+
+    /**
+     * Create deserializer.
+     */
+    public Deserializer() {
+      super(InclusionProof.class);
+    }
+
+    /**
+     * Deserialize inclusion proof.
+     *
+     * @param p   Parser used for reading JSON content
+     * @param ctx Context that can be used to access information about this deserialization
+     *            activity.
+     * @return inclusion proof
+     * @throws IOException on deserialization failure
+     */
+    @Override
+    public InclusionProof deserialize(JsonParser p, DeserializationContext ctx)
+        throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        throw MismatchedInputException.from(p, InclusionProof.class, "Expected object");
+      }
+
+      SparseMerkleTreePath merkleTreePath = null;
+      Authenticator authenticator = null;
+      DataHash transactionHash = null;
+      UnicityCertificate unicityCertificate = null;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        if (p.nextToken() == JsonToken.VALUE_NULL) {
+          continue;
+        }
+
+        switch (field) {
+          case "merkleTreePath":
+            merkleTreePath = ctx.readValue(p, SparseMerkleTreePath.class);
+            break;
+          case "authenticator":
+            authenticator = ctx.readValue(p, Authenticator.class);
+            break;
+          case "transactionHash":
+            transactionHash = ctx.readValue(p, DataHash.class);
+            break;
+          case "unicityCertificate":
+            unicityCertificate = ctx.readValue(p, UnicityCertificate.class);
+            break;
+          default:
+            ctx.handleUnknownProperty(p, this, InclusionProof.class, field);
+        }
+      }
+
+      try {
+        return new InclusionProof(merkleTreePath, authenticator, transactionHash,
+            unicityCertificate);
+      } catch (RuntimeException e) {
+        throw ctx.instantiationException(InclusionProof.class, e);
+      }
+    }
+  }
+}
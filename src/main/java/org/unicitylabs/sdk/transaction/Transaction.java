@@ -4,6 +4,7 @@ package org.unicitylabs.sdk.transaction;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.Arrays;
 import java.util.Objects;
 import org.unicitylabs.sdk.hash.DataHasher;
 import org.unicitylabs.sdk.hash.HashAlgorithm;
@@ -13,7 +14,7 @@ import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 
 
 /**
- * Token transaction.
+ * Token transaction. Transaction is immutable, its CBOR encoding is created once and reused.
  *
  * @param <T> transaction data
  */
@@ -21,6 +22,7 @@ public abstract class Transaction<T extends TransactionData<?>> {
 
   private final T data;
   private final InclusionProof inclusionProof;
+  private volatile byte[] encoded;
 
   @JsonCreator
   Transaction(
@@ -91,10 +93,16 @@ public abstract class Transaction<T extends TransactionData<?>> {
    * @return CBOR bytes
    */
   public byte[] toCbor() {
-    return CborSerializer.encodeArray(
-        this.data.toCbor(),
-        this.inclusionProof.toCbor()
-    );
+    byte[] encoded = this.encoded;
+    if (encoded == null) {
+      encoded = CborSerializer.encodeArray(
+          this.data.toCbor(),
+          this.inclusionProof.toCbor()
+      );
+      this.encoded = encoded;
+    }
+
+    return Arrays.copyOf(encoded, encoded.length);
   }
 
   @Override
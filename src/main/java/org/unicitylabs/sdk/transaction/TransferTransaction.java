@@ -23,6 +23,7 @@ import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
 import org.unicitylabs.sdk.token.Token;
 import org.unicitylabs.sdk.token.TokenState;
+import org.unicitylabs.sdk.token.TokenVerifier;
 import org.unicitylabs.sdk.util.HexConverter;
 import org.unicitylabs.sdk.verification.VerificationResult;
 
@@ -89,6 +90,18 @@ public class TransferTransaction extends Transaction<TransferTransaction.Data> {
     ));
   }
 
+  /**
+   * Verify transaction against token at its source state and stop at first failure, verification
+   * result tree is not built.
+   *
+   * @param trustBase trust base to verify against
+   * @param token     token at source state of transaction
+   * @return successful result or reason of first failure
+   */
+  public VerificationResult verifyFailFast(RootTrustBase trustBase, Token<?> token) {
+    return new TokenVerifier(trustBase).verifyTransactionFailFast(token, this);
+  }
+
   /**
    * Transaction data for token state transitions.
    */
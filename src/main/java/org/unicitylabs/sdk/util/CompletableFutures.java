@@ -0,0 +1,132 @@
+package org.unicitylabs.sdk.util;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Composition of completable futures which propagates cancellation. Futures derived with
+ * {@link CompletableFuture#thenApply} or {@link CompletableFuture#thenCompose} do not cancel work
+ * they depend on, so cancelling or timing out such future (for example with
+ * {@link CompletableFuture#orTimeout}) would leave requests running.
+ */
+public final class CompletableFutures {
+
+  private CompletableFutures() {
+  }
+
+  /**
+   * Cancel source futures when dependent future completes before them.
+   *
+   * @param <T>       dependent result type
+   * @param dependent future depending on sources
+   * @param sources   futures to cancel if they are still running when dependent completes
+   * @return dependent future
+   */
+  public static <T> CompletableFuture<T> propagateCancellation(
+      CompletableFuture<T> dependent,
+      CompletableFuture<?>... sources
+  ) {
+    Objects.requireNonNull(dependent, "Dependent cannot be null.");
+
+    dependent.whenComplete((result, error) -> {
+      for (CompletableFuture<?> source : sources) {
+        source.cancel(true);
+      }
+    });
+    return dependent;
+  }
+
+  /**
+   * Apply function to result of source future. Completing returned future early cancels source.
+   *
+   * @param <T>      source result type
+   * @param <R>      result type
+   * @param source   source future
+   * @param function function applied to source result
+   * @return future with function result
+   */
+  public static <T, R> CompletableFuture<R> thenApply(
+      CompletableFuture<T> source,
+      Function<? super T, ? extends R> function
+  ) {
+    return CompletableFutures.propagateCancellation(source.thenApply(function), source);
+  }
+
+  /**
+   * Compose source future with future returned by function. Completing returned future early
+   * cancels source and composed future.
+   *
+   * @param <T>      source result type
+   * @param <R>      result type
+   * @param source   source future
+   * @param function function returning next future from source result
+   * @return future with result of next future
+   */
+  public static <T, R> CompletableFuture<R> thenCompose(
+      CompletableFuture<T> source,
+      Function<? super T, ? extends CompletableFuture<R>> function
+  ) {
+    return CompletableFutures.handleCompose(source, (result, error) -> {
+      if (error != null) {
+        return CompletableFuture.failedFuture(error);
+      }
+
+      return function.apply(result);
+    });
+  }
+
+  /**
+   * Compose source future with future returned by handler, handler is called with result or
+   * error of source. Completing returned future early cancels source and composed future.
+   *
+   * @param <T>     source result type
+   * @param <R>     result type
+   * @param source  source future
+   * @param handler function returning next future from source result or error, error is not
+   *                wrapped in {@link CompletionException}
+   * @return future with result of next future
+   */
+  public static <T, R> CompletableFuture<R> handleCompose(
+      CompletableFuture<T> source,
+      BiFunction<? super T, Throwable, ? extends CompletableFuture<R>> handler
+  ) {
+    Objects.requireNonNull(source, "Source cannot be null.");
+    Objects.requireNonNull(handler, "Handler cannot be null.");
+
+    CompletableFuture<R> result = new CompletableFuture<>();
+    CompletableFutures.propagateCancellation(result, source);
+
+    source.whenComplete((value, error) -> {
+      if (result.isDone()) {
+        return;
+      }
+
+      CompletableFuture<R> next;
+      try {
+        next = handler.apply(
+            value,
+            error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error
+        );
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+        return;
+      }
+
+      CompletableFutures.propagateCancellation(result, next);
+      next.whenComplete((nextValue, nextError) -> {
+        if (nextError != null) {
+          result.completeExceptionally(nextError);
+        } else {
+          result.complete(nextValue);
+        }
+      });
+    });
+
+    return result;
+  }
+}
@@ -1,11 +1,31 @@
 package org.unicitylabs.sdk.util;
 
+import java.util.Arrays;
+
 /**
  * Utility class for converting between byte arrays and hexadecimal strings.
  */
 public class HexConverter {
 
   private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
+  private static final char[] ENCODE_TABLE = new char[512];
+  private static final byte[] DECODE_TABLE = new byte[128];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      HexConverter.ENCODE_TABLE[i * 2] = HEX_ARRAY[i >>> 4];
+      HexConverter.ENCODE_TABLE[i * 2 + 1] = HEX_ARRAY[i & 0x0F];
+    }
+
+    Arrays.fill(HexConverter.DECODE_TABLE, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      HexConverter.DECODE_TABLE['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HexConverter.DECODE_TABLE['a' + i] = (byte) (10 + i);
+      HexConverter.DECODE_TABLE['A' + i] = (byte) (10 + i);
+    }
+  }
 
   private HexConverter() {}
 
@@ -16,15 +36,67 @@ public class HexConverter {
    * @return hex string
    */
   public static String encode(byte[] data) {
-    char[] hexChars = new char[data.length * 2];
-    for (int j = 0; j < data.length; j++) {
-      int v = data[j] & 0xFF;
-      hexChars[j * 2] = HEX_ARRAY[v >>> 4];
-      hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
-    }
+    return HexConverter.encode(data, 0, data.length);
+  }
+
+  /**
+   * Convert byte array range to hex.
+   *
+   * @param data   byte array
+   * @param offset start of range
+   * @param length length of range
+   * @return hex string
+   */
+  public static String encode(byte[] data, int offset, int length) {
+    char[] hexChars = new char[length * 2];
+    HexConverter.encode(data, offset, length, hexChars, 0);
     return new String(hexChars);
   }
 
+  /**
+   * Write hex of byte array range into given character buffer.
+   *
+   * @param data      byte array
+   * @param offset    start of range
+   * @param length    length of range
+   * @param out       output buffer, must have room for {@code length * 2} characters
+   * @param outOffset start position in output buffer
+   * @return amount of characters written
+   */
+  public static int encode(byte[] data, int offset, int length, char[] out, int outOffset) {
+    HexConverter.checkRange(data.length, offset, length);
+    HexConverter.checkRange(out.length, outOffset, length * 2);
+
+    for (int i = 0; i < length; i++) {
+      int index = (data[offset + i] & 0xFF) << 1;
+      out[outOffset++] = HexConverter.ENCODE_TABLE[index];
+      out[outOffset++] = HexConverter.ENCODE_TABLE[index + 1];
+    }
+    return length * 2;
+  }
+
+  /**
+   * Write hex of byte array range into given buffer as ASCII bytes.
+   *
+   * @param data      byte array
+   * @param offset    start of range
+   * @param length    length of range
+   * @param out       output buffer, must have room for {@code length * 2} bytes
+   * @param outOffset start position in output buffer
+   * @return amount of bytes written
+   */
+  public static int encode(byte[] data, int offset, int length, byte[] out, int outOffset) {
+    HexConverter.checkRange(data.length, offset, length);
+    HexConverter.checkRange(out.length, outOffset, length * 2);
+
+    for (int i = 0; i < length; i++) {
+      int index = (data[offset + i] & 0xFF) << 1;
+      out[outOffset++] = (byte) HexConverter.ENCODE_TABLE[index];
+      out[outOffset++] = (byte) HexConverter.ENCODE_TABLE[index + 1];
+    }
+    return length * 2;
+  }
+
   /**
    * Convert hex string to bytes.
    *
@@ -32,26 +104,103 @@ public class HexConverter {
    * @return byte array
    */
   public static byte[] decode(String value) {
+    return HexConverter.decode((CharSequence) value);
+  }
+
+  /**
+   * Convert hex character sequence to bytes.
+   *
+   * @param value hex character sequence
+   * @return byte array
+   */
+  public static byte[] decode(CharSequence value) {
     if (value == null) {
       throw new IllegalArgumentException("Input is null");
     }
-    if (value.length() % 2 != 0) {
+
+    int length = value.length();
+    if (length % 2 != 0) {
       throw new IllegalArgumentException("Hex string must have even length");
     }
 
-    value = value.startsWith("0x") || value.startsWith("0X") ? value.substring(2) : value;
-
-    int len = value.length();
-    byte[] data = new byte[len / 2];
+    int offset = length >= 2 && HexConverter.hasPrefix(value.charAt(0), value.charAt(1)) ? 2 : 0;
+    byte[] data = new byte[(length - offset) / 2];
+    for (int i = offset; i < length; i += 2) {
+      data[(i - offset) / 2] = HexConverter.decodeByte(value.charAt(i), value.charAt(i + 1),
+          i - offset);
+    }
+    return data;
+  }
 
-    for (int i = 0; i < len; i += 2) {
-      int hi = Character.digit(value.charAt(i), 16);
-      int lo = Character.digit(value.charAt(i + 1), 16);
-      if (hi == -1 || lo == -1) {
-        throw new IllegalArgumentException("Invalid hex character at position " + i);
-      }
-      data[i / 2] = (byte) ((hi << 4) + lo);
+  /**
+   * Convert hex characters in given range to bytes.
+   *
+   * @param value  hex characters
+   * @param offset start of hex characters
+   * @param length amount of hex characters
+   * @return byte array
+   */
+  public static byte[] decode(char[] value, int offset, int length) {
+    if (value == null) {
+      throw new IllegalArgumentException("Input is null");
     }
+    HexConverter.checkRange(value.length, offset, length);
+
+    int prefix = length >= 2 && HexConverter.hasPrefix(value[offset], value[offset + 1]) ? 2 : 0;
+    byte[] data = new byte[(length - prefix) / 2];
+    HexConverter.decode(value, offset, length, data, 0);
     return data;
   }
-}
\ No newline at end of file
+
+  /**
+   * Write bytes of hex characters in given range into given buffer.
+   *
+   * @param value     hex characters
+   * @param offset    start of hex characters
+   * @param length    amount of hex characters
+   * @param out       output buffer, must have room for {@code length / 2} bytes
+   * @param outOffset start position in output buffer
+   * @return amount of bytes written
+   */
+  public static int decode(char[] value, int offset, int length, byte[] out, int outOffset) {
+    if (value == null) {
+      throw new IllegalArgumentException("Input is null");
+    }
+    HexConverter.checkRange(value.length, offset, length);
+    if (length % 2 != 0) {
+      throw new IllegalArgumentException("Hex string must have even length");
+    }
+
+    if (length >= 2 && HexConverter.hasPrefix(value[offset], value[offset + 1])) {
+      offset += 2;
+      length -= 2;
+    }
+    HexConverter.checkRange(out.length, outOffset, length / 2);
+
+    for (int i = 0; i < length; i += 2) {
+      out[outOffset + i / 2] = HexConverter.decodeByte(value[offset + i], value[offset + i + 1],
+          i);
+    }
+    return length / 2;
+  }
+
+  private static byte decodeByte(char hi, char lo, int position) {
+    // Characters outside of ASCII have no table entry
+    int high = hi < 128 ? HexConverter.DECODE_TABLE[hi] : -1;
+    int low = lo < 128 ? HexConverter.DECODE_TABLE[lo] : -1;
+    if ((high | low) < 0) {
+      throw new IllegalArgumentException("Invalid hex character at position " + position);
+    }
+    return (byte) ((high << 4) | low);
+  }
+
+  private static boolean hasPrefix(int first, int second) {
+    return first == '0' && (second == 'x' || second == 'X');
+  }
+
+  private static void checkRange(int size, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw new IndexOutOfBoundsException("Invalid range.");
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package org.unicitylabs.sdk.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.unicitylabs.sdk.api.AggregatorClient;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.api.RequestId;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.transaction.Commitment;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+import org.unicitylabs.sdk.transaction.InclusionProofVerificationStatus;
+
+/**
+ * Shared inclusion proof poller. Instead of polling every pending request id separately, poller
+ * watches aggregator block height and fetches proofs of all pending request ids in single batch
+ * when new block appears. Request ids added since last fetch are fetched on next poll once.
+ */
+public class InclusionProofPoller implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(InclusionProofPoller.class);
+  private static final Duration DEFAULT_INTERVAL = Duration.ofMillis(1000);
+
+  private final AggregatorClient client;
+  private final RootTrustBase trustBase;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicBoolean polling = new AtomicBoolean(false);
+  private final Map<RequestId, List<CompletableFuture<InclusionProof>>> pending = new HashMap<>();
+  private final Set<RequestId> added = new LinkedHashSet<>();
+  private volatile CompletableFuture<Void> inFlight;
+  private long blockHeight = -1;
+
+  /**
+   * Create inclusion proof poller which checks block height every second.
+   *
+   * @param client    aggregator client
+   * @param trustBase root trust base
+   */
+  public InclusionProofPoller(AggregatorClient client, RootTrustBase trustBase) {
+    this(client, trustBase, InclusionProofPoller.DEFAULT_INTERVAL);
+  }
+
+  /**
+   * Create inclusion proof poller.
+   *
+   * @param client    aggregator client
+   * @param trustBase root trust base
+   * @param interval  interval between block height checks
+   */
+  public InclusionProofPoller(AggregatorClient client, RootTrustBase trustBase,
+      Duration interval) {
+    Objects.requireNonNull(client, "Client cannot be null.");
+    Objects.requireNonNull(trustBase, "Trust base cannot be null.");
+    Objects.requireNonNull(interval, "Interval cannot be null.");
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Interval must be positive.");
+    }
+
+    this.client = client;
+    this.trustBase = trustBase;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "inclusion-proof-poller");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(this::poll, 0, interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Wait for inclusion proof of commitment to be available and verified.
+   *
+   * @param commitment commitment to wait for
+   * @return completable future with inclusion proof
+   */
+  public CompletableFuture<InclusionProof> waitInclusionProof(Commitment<?> commitment) {
+    Objects.requireNonNull(commitment, "Commitment cannot be null.");
+
+    return this.waitInclusionProof(commitment.getRequestId());
+  }
+
+  /**
+   * Wait for inclusion proof of commitment to be available and verified with timeout.
+   *
+   * @param commitment commitment to wait for
+   * @param timeout    maximum duration to wait for the inclusion proof
+   * @return completable future with inclusion proof
+   */
+  public CompletableFuture<InclusionProof> waitInclusionProof(Commitment<?> commitment,
+      Duration timeout) {
+    Objects.requireNonNull(commitment, "Commitment cannot be null.");
+    Objects.requireNonNull(timeout, "Timeout cannot be null.");
+
+    CompletableFuture<InclusionProof> future = this.waitInclusionProof(commitment.getRequestId());
+    this.scheduler.schedule(
+        () -> future.completeExceptionally(
+            new TimeoutException("Timeout waiting for inclusion proof")),
+        timeout.toMillis(),
+        TimeUnit.MILLISECONDS
+    );
+
+    return future;
+  }
+
+  /**
+   * Wait for inclusion proof of request id to be available and verified. Cancelling returned future
+   * or completing it early stops polling for request id if nobody else waits for it.
+   *
+   * @param requestId request id to wait for
+   * @return completable future with inclusion proof
+   */
+  public synchronized CompletableFuture<InclusionProof> waitInclusionProof(RequestId requestId) {
+    Objects.requireNonNull(requestId, "Request id cannot be null.");
+
+    if (this.scheduler.isShutdown()) {
+      throw new IllegalStateException("Poller is closed.");
+    }
+
+    CompletableFuture<InclusionProof> future = new CompletableFuture<>();
+    this.pending.computeIfAbsent(requestId, id -> {
+      this.added.add(id);
+      return new ArrayList<>();
+    }).add(future);
+    future.whenComplete((result, error) -> {
+      if (error != null) {
+        this.remove(requestId, future);
+      }
+    });
+
+    return future;
+  }
+
+  /**
+   * Get amount of request ids waiting for inclusion proof.
+   *
+   * @return pending request id count
+   */
+  public synchronized int getPendingCount() {
+    return this.pending.size();
+  }
+
+  /**
+   * Stop polling, request in flight is aborted and futures of pending request ids are cancelled.
+   */
+  @Override
+  public void close() {
+    this.scheduler.shutdownNow();
+    CompletableFuture<Void> poll = this.inFlight;
+    if (poll != null) {
+      poll.cancel(true);
+    }
+
+    List<CompletableFuture<InclusionProof>> futures = new ArrayList<>();
+    synchronized (this) {
+      this.pending.values().forEach(futures::addAll);
+      this.pending.clear();
+      this.added.clear();
+    }
+    futures.forEach(future -> future.cancel(false));
+  }
+
+  private synchronized void remove(RequestId requestId, CompletableFuture<InclusionProof> future) {
+    List<CompletableFuture<InclusionProof>> futures = this.pending.get(requestId);
+    if (futures == null) {
+      return;
+    }
+
+    futures.remove(future);
+    if (futures.isEmpty()) {
+      this.pending.remove(requestId);
+      this.added.remove(requestId);
+    }
+  }
+
+  private void poll() {
+    synchronized (this) {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+    }
+
+    if (!this.polling.compareAndSet(false, true)) {
+      return;
+    }
+
+    CompletableFuture<Void> poll = CompletableFutures.thenCompose(
+        this.client.getBlockHeight(), this::fetch);
+    this.inFlight = poll;
+    poll.whenComplete((result, error) -> {
+      this.polling.set(false);
+      if (error != null && !poll.isCancelled()) {
+        InclusionProofPoller.logger.warn("Inclusion proof polling failed", error);
+      }
+    });
+  }
+
+  private CompletableFuture<Void> fetch(Long height) {
+    List<RequestId> requestIds;
+    synchronized (this) {
+      if (height > this.blockHeight) {
+        this.blockHeight = height;
+        requestIds = new ArrayList<>(this.pending.keySet());
+      } else {
+        requestIds = new ArrayList<>(this.added);
+      }
+      this.added.clear();
+    }
+
+    if (requestIds.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Composed so that cancelling poll aborts batch request in flight
+    return CompletableFutures.handleCompose(
+        this.client.getInclusionProofs(requestIds),
+        (responses, error) -> {
+          if (error != null) {
+            // Retry failed request ids on next poll even if block height stays same
+            synchronized (this) {
+              for (RequestId requestId : requestIds) {
+                if (this.pending.containsKey(requestId)) {
+                  this.added.add(requestId);
+                }
+              }
+            }
+            return CompletableFuture.failedFuture(error);
+          }
+
+          for (Map.Entry<RequestId, InclusionProofResponse> entry : responses.entrySet()) {
+            this.complete(entry.getKey(), entry.getValue());
+          }
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  private void complete(RequestId requestId, InclusionProofResponse response) {
+    InclusionProof inclusionProof = response.getInclusionProof();
+    InclusionProofVerificationStatus status = inclusionProof.verify(requestId, this.trustBase);
+    if (status == InclusionProofVerificationStatus.PATH_NOT_INCLUDED) {
+      return;
+    }
+
+    List<CompletableFuture<InclusionProof>> futures;
+    synchronized (this) {
+      futures = this.pending.remove(requestId);
+    }
+    if (futures == null) {
+      return;
+    }
+
+    for (CompletableFuture<InclusionProof> future : futures) {
+      if (status == InclusionProofVerificationStatus.OK) {
+        future.complete(inclusionProof);
+      } else {
+        future.completeExceptionally(
+            new RuntimeException(
+                String.format("Inclusion proof verification failed: %s", status)));
+      }
+    }
+  }
+}
@@ -4,9 +4,11 @@ import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
 import org.unicitylabs.sdk.bft.RootTrustBase;
 import org.unicitylabs.sdk.transaction.Commitment;
 import org.unicitylabs.sdk.transaction.InclusionProof;
@@ -63,8 +65,20 @@ public class InclusionProofUtils {
 
     long startTime = System.currentTimeMillis();
     long timeoutMillis = timeout.toMillis();
+    // Time out immediately instead of on next poll, so request in flight is aborted as well
+    CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() ->
+        future.completeExceptionally(new TimeoutException("Timeout waiting for inclusion proof")));
 
-    checkInclusionProof(client, trustBase, commitment, future, startTime, timeoutMillis,
+    // Request in flight is registered once, instead of adding dependent to future on every poll
+    AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+    future.whenComplete((result, error) -> {
+      CompletableFuture<?> request = current.get();
+      if (request != null) {
+        request.cancel(true);
+      }
+    });
+
+    checkInclusionProof(client, trustBase, commitment, future, current, startTime, timeoutMillis,
         interval.toMillis());
 
     return future;
@@ -75,15 +89,30 @@ public class InclusionProofUtils {
       RootTrustBase trustBase,
       Commitment<?> commitment,
       CompletableFuture<InclusionProof> future,
+      AtomicReference<CompletableFuture<?>> current,
       long startTime,
       long timeoutMillis,
       long intervalMillis) {
 
+    // Future is done when caller cancelled it or completed it with own deadline
+    if (future.isDone()) {
+      return;
+    }
+
     if (System.currentTimeMillis() - startTime > timeoutMillis) {
       future.completeExceptionally(new TimeoutException("Timeout waiting for inclusion proof"));
+      return;
+    }
+
+    CompletableFuture<InclusionProofResponse> request = client.getInclusionProof(
+        commitment.getRequestId());
+    current.set(request);
+    if (future.isDone()) {
+      request.cancel(true);
+      return;
     }
 
-    client.getInclusionProof(commitment.getRequestId()).thenAccept(response -> {
+    request.thenAccept(response -> {
       InclusionProofVerificationStatus status = response.getInclusionProof()
           .verify(commitment.getRequestId(), trustBase);
       switch (status) {
@@ -92,8 +121,8 @@ public class InclusionProofUtils {
           break;
         case PATH_NOT_INCLUDED:
           CompletableFuture.delayedExecutor(intervalMillis, TimeUnit.MILLISECONDS)
-              .execute(() -> checkInclusionProof(client, trustBase, commitment, future, startTime,
-                  timeoutMillis,
+              .execute(() -> checkInclusionProof(client, trustBase, commitment, future, current,
+                  startTime, timeoutMillis,
                   intervalMillis));
           break;
         default:
@@ -105,4 +134,4 @@ public class InclusionProofUtils {
       return null;
     });
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package org.unicitylabs.sdk.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable list with structural sharing for appends. Lists created by appending share backing
+ * array with the list they were created from, so {@link #append(Object)} is amortized O(1) and
+ * does not copy existing elements. When two lists are appended to same list, the second one gets
+ * its own copy of backing array. Null elements are not allowed.
+ *
+ * @param <T> element type
+ */
+public final class PersistentList<T> extends AbstractList<T> implements RandomAccess {
+
+  private static final int MIN_CAPACITY = 8;
+  private static final PersistentList<?> EMPTY = new PersistentList<>(new Object[0], 0,
+      new AtomicInteger());
+
+  private final Object[] elements;
+  private final int size;
+  // Amount of backing array slots claimed by any list sharing the array
+  private final AtomicInteger claimed;
+
+  private PersistentList(Object[] elements, int size, AtomicInteger claimed) {
+    this.elements = elements;
+    this.size = size;
+    this.claimed = claimed;
+  }
+
+  /**
+   * Get empty list.
+   *
+   * @param <T> element type
+   * @return empty list
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> PersistentList<T> empty() {
+    return (PersistentList<T>) PersistentList.EMPTY;
+  }
+
+  /**
+   * Create list from collection, persistent list is returned as is.
+   *
+   * @param <T>      element type
+   * @param elements elements
+   * @return persistent list
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> PersistentList<T> copyOf(Collection<? extends T> elements) {
+    Objects.requireNonNull(elements, "Elements cannot be null.");
+
+    if (elements instanceof PersistentList) {
+      return (PersistentList<T>) elements;
+    }
+
+    Object[] array = elements.toArray();
+    for (Object element : array) {
+      Objects.requireNonNull(element, "Element cannot be null.");
+    }
+
+    return new PersistentList<>(array, array.length, new AtomicInteger(array.length));
+  }
+
+  /**
+   * Create list with element appended to the end of this list. This list is not modified.
+   *
+   * @param element element
+   * @return list with appended element
+   */
+  public PersistentList<T> append(T element) {
+    Objects.requireNonNull(element, "Element cannot be null.");
+
+    // Append in place if no other list has claimed next slot of shared array
+    if (this.size < this.elements.length
+        && this.claimed.compareAndSet(this.size, this.size + 1)) {
+      this.elements[this.size] = element;
+      return new PersistentList<>(this.elements, this.size + 1, this.claimed);
+    }
+
+    Object[] elements = Arrays.copyOf(this.elements,
+        Math.max(PersistentList.MIN_CAPACITY, this.size * 2));
+    elements[this.size] = element;
+    return new PersistentList<>(elements, this.size + 1, new AtomicInteger(this.size + 1));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, this.size);
+    return (T) this.elements[index];
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public Object[] toArray() {
+    return Arrays.copyOf(this.elements, this.size);
+  }
+
+  @Override
+  public List<T> subList(int fromIndex, int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, this.size);
+    if (fromIndex == 0) {
+      return new PersistentList<>(this.elements, toIndex, this.claimed);
+    }
+
+    return super.subList(fromIndex, toIndex);
+  }
+}
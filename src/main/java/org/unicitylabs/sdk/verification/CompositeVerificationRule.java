@@ -14,7 +14,7 @@ import java.util.List;
  * <p>When the {@code verify} method is called, it starts with the first rule and continues to
  * execute subsequent rules based on whether the previous rule was successful or not. The final
  * result is a composite {@code VerificationResult} that includes the results of all executed
- * rules.
+ * rules. {@code verifyFailFast} instead returns first failed result without building result tree.
  *
  * @param <C> the type of context used for verification
  */
@@ -56,4 +56,19 @@ public abstract class CompositeVerificationRule<C extends VerificationContext>
 
     return VerificationResult.fromChildren(this.message, results);
   }
-}
\ No newline at end of file
+
+  @Override
+  public VerificationResult verifyFailFast(C context) {
+    VerificationRule<C> rule = this.firstRule;
+
+    while (rule != null) {
+      VerificationResult result = rule.verifyFailFast(context);
+      if (!result.isSuccessful()) {
+        return result;
+      }
+      rule = rule.getNextRule(VerificationResultCode.OK);
+    }
+
+    return VerificationResult.success();
+  }
+}
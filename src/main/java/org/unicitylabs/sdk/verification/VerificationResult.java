@@ -7,6 +7,9 @@ import java.util.List;
  */
 public class VerificationResult {
 
+  private static final VerificationResult SUCCESS = new VerificationResult(
+      VerificationResultCode.OK, "Verification successful", List.of());
+
   private final VerificationResultCode status;
   private final List<VerificationResult> results;
   private final String message;
@@ -24,7 +27,7 @@ public class VerificationResult {
    * @return verification result
    */
   public static VerificationResult success() {
-    return new VerificationResult(VerificationResultCode.OK, "Verification successful", List.of());
+    return VerificationResult.SUCCESS;
   }
 
   /**
@@ -58,6 +61,16 @@ public class VerificationResult {
     return new VerificationResult(VerificationResultCode.FAIL, error, results);
   }
 
+  /**
+   * Return result of verification aborted because verification policy limit was exceeded.
+   *
+   * @param error exceeded limit description
+   * @return verification result
+   */
+  public static VerificationResult budgetExceeded(String error) {
+    return new VerificationResult(VerificationResultCode.BUDGET_EXCEEDED, error, List.of());
+  }
+
   /**
    * Create verification result from child results, all has to succeed.
    *
@@ -87,6 +100,24 @@ public class VerificationResult {
     return this.status == VerificationResultCode.OK;
   }
 
+  /**
+   * Get verification result code.
+   *
+   * @return result code
+   */
+  public VerificationResultCode getCode() {
+    return this.status;
+  }
+
+  /**
+   * Get verification message, reason of failure for failed result.
+   *
+   * @return message
+   */
+  public String getMessage() {
+    return this.message;
+  }
+
   @Override
   public String toString() {
     return String.format(
@@ -11,5 +11,9 @@ public enum VerificationResultCode {
   /**
    * Verification failed.
    */
-  FAIL
+  FAIL,
+  /**
+   * Verification was aborted because verification policy limit was exceeded.
+   */
+  BUDGET_EXCEEDED
 }
@@ -74,4 +74,15 @@ public abstract class VerificationRule<C extends VerificationContext> {
    * @return verification result
    */
   public abstract VerificationResult verify(C context);
+
+  /**
+   * Verify context against current rule and stop at first failure. Child results are not
+   * collected, result is either successful or carries reason of first failure.
+   *
+   * @param context verification context
+   * @return verification result
+   */
+  public VerificationResult verifyFailFast(C context) {
+    return this.verify(context);
+  }
 }
\ No newline at end of file
@@ -57,7 +57,7 @@ public class AndroidCompatibilityTest {
     @Test
     void testNoJava11SpecificAPIs() {
         // This test documents that we avoid Java 11+ specific APIs:
-        // - No java.net.http.HttpClient (using OkHttp instead)
+        // - No java.net.http.HttpClient outside of JVM only JsonRpcJavaHttpTransport (OkHttp is default)
         // - No var keyword in public APIs
         // - No List.of(), Map.of(), Set.of() (using traditional constructors)
         // - No Files.readString/writeString
@@ -5,11 +5,20 @@ import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.jetbrains.annotations.Nullable;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
+import org.unicitylabs.sdk.api.SubmitCommitmentStatus;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.UUID;
@@ -22,6 +31,9 @@ public class MockAggregatorServer {
     private volatile boolean simulateRateLimit = false;
     private volatile int rateLimitRetryAfter = 0;
     private volatile String expectedApiKey = null;
+    private volatile boolean binaryEnabled = true;
+    private volatile boolean binaryAnsweredAsJson = false;
+    private volatile InclusionProofResponse inclusionProofResponse = null;
     
     public MockAggregatorServer() {
         this.server = new MockWebServer();
@@ -52,6 +64,10 @@ public class MockAggregatorServer {
     public RecordedRequest takeRequest() throws InterruptedException {
         return server.takeRequest();
     }
+
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
     
     public void simulateRateLimitForNextRequest(int retryAfterSeconds) {
         this.simulateRateLimit = true;
@@ -61,6 +77,18 @@ public class MockAggregatorServer {
     public void setExpectedApiKey(String apiKey) {
         this.expectedApiKey = apiKey;
     }
+
+    public void setBinaryEnabled(boolean binaryEnabled) {
+        this.binaryEnabled = binaryEnabled;
+    }
+
+    public void setBinaryAnsweredAsJson(boolean binaryAnsweredAsJson) {
+        this.binaryAnsweredAsJson = binaryAnsweredAsJson;
+    }
+
+    public void setInclusionProofResponse(InclusionProofResponse inclusionProofResponse) {
+        this.inclusionProofResponse = inclusionProofResponse;
+    }
     
     private MockResponse handleRequest(RecordedRequest request) {
         try {
@@ -77,7 +105,26 @@ public class MockAggregatorServer {
                 }
             }
 
-            String method = extractJsonRpcMethod(request);
+            boolean binary = isBinaryRequest(request);
+            if (binary && !binaryEnabled) {
+                return new MockResponse()
+                        .setResponseCode(415)
+                        .setBody("Unsupported Media Type");
+            }
+
+            if (!binary) {
+                JsonNode jsonRequest = objectMapper.readTree(request.getBody().clone().readUtf8());
+                if (jsonRequest.isArray()) {
+                    return generateBatchResponse(request, jsonRequest);
+                }
+            }
+
+            List<byte[]> binaryRequest = binary
+                    ? CborDeserializer.readArray(request.getBody().clone().readByteArray())
+                    : null;
+            String method = binary
+                    ? CborDeserializer.readTextString(binaryRequest.get(2))
+                    : extractJsonRpcMethod(request);
 
             if (protectedMethods.contains(method) && expectedApiKey != null && !hasValidApiKey(request)) {
                 return new MockResponse()
@@ -85,7 +132,11 @@ public class MockAggregatorServer {
                         .setHeader("WWW-Authenticate", "Bearer")
                         .setBody("Unauthorized");
             }
-            
+
+            if (binary && !binaryAnsweredAsJson) {
+                return generateBinaryResponse(method, binaryRequest.get(1));
+            }
+
             return generateSuccessResponse(method);
             
         } catch (Exception e) {
@@ -112,46 +163,89 @@ public class MockAggregatorServer {
         return jsonRequest.has("method") ? jsonRequest.get("method").asText() : null;
     }
 
-    private MockResponse generateSuccessResponse(String method) {
-        String responseBody;
-        String id = UUID.randomUUID().toString();
-        
-        switch (method != null ? method : "") {
+    private boolean isBinaryRequest(RecordedRequest request) {
+        String contentType = request.getHeader("Content-Type");
+        return contentType != null && contentType.startsWith("application/cbor");
+    }
+
+    private MockResponse generateBinaryResponse(String method, byte[] id) {
+        byte[] result;
+        switch (method) {
             case "submit_commitment":
-                responseBody = String.format(
-                    "{\n" +
-                    "    \"jsonrpc\": \"2.0\",\n" +
-                    "    \"result\": {\n" +
-                    "        \"status\": \"SUCCESS\"\n" +
-                    "    },\n" +
-                    "    \"id\": \"%s\"\n" +
-                    "}", id);
+                result = new SubmitCommitmentResponse(SubmitCommitmentStatus.SUCCESS).toCbor();
                 break;
-                
-            case "get_block_height":
-                responseBody = String.format(
-                    "{\n" +
-                    "    \"jsonrpc\": \"2.0\",\n" +
-                    "    \"result\": {\n" +
-                    "        \"blockNumber\": \"67890\"\n" +
-                    "    },\n" +
-                    "    \"id\": \"%s\"\n" +
-                    "}", id);
+            case "get_inclusion_proof":
+                result = inclusionProofResponse != null
+                        ? inclusionProofResponse.toCbor()
+                        : new InclusionProofResponse(null).toCbor();
                 break;
-                
             default:
-                responseBody = String.format(
-                    "{\n" +
-                    "    \"jsonrpc\": \"2.0\",\n" +
-                    "    \"result\": \"OK\",\n" +
-                    "    \"id\": \"%s\"\n" +
-                    "}", id);
-                break;
+                return new MockResponse()
+                        .setResponseCode(415)
+                        .setBody("Unsupported Media Type");
         }
-        
+
+        byte[] response = CborSerializer.encodeArray(
+                CborSerializer.encodeTextString("2.0"),
+                id,
+                result,
+                CborSerializer.encodeNull()
+        );
+
+        return new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(response));
+    }
+
+    private MockResponse generateSuccessResponse(String method) {
+        String responseBody = String.format(
+            "{\"jsonrpc\":\"2.0\",\"result\":%s,\"id\":\"%s\"}",
+            generateResult(method),
+            UUID.randomUUID());
+
         return new MockResponse()
             .setResponseCode(200)
             .setHeader("Content-Type", "application/json")
             .setBody(responseBody);
     }
-}
\ No newline at end of file
+
+    private MockResponse generateBatchResponse(RecordedRequest request, JsonNode batch)
+            throws JsonProcessingException {
+        ArrayNode responses = objectMapper.createArrayNode();
+        for (JsonNode item : batch) {
+            String method = item.has("method") ? item.get("method").asText() : null;
+            if (protectedMethods.contains(method) && expectedApiKey != null && !hasValidApiKey(request)) {
+                return new MockResponse()
+                        .setResponseCode(401)
+                        .setHeader("WWW-Authenticate", "Bearer")
+                        .setBody("Unauthorized");
+            }
+
+            ObjectNode response = responses.addObject();
+            response.put("jsonrpc", "2.0");
+            response.set("result", objectMapper.readTree(generateResult(method)));
+            response.set("id", item.get("id"));
+        }
+
+        return new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/json")
+            .setBody(responses.toString());
+    }
+
+    private String generateResult(String method) {
+        switch (method != null ? method : "") {
+            case "submit_commitment":
+                return "{\"status\": \"SUCCESS\"}";
+            case "get_inclusion_proof":
+                return inclusionProofResponse != null
+                        ? inclusionProofResponse.toJson()
+                        : "{\"inclusionProof\":null}";
+            case "get_block_height":
+                return "{\"blockNumber\": \"67890\"}";
+            default:
+                return "\"OK\"";
+        }
+    }
+}
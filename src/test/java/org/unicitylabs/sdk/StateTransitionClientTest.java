@@ -0,0 +1,120 @@
+package org.unicitylabs.sdk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.api.AggregatorClient;
+import org.unicitylabs.sdk.api.Authenticator;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.api.RequestId;
+import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.token.TokenId;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+public class StateTransitionClientTest {
+
+  @Test
+  public void testBulkIsMinted() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    StateTransitionClient client = new StateTransitionClient(
+        new TestAggregatorClient(signingService));
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+
+    List<TokenId> tokenIds = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Token<?> token = TokenUtils.mintToken(client, trustBase, TestUtils.randomBytes(32));
+      tokenIds.add(token.getId());
+    }
+    TokenId unknownTokenId = new TokenId(TestUtils.randomBytes(32));
+    tokenIds.add(unknownTokenId);
+
+    Map<TokenId, Boolean> result = client.isMinted(tokenIds, trustBase).get();
+    Assertions.assertEquals(tokenIds, List.copyOf(result.keySet()));
+    for (TokenId tokenId : tokenIds) {
+      Assertions.assertEquals(!tokenId.equals(unknownTokenId), result.get(tokenId));
+      Assertions.assertEquals(client.isMinted(tokenId, trustBase).get(), result.get(tokenId));
+    }
+  }
+
+  @Test
+  public void testBulkCheckRetriesRequestIdsMissingFromResponse() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+    List<TokenId> tokenIds = List.of(
+        new TokenId(TestUtils.randomBytes(32)),
+        new TokenId(TestUtils.randomBytes(32))
+    );
+
+    DroppingAggregatorClient retried = new DroppingAggregatorClient(
+        new TestAggregatorClient(signingService), 1);
+    Map<TokenId, Boolean> result = new StateTransitionClient(retried)
+        .isMinted(tokenIds, trustBase).get();
+    Assertions.assertEquals(Map.of(tokenIds.get(0), false, tokenIds.get(1), false), result);
+    Assertions.assertEquals(2, retried.calls.get());
+
+    DroppingAggregatorClient failing = new DroppingAggregatorClient(
+        new TestAggregatorClient(signingService), Integer.MAX_VALUE);
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        () -> new StateTransitionClient(failing).isMinted(tokenIds, trustBase).get());
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+  }
+
+  private static class DroppingAggregatorClient implements AggregatorClient {
+
+    private final AggregatorClient client;
+    private final int drops;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    DroppingAggregatorClient(AggregatorClient client, int drops) {
+      this.client = client;
+      this.drops = drops;
+    }
+
+    @Override
+    public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+        RequestId requestId,
+        DataHash transactionHash,
+        Authenticator authenticator
+    ) {
+      return this.client.submitCommitment(requestId, transactionHash, authenticator);
+    }
+
+    @Override
+    public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+      return this.client.getInclusionProof(requestId);
+    }
+
+    @Override
+    public CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+        List<RequestId> requestIds) {
+      // First request id is left out of first responses
+      boolean drop = this.calls.incrementAndGet() <= this.drops;
+      return AggregatorClient.super.getInclusionProofs(requestIds).thenApply(responses -> {
+        Map<RequestId, InclusionProofResponse> result = new HashMap<>(responses);
+        if (drop) {
+          result.remove(requestIds.get(0));
+        }
+        return result;
+      });
+    }
+
+    @Override
+    public CompletableFuture<Long> getBlockHeight() {
+      return this.client.getBlockHeight();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package org.unicitylabs.sdk.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.signing.SigningService;
+
+public class CoalescingAggregatorClientTest {
+
+  @Test
+  public void testCommitmentsAreSubmittedInBatches() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    CountingAggregatorClient client = new CountingAggregatorClient(
+        new TestAggregatorClient(new SigningService(SigningService.generatePrivateKey())));
+
+    List<CompletableFuture<SubmitCommitmentResponse>> futures = new ArrayList<>();
+    try (CoalescingAggregatorClient coalescingClient = new CoalescingAggregatorClient(
+        client, 100, 4, Duration.ofSeconds(1), 1)) {
+      for (int i = 0; i < 10; i++) {
+        DataHash stateHash = new DataHash(HashAlgorithm.SHA256, new byte[32]);
+        DataHash transactionHash = new DataHash(HashAlgorithm.SHA256, new byte[]{
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) i
+        });
+        futures.add(
+            coalescingClient.submitCommitment(
+                RequestId.create(signingService.getPublicKey(), transactionHash),
+                transactionHash,
+                Authenticator.create(signingService, transactionHash, stateHash)
+            )
+        );
+      }
+    }
+
+    for (CompletableFuture<SubmitCommitmentResponse> future : futures) {
+      Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS, future.get().getStatus());
+    }
+    Assertions.assertEquals(List.of(4, 4, 2), client.batchSizes);
+  }
+
+  @Test
+  public void testCancelledCommitmentsAreLeftOutOfBatch() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    CountingAggregatorClient client = new CountingAggregatorClient(
+        new TestAggregatorClient(new SigningService(SigningService.generatePrivateKey())));
+
+    List<CompletableFuture<SubmitCommitmentResponse>> futures = new ArrayList<>();
+    try (CoalescingAggregatorClient coalescingClient = new CoalescingAggregatorClient(
+        client, 100, 4, Duration.ofMillis(200), 1)) {
+      for (int i = 0; i < 3; i++) {
+        DataHash stateHash = new DataHash(HashAlgorithm.SHA256, new byte[32]);
+        DataHash transactionHash = new DataHash(HashAlgorithm.SHA256, new byte[]{
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) i
+        });
+        futures.add(
+            coalescingClient.submitCommitment(
+                RequestId.create(signingService.getPublicKey(), transactionHash),
+                transactionHash,
+                Authenticator.create(signingService, transactionHash, stateHash)
+            )
+        );
+      }
+      futures.get(1).cancel(false);
+    }
+
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS, futures.get(0).get().getStatus());
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS, futures.get(2).get().getStatus());
+    Assertions.assertEquals(List.of(2), client.batchSizes);
+  }
+
+  @Test
+  public void testClosedClientRejectsCommitments() throws Exception {
+    CoalescingAggregatorClient client = new CoalescingAggregatorClient(
+        new TestAggregatorClient(new SigningService(SigningService.generatePrivateKey())));
+    client.close();
+
+    CompletableFuture<SubmitCommitmentResponse> future = client.submitCommitment(null, null, null);
+    Assertions.assertTrue(future.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testFullQueueRejectsCommitmentAfterTimeout() throws Exception {
+    CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> stalled =
+        new CompletableFuture<>();
+    CoalescingAggregatorClient client = new CoalescingAggregatorClient(
+        new CountingAggregatorClient(null) {
+          @Override
+          public CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> submitCommitments(
+              List<SubmitCommitmentRequest> requests) {
+            return stalled.thenApply(responses -> responses);
+          }
+        },
+        1, 1, Duration.ZERO, 1, Duration.ofMillis(50));
+
+    // One batch in flight, one waiting for batch permit and one in queue
+    List<CompletableFuture<SubmitCommitmentResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      futures.add(client.submitCommitment(null, null, null));
+    }
+
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        () -> futures.get(3).get());
+    Assertions.assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+    stalled.completeExceptionally(new RuntimeException("Aggregator stopped"));
+    client.close();
+  }
+
+  private static class CountingAggregatorClient implements AggregatorClient {
+
+    private final AggregatorClient client;
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    CountingAggregatorClient(AggregatorClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+        RequestId requestId,
+        DataHash transactionHash,
+        Authenticator authenticator
+    ) {
+      return this.client.submitCommitment(requestId, transactionHash, authenticator);
+    }
+
+    @Override
+    public CompletableFuture<Map<RequestId, SubmitCommitmentResponse>> submitCommitments(
+        List<SubmitCommitmentRequest> requests) {
+      this.batchSizes.add(requests.size());
+      return AggregatorClient.super.submitCommitments(requests);
+    }
+
+    @Override
+    public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+      return this.client.getInclusionProof(requestId);
+    }
+
+    @Override
+    public CompletableFuture<Long> getBlockHeight() {
+      return this.client.getBlockHeight();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.unicitylabs.sdk.api;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+public class InclusionProofResponseTest {
+
+  @Test
+  public void testJsonSerialization() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    StateTransitionClient client = new StateTransitionClient(
+        new TestAggregatorClient(signingService));
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+    Token<?> token = TokenUtils.mintToken(client, trustBase, TestUtils.randomBytes(32));
+
+    InclusionProof inclusionProof = token.getGenesis().getInclusionProof();
+    InclusionProofResponse response = new InclusionProofResponse(inclusionProof);
+    String json = response.toJson();
+
+    InclusionProofResponse result = InclusionProofResponse.fromJson(json);
+    Assertions.assertEquals(inclusionProof, result.getInclusionProof());
+    Assertions.assertArrayEquals(inclusionProof.toCbor(), result.getInclusionProof().toCbor());
+    Assertions.assertEquals(json, result.toJson());
+    Assertions.assertEquals(token, Token.fromJson(token.toJson()));
+
+    Assertions.assertNull(InclusionProofResponse.fromJson("{\"inclusionProof\":null}")
+        .getInclusionProof());
+    Assertions.assertThrows(JsonSerializationException.class,
+        () -> InclusionProofResponse.fromJson("{\"proof\":{}}"));
+    Assertions.assertThrows(JsonSerializationException.class,
+        () -> InclusionProofResponse.fromJson(
+            json.replace("\"merkleTreePath\"", "\"path\"")));
+    Assertions.assertThrows(JsonSerializationException.class,
+        () -> InclusionProofResponse.fromJson("[]"));
+  }
+
+  @Test
+  public void testSubmitCommitmentRequestJsonSerialization() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    Token<?> token = TokenUtils.mintToken(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        TestUtils.randomBytes(32)
+    );
+    InclusionProof inclusionProof = token.getGenesis().getInclusionProof();
+    Authenticator authenticator = inclusionProof.getAuthenticator().orElseThrow();
+
+    SubmitCommitmentRequest request = new SubmitCommitmentRequest(
+        RequestId.create(authenticator.getPublicKey(), authenticator.getStateHash()),
+        inclusionProof.getTransactionHash().orElseThrow(),
+        authenticator,
+        false
+    );
+
+    String json = request.toJson();
+    SubmitCommitmentRequest result = SubmitCommitmentRequest.fromJson(json);
+    Assertions.assertEquals(request.getRequestId(), result.getRequestId());
+    Assertions.assertEquals(request.getTransactionHash(), result.getTransactionHash());
+    Assertions.assertEquals(request.getAuthenticator(), result.getAuthenticator());
+    Assertions.assertEquals(Boolean.FALSE, result.getReceipt());
+    Assertions.assertEquals(json, result.toJson());
+  }
+}
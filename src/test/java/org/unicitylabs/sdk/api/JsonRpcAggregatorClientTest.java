@@ -0,0 +1,184 @@
+package org.unicitylabs.sdk.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.MockAggregatorServer;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcContentTypeException;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcHttpTransport;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcJavaHttpTransport;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+public class JsonRpcAggregatorClientTest {
+
+  private MockAggregatorServer server;
+  private InclusionProof inclusionProof;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    Token<?> token = TokenUtils.mintToken(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        TestUtils.randomBytes(32)
+    );
+    this.inclusionProof = token.getGenesis().getInclusionProof();
+
+    this.server = new MockAggregatorServer();
+    this.server.setInclusionProofResponse(new InclusionProofResponse(this.inclusionProof));
+    this.server.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    this.server.shutdown();
+  }
+
+  @Test
+  public void testBinaryWireMode() throws Exception {
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(this.server.getUrl(), null, true);
+    Authenticator authenticator = this.inclusionProof.getAuthenticator().orElseThrow();
+
+    InclusionProofResponse response = client.getInclusionProof(
+        RequestId.create(authenticator.getPublicKey(), authenticator.getStateHash())).get();
+    Assertions.assertEquals(this.inclusionProof, response.getInclusionProof());
+
+    SubmitCommitmentResponse submitResponse = client.submitCommitment(
+        RequestId.create(authenticator.getPublicKey(), authenticator.getStateHash()),
+        this.inclusionProof.getTransactionHash().orElseThrow(),
+        authenticator
+    ).get();
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS, submitResponse.getStatus());
+    Assertions.assertTrue(client.isBinary());
+
+    RecordedRequest request = this.server.takeRequest();
+    Assertions.assertEquals("application/cbor", request.getHeader("Content-Type"));
+    Assertions.assertEquals("application/cbor", request.getHeader("Accept"));
+  }
+
+  @Test
+  public void testBinaryWireModeFallsBackToJson() throws Exception {
+    this.server.setBinaryEnabled(false);
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(this.server.getUrl(), null, true);
+    Authenticator authenticator = this.inclusionProof.getAuthenticator().orElseThrow();
+    RequestId requestId = RequestId.create(authenticator.getPublicKey(),
+        authenticator.getStateHash());
+
+    Assertions.assertEquals(this.inclusionProof,
+        client.getInclusionProof(requestId).get().getInclusionProof());
+    Assertions.assertFalse(client.isBinary());
+    Assertions.assertEquals(this.inclusionProof,
+        client.getInclusionProof(requestId).get().getInclusionProof());
+
+    Assertions.assertEquals("application/cbor",
+        this.server.takeRequest().getHeader("Content-Type"));
+    Assertions.assertTrue(
+        this.server.takeRequest().getHeader("Content-Type").startsWith("application/json"));
+    Assertions.assertTrue(
+        this.server.takeRequest().getHeader("Content-Type").startsWith("application/json"));
+  }
+
+  @Test
+  public void testBinaryRequestAnsweredAsJsonIsNotSubmittedTwice() throws Exception {
+    this.server.setBinaryAnsweredAsJson(true);
+    Authenticator authenticator = this.inclusionProof.getAuthenticator().orElseThrow();
+    RequestId requestId = RequestId.create(authenticator.getPublicKey(),
+        authenticator.getStateHash());
+
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(this.server.getUrl(), null, true);
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        () -> client.submitCommitment(
+            requestId,
+            this.inclusionProof.getTransactionHash().orElseThrow(),
+            authenticator
+        ).get());
+    Assertions.assertInstanceOf(JsonRpcContentTypeException.class, exception.getCause());
+    Assertions.assertFalse(client.isBinary());
+    Assertions.assertEquals(1, this.server.getRequestCount());
+
+    // Inclusion proof request is safe to send again
+    JsonRpcAggregatorClient readClient = new JsonRpcAggregatorClient(this.server.getUrl(), null,
+        true);
+    Assertions.assertEquals(this.inclusionProof,
+        readClient.getInclusionProof(requestId).get().getInclusionProof());
+    Assertions.assertFalse(readClient.isBinary());
+    Assertions.assertEquals(3, this.server.getRequestCount());
+  }
+
+  @Test
+  public void testBatchRequests() throws Exception {
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(
+        new JsonRpcHttpTransport(this.server.getUrl()), null, false, 2);
+    Authenticator authenticator = this.inclusionProof.getAuthenticator().orElseThrow();
+    List<RequestId> requestIds = List.of(
+        RequestId.create(authenticator.getPublicKey(), authenticator.getStateHash()),
+        RequestId.create(authenticator.getPublicKey(), new byte[]{1}),
+        RequestId.create(authenticator.getPublicKey(), new byte[]{2})
+    );
+
+    Map<RequestId, InclusionProofResponse> responses = client.getInclusionProofs(requestIds)
+        .get();
+    Assertions.assertEquals(requestIds, List.copyOf(responses.keySet()));
+    for (InclusionProofResponse response : responses.values()) {
+      Assertions.assertEquals(this.inclusionProof, response.getInclusionProof());
+    }
+    Assertions.assertEquals(2, this.server.getRequestCount());
+
+    Map<RequestId, SubmitCommitmentResponse> submitResponses = client.submitCommitments(
+        List.of(
+            new SubmitCommitmentRequest(
+                requestIds.get(0),
+                this.inclusionProof.getTransactionHash().orElseThrow(),
+                authenticator,
+                false
+            )
+        )
+    ).get();
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS,
+        submitResponses.get(requestIds.get(0)).getStatus());
+    Assertions.assertTrue(client.getInclusionProofs(List.of()).get().isEmpty());
+    Assertions.assertEquals(3, this.server.getRequestCount());
+  }
+
+  @Test
+  public void testRateLimitedReadIsRetried() throws Exception {
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(this.server.getUrl());
+    this.server.simulateRateLimitForNextRequest(0);
+
+    Assertions.assertEquals(Long.valueOf(67890), client.getBlockHeight().get());
+    Assertions.assertEquals(2, this.server.getRequestCount());
+  }
+
+  @Test
+  public void testJavaHttpTransport() throws Exception {
+    JsonRpcAggregatorClient client = new JsonRpcAggregatorClient(
+        new JsonRpcJavaHttpTransport(this.server.getUrl()), null, true);
+    Authenticator authenticator = this.inclusionProof.getAuthenticator().orElseThrow();
+    RequestId requestId = RequestId.create(authenticator.getPublicKey(),
+        authenticator.getStateHash());
+
+    Assertions.assertEquals(this.inclusionProof,
+        client.getInclusionProof(requestId).get().getInclusionProof());
+    Assertions.assertTrue(client.isBinary());
+    Assertions.assertEquals(this.inclusionProof,
+        client.getInclusionProofs(List.of(requestId)).get().get(requestId).getInclusionProof());
+    Assertions.assertEquals(Long.valueOf(67890), client.getBlockHeight().get());
+
+    Assertions.assertEquals("application/cbor",
+        this.server.takeRequest().getHeader("Content-Type"));
+    Assertions.assertTrue(
+        this.server.takeRequest().getHeader("Content-Type").startsWith("application/json"));
+  }
+}
@@ -0,0 +1,150 @@
+package org.unicitylabs.sdk.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.hash.DataHash;
+
+public class ReplicatedAggregatorClientTest {
+
+  @Test
+  public void testReadIsHedgedToNextReplica() throws Exception {
+    FakeAggregatorClient slow = new FakeAggregatorClient(1L, 2000, false);
+    FakeAggregatorClient fast = new FakeAggregatorClient(2L, 0, false);
+    ReplicatedAggregatorClient client = new ReplicatedAggregatorClient(List.of(slow, fast));
+
+    Assertions.assertEquals(Long.valueOf(2), client.getBlockHeight().get(1, TimeUnit.SECONDS));
+    Assertions.assertEquals(1, slow.calls.get());
+    Assertions.assertEquals(1, fast.calls.get());
+  }
+
+  @Test
+  public void testOutstandingReadsAreCancelled() throws Exception {
+    FakeAggregatorClient slow = new FakeAggregatorClient(1L, 2000, false);
+    FakeAggregatorClient fast = new FakeAggregatorClient(2L, 0, false);
+    ReplicatedAggregatorClient client = new ReplicatedAggregatorClient(List.of(slow, fast));
+
+    // Losing hedge is cancelled and does not count as replica error
+    client.getBlockHeight().get(1, TimeUnit.SECONDS);
+    Assertions.assertTrue(slow.futures.get(0).isCancelled());
+    Assertions.assertEquals(0.0, client.getErrorRate(0));
+
+    CompletableFuture<Long> read = client.getBlockHeight();
+    read.cancel(false);
+    slow.futures.forEach(future -> Assertions.assertTrue(future.isDone()));
+    fast.futures.forEach(future -> Assertions.assertTrue(future.isDone()));
+  }
+
+  @Test
+  public void testReadsPreferFastestReplica() throws Exception {
+    FakeAggregatorClient slow = new FakeAggregatorClient(1L, 20, false);
+    FakeAggregatorClient fast = new FakeAggregatorClient(2L, 0, false);
+    ReplicatedAggregatorClient client = new ReplicatedAggregatorClient(List.of(slow, fast), 1);
+
+    // Both replicas are unexplored at first, so first read measures the slow one
+    client.getBlockHeight().get();
+    client.getBlockHeight().get();
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertEquals(Long.valueOf(2), client.getBlockHeight().get());
+    }
+    Assertions.assertTrue(client.getLatency(0) > client.getLatency(1));
+  }
+
+  @Test
+  public void testIdleReplicaIsProbedAndRecovers() throws Exception {
+    FakeAggregatorClient failing = new FakeAggregatorClient(1L, 0, true);
+    FakeAggregatorClient working = new FakeAggregatorClient(2L, 0, false);
+    ReplicatedAggregatorClient client = new ReplicatedAggregatorClient(
+        List.of(failing, working), 1, Duration.ofMillis(50));
+
+    client.submitCommitment(null, null, null).get();
+    client.submitCommitment(null, null, null).get();
+    Assertions.assertEquals(1, failing.calls.get());
+    Assertions.assertTrue(client.getErrorRate(0) > 0.1);
+
+    // Error rate decays while replica is unused and idle replica gets probe read
+    Thread.sleep(200);
+    Assertions.assertTrue(client.getErrorRate(0) < 0.05);
+    int calls = failing.calls.get();
+    client.getBlockHeight().get();
+    Assertions.assertTrue(failing.calls.get() > calls);
+  }
+
+  @Test
+  public void testSubmitFailsOverToNextReplica() throws Exception {
+    FakeAggregatorClient failing = new FakeAggregatorClient(1L, 0, true);
+    FakeAggregatorClient working = new FakeAggregatorClient(2L, 0, false);
+    ReplicatedAggregatorClient client = new ReplicatedAggregatorClient(
+        List.of(failing, working));
+
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS,
+        client.submitCommitment(null, null, null).get().getStatus());
+    Assertions.assertEquals(1, failing.calls.get());
+    Assertions.assertEquals(1, working.calls.get());
+    Assertions.assertTrue(client.getErrorRate(0) > 0);
+
+    Assertions.assertEquals(SubmitCommitmentStatus.SUCCESS,
+        client.submitCommitment(null, null, null).get().getStatus());
+    Assertions.assertEquals(1, failing.calls.get());
+    Assertions.assertEquals(2, working.calls.get());
+
+    ReplicatedAggregatorClient failingClient = new ReplicatedAggregatorClient(
+        List.of(failing, new FakeAggregatorClient(1L, 0, true)));
+    Assertions.assertThrows(ExecutionException.class,
+        () -> failingClient.getBlockHeight().get());
+  }
+
+  private static class FakeAggregatorClient implements AggregatorClient {
+
+    private final long blockHeight;
+    private final long delayMillis;
+    private final boolean fail;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+
+    FakeAggregatorClient(long blockHeight, long delayMillis, boolean fail) {
+      this.blockHeight = blockHeight;
+      this.delayMillis = delayMillis;
+      this.fail = fail;
+    }
+
+    @Override
+    public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+        RequestId requestId,
+        DataHash transactionHash,
+        Authenticator authenticator
+    ) {
+      return this.respond(new SubmitCommitmentResponse(SubmitCommitmentStatus.SUCCESS));
+    }
+
+    @Override
+    public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+      return this.respond(null);
+    }
+
+    @Override
+    public CompletableFuture<Long> getBlockHeight() {
+      return this.respond(this.blockHeight);
+    }
+
+    private <T> CompletableFuture<T> respond(T value) {
+      this.calls.incrementAndGet();
+      CompletableFuture<T> future = new CompletableFuture<>();
+      this.futures.add(future);
+      CompletableFuture.delayedExecutor(this.delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+        if (this.fail) {
+          future.completeExceptionally(new RuntimeException("Replica failed"));
+        } else {
+          future.complete(value);
+        }
+      });
+      return future;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package org.unicitylabs.sdk.benchmark;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.mtree.plain.SparseMerkleTreePath;
+import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.util.HexConverter;
+
+/**
+ * Throughput measurements for hex conversion and hex heavy JSON payloads, run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class HexConverterBenchmarkTest {
+
+  private static final int ITERATIONS = 20_000;
+
+  @Test
+  void measureHexConversion() throws Exception {
+    byte[] data = new byte[256];
+    new Random(1).nextBytes(data);
+    String hex = HexConverter.encode(data);
+    char[] buffer = new char[data.length * 2];
+
+    report("encode to String", () -> HexConverter.encode(data));
+    report("encode to char[]", () -> HexConverter.encode(data, 0, data.length, buffer, 0));
+    report("decode from String", () -> HexConverter.decode(hex));
+    report("decode from char[]", () -> HexConverter.decode(buffer, 0, buffer.length));
+    Assertions.assertArrayEquals(data, HexConverter.decode(buffer, 0, buffer.length));
+  }
+
+  @Test
+  void measureProofJson() throws Exception {
+    Random random = new Random(1);
+    StringBuilder builder = new StringBuilder("{\"root\":\"0000")
+        .append(HexConverter.encode(new byte[32]))
+        .append("\",\"steps\":[");
+    for (int i = 0; i < 256; i++) {
+      byte[] hash = new byte[32];
+      random.nextBytes(hash);
+      builder.append(i == 0 ? "" : ",")
+          .append("{\"path\":\"").append(i + 2)
+          .append("\",\"data\":\"").append(HexConverter.encode(hash)).append("\"}");
+    }
+    String json = builder.append("]}").toString();
+    SparseMerkleTreePath path = UnicityObjectMapper.JSON.readValue(json,
+        SparseMerkleTreePath.class);
+    Assertions.assertEquals(json, UnicityObjectMapper.JSON.writeValueAsString(path));
+
+    report("proof path write", () -> UnicityObjectMapper.JSON.writeValueAsString(path));
+    report("proof path read",
+        () -> UnicityObjectMapper.JSON.readValue(json, SparseMerkleTreePath.class));
+  }
+
+  private static void report(String name, Operation operation) throws Exception {
+    for (int i = 0; i < ITERATIONS / 10; i++) {
+      operation.run();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf("%s: %.0f ops/s%n", name, ITERATIONS / (elapsed / 1e9));
+  }
+
+  private interface Operation {
+
+    void run() throws Exception;
+  }
+}
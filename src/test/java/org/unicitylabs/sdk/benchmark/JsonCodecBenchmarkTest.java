@@ -0,0 +1,123 @@
+package org.unicitylabs.sdk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.json.ByteArrayJson;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+/**
+ * Throughput and warm-up measurements for JSON codecs of aggregator wire types, run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class JsonCodecBenchmarkTest {
+
+  private static final int ITERATIONS = 20_000;
+
+  private static String responseJson;
+  private static byte[] responseCbor;
+  private static String tokenJson;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    Token<?> token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        10
+    );
+
+    InclusionProofResponse response = new InclusionProofResponse(
+        token.getGenesis().getInclusionProof());
+    responseJson = response.toJson();
+    responseCbor = response.toCbor();
+    tokenJson = token.toJson();
+  }
+
+  @Test
+  void measureWarmUp() throws Exception {
+    ObjectMapper mapper = createObjectMapper();
+
+    long start = System.nanoTime();
+    mapper.readValue(responseJson, InclusionProofResponse.class);
+    long response = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    mapper.readValue(tokenJson, Token.class);
+    long token = System.nanoTime() - start;
+
+    System.out.printf("First InclusionProofResponse parse: %.2f ms%n", response / 1e6);
+    System.out.printf("First Token parse: %.2f ms%n", token / 1e6);
+  }
+
+  @Test
+  void measureParseThroughput() throws Exception {
+    ObjectMapper mapper = UnicityObjectMapper.JSON;
+
+    report("InclusionProofResponse parse",
+        () -> mapper.readValue(responseJson, InclusionProofResponse.class));
+    report("InclusionProofResponse tree parse (baseline)", () -> mapper.readTree(responseJson));
+    report("Token parse", () -> mapper.readValue(tokenJson, Token.class));
+    report("Token tree parse (baseline)", () -> mapper.readTree(tokenJson));
+
+    Token<?> token = mapper.readValue(tokenJson, Token.class);
+    report("Token write", () -> mapper.writeValueAsString(token));
+    Assertions.assertEquals(tokenJson, mapper.writeValueAsString(token));
+  }
+
+  @Test
+  void measureBinaryWireFormat() throws Exception {
+    System.out.printf("InclusionProofResponse size: JSON %d bytes, CBOR %d bytes%n",
+        responseJson.getBytes(StandardCharsets.UTF_8).length, responseCbor.length);
+
+    report("InclusionProofResponse JSON parse",
+        () -> InclusionProofResponse.fromJson(responseJson));
+    report("InclusionProofResponse CBOR parse",
+        () -> InclusionProofResponse.fromCbor(responseCbor));
+    Assertions.assertArrayEquals(responseCbor,
+        InclusionProofResponse.fromJson(responseJson).toCbor());
+  }
+
+  private static ObjectMapper createObjectMapper() {
+    SimpleModule module = new SimpleModule();
+    module.addSerializer(byte[].class, new ByteArrayJson.Serializer());
+    module.addDeserializer(byte[].class, new ByteArrayJson.Deserializer());
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new Jdk8Module());
+    objectMapper.registerModule(module);
+    return objectMapper;
+  }
+
+  private static void report(String name, Operation operation) throws Exception {
+    for (int i = 0; i < ITERATIONS / 10; i++) {
+      operation.run();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf("%s: %.0f ops/s%n", name, ITERATIONS / (elapsed / 1e9));
+  }
+
+  private interface Operation {
+
+    void run() throws Exception;
+  }
+}
@@ -0,0 +1,57 @@
+package org.unicitylabs.sdk.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+/**
+ * Sequential and parallel verification time of token with long history, run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class TokenVerificationBenchmarkTest {
+
+  private static final int TRANSFERS = 200;
+  private static final int ITERATIONS = 10;
+
+  @Test
+  void measureTokenVerification() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+    Token<?> token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        TRANSFERS
+    );
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    Assertions.assertTrue(token.verify(trustBase).isSuccessful());
+    Assertions.assertTrue(token.verify(trustBase, pool).isSuccessful());
+
+    report("sequential", () -> token.verify(trustBase));
+    report(String.format("parallel (%d threads)", pool.getParallelism()),
+        () -> token.verify(trustBase, pool));
+  }
+
+  private static void report(String name, Runnable operation) {
+    operation.run();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf("%s verification of %d transfers: %.1f ms%n", name, TRANSFERS,
+        elapsed / 1e6 / ITERATIONS);
+  }
+}
@@ -0,0 +1,104 @@
+package org.unicitylabs.sdk.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.MockAggregatorServer;
+import org.unicitylabs.sdk.api.AggregatorClient;
+import org.unicitylabs.sdk.api.JsonRpcAggregatorClient;
+import org.unicitylabs.sdk.jsonrpc.HttpTransportConfig;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcHttpTransport;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcJavaHttpTransport;
+import org.unicitylabs.sdk.jsonrpc.JsonRpcTransport;
+
+/**
+ * Throughput and per request allocation of JSON-RPC transports against local mock aggregator,
+ * run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class TransportBenchmarkTest {
+
+  private static final int REQUESTS = 5_000;
+  private static final int CONCURRENCY = 64;
+
+  private static MockAggregatorServer server;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    server = new MockAggregatorServer();
+    server.start();
+  }
+
+  @AfterAll
+  static void tearDown() throws Exception {
+    server.shutdown();
+  }
+
+  @Test
+  void measureOkHttpTransport() throws Exception {
+    report("OkHttp", new JsonRpcHttpTransport(server.getUrl()));
+  }
+
+  @Test
+  void measureJavaHttpTransport() throws Exception {
+    report("java.net.http",
+        new JsonRpcJavaHttpTransport(server.getUrl(), HttpTransportConfig.DEFAULT, false));
+  }
+
+  @Test
+  void measureJavaHttpTransportOnVirtualThreads() throws Exception {
+    if (!JsonRpcJavaHttpTransport.isVirtualThreadSupported()) {
+      System.out.println("java.net.http on virtual threads: not supported by this JVM");
+      return;
+    }
+
+    report("java.net.http on virtual threads",
+        new JsonRpcJavaHttpTransport(server.getUrl(), HttpTransportConfig.DEFAULT, true));
+  }
+
+  private static void report(String name, JsonRpcTransport transport) throws Exception {
+    AggregatorClient client = new JsonRpcAggregatorClient(transport, null, false);
+    run(client, REQUESTS / 10);
+
+    long allocated = getAllocatedBytes();
+    long start = System.nanoTime();
+    run(client, REQUESTS);
+    long elapsed = System.nanoTime() - start;
+    allocated = getAllocatedBytes() - allocated;
+
+    System.out.printf("%s: %.0f requests/s, ~%d bytes allocated per request%n",
+        name, REQUESTS / (elapsed / 1e9), allocated / REQUESTS);
+  }
+
+  private static void run(AggregatorClient client, int requests) throws Exception {
+    for (int sent = 0; sent < requests; sent += CONCURRENCY) {
+      List<CompletableFuture<Long>> futures = new ArrayList<>(CONCURRENCY);
+      for (int i = 0; i < Math.min(CONCURRENCY, requests - sent); i++) {
+        futures.add(client.getBlockHeight());
+      }
+      for (CompletableFuture<Long> future : futures) {
+        Assertions.assertEquals(Long.valueOf(67890), future.get());
+      }
+    }
+  }
+
+  /**
+   * Sum of bytes allocated by all live platform threads, includes allocations of mock server so
+   * only difference between transports is meaningful. Virtual threads are not counted.
+   */
+  private static long getAllocatedBytes() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      total += Math.max(0, allocated);
+    }
+    return total;
+  }
+}
@@ -5,6 +5,10 @@ import java.util.Set;
 
 public class RootTrustBaseUtils {
   public static RootTrustBase generateRootTrustBase(byte[] publicKey) {
+    return generateRootTrustBase(publicKey, 1);
+  }
+
+  public static RootTrustBase generateRootTrustBase(byte[] publicKey, long quorumThreshold) {
     return new RootTrustBase(
         0,
         0,
@@ -17,7 +21,7 @@ public class RootTrustBaseUtils {
                 1
             )
         ),
-        1,
+        quorumThreshold,
         new byte[0],
         new byte[0],
         null,
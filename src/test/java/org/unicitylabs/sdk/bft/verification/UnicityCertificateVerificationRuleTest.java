@@ -0,0 +1,45 @@
+package org.unicitylabs.sdk.bft.verification;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.bft.UnicityCertificate;
+import org.unicitylabs.sdk.bft.UnicityCertificateUtils;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+public class UnicityCertificateVerificationRuleTest {
+
+  private final UnicityCertificateVerificationRule rule = new UnicityCertificateVerificationRule();
+
+  @Test
+  public void testFailFastMatchesFullVerification() {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    DataHash rootHash = new DataHash(HashAlgorithm.SHA256, new byte[32]);
+    UnicityCertificate certificate = UnicityCertificateUtils.generateCertificate(signingService,
+        rootHash);
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+
+    UnicityCertificateVerificationContext context = new UnicityCertificateVerificationContext(
+        rootHash, certificate, trustBase);
+    Assertions.assertTrue(this.rule.verify(context).isSuccessful());
+    Assertions.assertSame(VerificationResult.success(), this.rule.verifyFailFast(context));
+
+    context = new UnicityCertificateVerificationContext(rootHash, certificate,
+        RootTrustBaseUtils.generateRootTrustBase(
+            new SigningService(SigningService.generatePrivateKey()).getPublicKey()));
+    Assertions.assertFalse(this.rule.verify(context).isSuccessful());
+    Assertions.assertEquals("Quorum threshold not reached.",
+        this.rule.verifyFailFast(context).getMessage());
+
+    context = new UnicityCertificateVerificationContext(
+        new DataHash(HashAlgorithm.SHA256, new byte[]{1}), certificate, trustBase);
+    Assertions.assertFalse(this.rule.verify(context).isSuccessful());
+    Assertions.assertEquals("Input record current hash does not match input hash.",
+        this.rule.verifyFailFast(context).getMessage());
+  }
+}
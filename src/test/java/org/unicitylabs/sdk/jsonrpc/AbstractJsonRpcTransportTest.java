@@ -0,0 +1,102 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AbstractJsonRpcTransportTest {
+
+  @Test
+  public void testCancellationAbortsRequestInFlight() {
+    PendingTransport transport = new PendingTransport(JsonRpcRetryPolicy.DEFAULT);
+
+    CompletableFuture<Object> future = transport.request("get_block_height", Map.of(),
+        Object.class);
+    Assertions.assertEquals(1, transport.calls.size());
+    Assertions.assertEquals(1, transport.getLimiter().getInFlight());
+
+    future.cancel(true);
+    Assertions.assertTrue(transport.calls.get(0).isCancelled());
+    Assertions.assertEquals(0, transport.getLimiter().getInFlight());
+  }
+
+  @Test
+  public void testDeadlineAbortsRequestInFlight() throws Exception {
+    PendingTransport transport = new PendingTransport(JsonRpcRetryPolicy.DEFAULT);
+
+    CompletableFuture<Object> future = transport.request("get_block_height", Map.of(),
+        Object.class).orTimeout(10, TimeUnit.MILLISECONDS);
+
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        future::get);
+    Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+    Thread.sleep(100);
+    Assertions.assertTrue(transport.calls.get(0).isCancelled());
+    Assertions.assertEquals(1, transport.calls.size());
+  }
+
+  @Test
+  public void testCancellationBeforeRetryReleasesPermit() throws Exception {
+    AtomicReference<CompletableFuture<Object>> future = new AtomicReference<>();
+    AtomicInteger acquired = new AtomicInteger();
+    CompletableFuture<Void> retried = new CompletableFuture<>();
+    // Caller cancels after retry is scheduled, but before retry acquires permit
+    PendingTransport transport = new PendingTransport(JsonRpcRetryPolicy.DEFAULT,
+        new AdaptiveConcurrencyLimiter(16, 1, 256) {
+          @Override
+          public CompletableFuture<Void> acquire() {
+            if (acquired.incrementAndGet() < 2) {
+              return super.acquire();
+            }
+
+            future.get().cancel(true);
+            CompletableFuture<Void> permit = super.acquire();
+            retried.complete(null);
+            return permit;
+          }
+        });
+
+    future.set(transport.request("get_block_height", Map.of(), Object.class));
+    transport.calls.get(0).completeExceptionally(new IOException("Connection reset"));
+
+    retried.get(5, TimeUnit.SECONDS);
+    Thread.sleep(100);
+    Assertions.assertTrue(future.get().isCancelled());
+    Assertions.assertEquals(1, transport.calls.size());
+    Assertions.assertEquals(0, transport.getLimiter().getInFlight());
+  }
+
+  private static class PendingTransport extends AbstractJsonRpcTransport {
+
+    private final List<CompletableFuture<?>> calls = new CopyOnWriteArrayList<>();
+
+    PendingTransport(JsonRpcRetryPolicy retryPolicy) {
+      this(retryPolicy, AbstractJsonRpcTransport.createDefaultLimiter());
+    }
+
+    PendingTransport(JsonRpcRetryPolicy retryPolicy, AdaptiveConcurrencyLimiter limiter) {
+      super(retryPolicy, limiter);
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> send(
+        RequestPayload payload,
+        String accept,
+        Map<String, List<String>> headers,
+        ResponseParser<T> parser
+    ) {
+      CompletableFuture<T> call = new CompletableFuture<>();
+      this.calls.add(call);
+      return call;
+    }
+  }
+}
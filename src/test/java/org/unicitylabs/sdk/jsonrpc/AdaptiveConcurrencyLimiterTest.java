@@ -0,0 +1,108 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  @Test
+  public void testLimitIncreasesAdditivelyAndDecreasesMultiplicatively() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8);
+
+    for (int i = 0; i < 4; i++) {
+      Assertions.assertTrue(limiter.acquire().isDone());
+    }
+    CompletableFuture<Void> queued = limiter.acquire();
+    Assertions.assertFalse(queued.isDone());
+    Assertions.assertEquals(1, limiter.getQueued());
+
+    limiter.release(System.nanoTime(), false, null);
+    Assertions.assertTrue(queued.isDone());
+    Assertions.assertEquals(4, limiter.getInFlight());
+
+    for (int i = 0; i < 4; i++) {
+      limiter.release(System.nanoTime(), false, null);
+    }
+    Assertions.assertEquals(5, limiter.getLimit());
+
+    limiter.acquire();
+    limiter.release(System.nanoTime(), true, null);
+    Assertions.assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  public void testConcurrentOverloadHalvesLimitOnce() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 256);
+
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < 16; i++) {
+      Assertions.assertTrue(limiter.acquire().isDone());
+    }
+    for (int i = 0; i < 16; i++) {
+      limiter.release(startedAt, true, null);
+    }
+    Assertions.assertEquals(8, limiter.getLimit());
+    Assertions.assertEquals(0, limiter.getInFlight());
+
+    // Overload reported by request started after decrease halves limit again
+    limiter.acquire();
+    limiter.release(System.nanoTime(), true, null);
+    Assertions.assertEquals(4, limiter.getLimit());
+  }
+
+  @Test
+  public void testCancelledRequestsDoNotAdjustLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 8);
+
+    limiter.acquire();
+    CompletableFuture<Void> cancelled = limiter.acquire();
+    CompletableFuture<Void> queued = limiter.acquire();
+    Assertions.assertEquals(2, limiter.getQueued());
+    cancelled.cancel(false);
+    Assertions.assertEquals(1, limiter.getQueued());
+
+    limiter.release();
+    Assertions.assertTrue(queued.isDone());
+    Assertions.assertEquals(0, limiter.getQueued());
+    Assertions.assertEquals(1, limiter.getInFlight());
+    Assertions.assertEquals(1, limiter.getLimit());
+  }
+
+  @Test
+  public void testRetryAfterPausesRequests() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8);
+
+    limiter.acquire();
+    limiter.release(System.nanoTime(), true, Duration.ofMillis(200));
+    CompletableFuture<Void> paused = limiter.acquire();
+    Assertions.assertFalse(paused.isDone());
+    paused.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testRetryPolicy() {
+    JsonRpcRetryPolicy policy = new JsonRpcRetryPolicy(
+        3, Duration.ofMillis(100), Duration.ofSeconds(1), Set.of("get_block_height"));
+
+    Assertions.assertTrue(
+        policy.getRetryDelay("get_block_height", new IOException(), 1).isPresent());
+    Assertions.assertTrue(
+        policy.getRetryDelay("get_block_height", new IOException(), 3).isEmpty());
+    Assertions.assertTrue(
+        policy.getRetryDelay("submit_commitment", new IOException(), 1).isEmpty());
+    Assertions.assertTrue(policy.getRetryDelay("get_block_height",
+        new JsonRpcNetworkException(400, "Bad Request"), 1).isEmpty());
+    Assertions.assertTrue(policy.getRetryDelay("get_block_height",
+        new JsonRpcNetworkException(429, "Too Many Requests", Duration.ofSeconds(30)), 1)
+        .isEmpty());
+
+    Duration delay = policy.getRetryDelay("get_block_height",
+        new JsonRpcNetworkException(429, "Too Many Requests", Duration.ofMillis(500)), 2).get();
+    Assertions.assertTrue(delay.toMillis() >= 500 && delay.toMillis() <= 700, delay.toString());
+  }
+}
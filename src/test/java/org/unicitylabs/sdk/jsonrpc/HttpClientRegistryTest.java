@@ -0,0 +1,71 @@
+package org.unicitylabs.sdk.jsonrpc;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HttpClientRegistryTest {
+
+  @Test
+  public void testClientsAreSharedByConfig() {
+    HttpTransportConfig config = new HttpTransportConfig.Builder()
+        .maxRequestsPerHost(16)
+        .maxIdleConnections(8)
+        .keepAlive(Duration.ofSeconds(30))
+        .http2(false)
+        .build();
+    HttpTransportConfig sameConfig = new HttpTransportConfig.Builder()
+        .maxRequestsPerHost(16)
+        .maxIdleConnections(8)
+        .keepAlive(Duration.ofSeconds(30))
+        .http2(false)
+        .build();
+
+    Assertions.assertEquals(config, sameConfig);
+    Assertions.assertSame(HttpClientRegistry.getClient(config),
+        HttpClientRegistry.getClient(sameConfig));
+    Assertions.assertSame(HttpClientRegistry.getClient(), HttpClientRegistry.getClient(
+        HttpTransportConfig.DEFAULT));
+    Assertions.assertNotSame(HttpClientRegistry.getClient(config),
+        HttpClientRegistry.getClient());
+
+    int size = HttpClientRegistry.size();
+    for (int i = 0; i < 100; i++) {
+      new JsonRpcHttpTransport("http://localhost", sameConfig);
+    }
+    Assertions.assertEquals(size, HttpClientRegistry.size());
+
+    HttpTransportStatistics statistics = new JsonRpcHttpTransport("http://localhost", config)
+        .getStatistics();
+    Assertions.assertEquals(0, statistics.getRunningCallsCount());
+    Assertions.assertEquals(0, statistics.getQueuedCallsCount());
+  }
+
+  @Test
+  public void testLimiterDoesNotExceedRequestsPerHost() {
+    AdaptiveConcurrencyLimiter limiter = new JsonRpcHttpTransport("http://localhost")
+        .getLimiter();
+    int maxRequestsPerHost = HttpTransportConfig.DEFAULT.getMaxRequestsPerHost();
+    Assertions.assertEquals(maxRequestsPerHost, limiter.getLimit());
+
+    for (int i = 0; i < 100; i++) {
+      limiter.acquire();
+      limiter.release(System.nanoTime(), false, null);
+    }
+    Assertions.assertEquals(maxRequestsPerHost, limiter.getLimit());
+
+    HttpTransportConfig config = new HttpTransportConfig.Builder().maxRequestsPerHost(64).build();
+    Assertions.assertEquals(16, new JsonRpcHttpTransport("http://localhost", config)
+        .getLimiter().getLimit());
+  }
+
+  @Test
+  public void testInvalidConfig() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new HttpTransportConfig.Builder().maxRequestsPerHost(0));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new HttpTransportConfig.Builder().maxIdleConnections(-1));
+    Assertions.assertThrows(NullPointerException.class,
+        () -> new HttpTransportConfig.Builder().keepAlive(null));
+  }
+}
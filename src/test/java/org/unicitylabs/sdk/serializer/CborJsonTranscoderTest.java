@@ -0,0 +1,130 @@
+package org.unicitylabs.sdk.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.CborJsonTranscoder.Structure;
+import org.unicitylabs.sdk.serializer.json.JsonSerializationException;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+public class CborJsonTranscoderTest {
+
+  private StateTransitionClient client;
+  private RootTrustBase trustBase;
+
+  @BeforeEach
+  void setUp() {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    this.client = new StateTransitionClient(new TestAggregatorClient(signingService));
+    this.trustBase = RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey());
+  }
+
+  @Test
+  void testTokenWithHistory() throws Exception {
+    Token<?> token = TokenUtils.mintTokenWithHistory(this.client, this.trustBase, 3);
+
+    String json = CborJsonTranscoder.toJson(Structure.TOKEN, token.toCbor());
+    Assertions.assertEquals(token.toJson(), json);
+    Assertions.assertArrayEquals(token.toCbor(), CborJsonTranscoder.toCbor(Structure.TOKEN, json));
+    Assertions.assertEquals(token, Token.fromJson(json));
+  }
+
+  @Test
+  void testSplitToken() throws Exception {
+    Token<?> token = TokenUtils.mintSplitToken(this.client, this.trustBase);
+
+    String json = CborJsonTranscoder.toJson(Structure.TOKEN, token.toCbor());
+    Assertions.assertEquals(token.toJson(), json);
+    Assertions.assertArrayEquals(token.toCbor(), CborJsonTranscoder.toCbor(Structure.TOKEN, json));
+  }
+
+  @Test
+  void testTransactionsAndProofs() throws Exception {
+    Token<?> token = TokenUtils.mintTokenWithHistory(this.client, this.trustBase, 1);
+    TransferTransaction transaction = token.getTransactions().get(0);
+
+    Assertions.assertEquals(
+        UnicityObjectMapper.JSON.writeValueAsString(transaction),
+        CborJsonTranscoder.toJson(Structure.TRANSFER_TRANSACTION, transaction.toCbor())
+    );
+    Assertions.assertEquals(
+        UnicityObjectMapper.JSON.writeValueAsString(token.getGenesis()),
+        CborJsonTranscoder.toJson(Structure.MINT_TRANSACTION, token.getGenesis().toCbor())
+    );
+    Assertions.assertEquals(
+        UnicityObjectMapper.JSON.writeValueAsString(transaction.getInclusionProof()),
+        CborJsonTranscoder.toJson(
+            Structure.INCLUSION_PROOF,
+            transaction.getInclusionProof().toCbor()
+        )
+    );
+    Assertions.assertArrayEquals(
+        transaction.toCbor(),
+        CborJsonTranscoder.toCbor(
+            Structure.TRANSFER_TRANSACTION,
+            UnicityObjectMapper.JSON.writeValueAsString(transaction)
+        )
+    );
+  }
+
+  @Test
+  void testFieldOrderIsIgnored() throws Exception {
+    Token<?> token = TokenUtils.mintTokenWithHistory(this.client, this.trustBase, 1);
+    JsonNode reversed = CborJsonTranscoderTest.reverseFields(
+        UnicityObjectMapper.JSON.readTree(token.toJson()));
+    String json = UnicityObjectMapper.JSON.writeValueAsString(reversed);
+
+    Assertions.assertArrayEquals(token.toCbor(), CborJsonTranscoder.toCbor(Structure.TOKEN, json));
+    // Repeated field keeps last value
+    JsonNode sourceState = reversed.get("transactions").get(0).get("data").get("sourceState");
+    Assertions.assertArrayEquals(token.toCbor(), CborJsonTranscoder.toCbor(Structure.TOKEN,
+        json.replaceFirst("\\{", "{\"state\":" + sourceState + ",")));
+  }
+
+  @Test
+  void testInvalidInput() throws Exception {
+    Token<?> token = TokenUtils.mintToken(this.client, this.trustBase, TestUtils.randomBytes(32));
+
+    Assertions.assertThrows(JsonSerializationException.class,
+        () -> CborJsonTranscoder.toCbor(Structure.TOKEN, "{\"state\": null}"));
+    Assertions.assertThrows(JsonSerializationException.class,
+        () -> CborJsonTranscoder.toCbor(Structure.TOKEN,
+            token.toJson().replace("\"nametags\"", "\"unknown\"")));
+  }
+
+  private static JsonNode reverseFields(JsonNode node) {
+    if (node.isArray()) {
+      ArrayNode result = JsonNodeFactory.instance.arrayNode();
+      node.forEach(item -> result.add(CborJsonTranscoderTest.reverseFields(item)));
+      return result;
+    }
+    if (!node.isObject()) {
+      return node;
+    }
+
+    List<String> names = new ArrayList<>();
+    node.fieldNames().forEachRemaining(names::add);
+    Collections.reverse(names);
+    ObjectNode result = JsonNodeFactory.instance.objectNode();
+    for (String name : names) {
+      result.set(name, CborJsonTranscoderTest.reverseFields(node.get(name)));
+    }
+
+    return result;
+  }
+}
@@ -60,6 +60,27 @@ public class CborSerializerTest {
     );
   }
 
+  @Test
+  void testEncodeInteger() {
+    Assertions.assertArrayEquals(HexConverter.decode("05"), CborSerializer.encodeInteger(5));
+    Assertions.assertArrayEquals(HexConverter.decode("20"), CborSerializer.encodeInteger(-1));
+    Assertions.assertArrayEquals(HexConverter.decode("3863"), CborSerializer.encodeInteger(-100));
+    Assertions.assertArrayEquals(
+        HexConverter.decode("397d1b"),
+        CborSerializer.encodeInteger(-32028)
+    );
+
+    Assertions.assertEquals(-32028,
+        CborDeserializer.readInteger(CborSerializer.encodeInteger(-32028)));
+    Assertions.assertEquals(Long.MIN_VALUE,
+        CborDeserializer.readInteger(CborSerializer.encodeInteger(Long.MIN_VALUE)));
+    Assertions.assertEquals(66000, CborDeserializer.readInteger(HexConverter.decode("1a000101d0")));
+    Assertions.assertThrows(CborSerializationException.class,
+        () -> CborDeserializer.readInteger(HexConverter.decode("1bffffffffffffffff")));
+    Assertions.assertThrows(CborSerializationException.class,
+        () -> CborDeserializer.readInteger(HexConverter.decode("40")));
+  }
+
   @Test
   void testEncodeByteString() {
     Assertions.assertArrayEquals(
@@ -2,12 +2,17 @@ package org.unicitylabs.sdk.token;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
 import org.unicitylabs.sdk.address.DirectAddress;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
 import org.unicitylabs.sdk.bft.UnicityCertificate;
 import org.unicitylabs.sdk.bft.UnicityCertificateUtils;
 import org.unicitylabs.sdk.hash.DataHash;
@@ -15,13 +20,16 @@ import org.unicitylabs.sdk.hash.HashAlgorithm;
 import org.unicitylabs.sdk.mtree.plain.SparseMerkleTreePathFixture;
 import org.unicitylabs.sdk.predicate.embedded.MaskedPredicate;
 import org.unicitylabs.sdk.serializer.UnicityObjectMapper;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
 import org.unicitylabs.sdk.signing.SigningService;
 import org.unicitylabs.sdk.token.fungible.CoinId;
 import org.unicitylabs.sdk.token.fungible.TokenCoinData;
 import org.unicitylabs.sdk.transaction.InclusionProofFixture;
 import org.unicitylabs.sdk.transaction.MintTransaction;
 import org.unicitylabs.sdk.transaction.MintTransactionFixture;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
 import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
 import org.unicitylabs.sdk.verification.VerificationException;
 
 public class TokenTest {
@@ -111,4 +119,43 @@ public class TokenTest {
             Token.class));
   }
 
+  @Test
+  public void testCborEncodingIsReused() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+    Token<?> token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        3
+    );
+
+    for (TransferTransaction transaction : token.getTransactions()) {
+      byte[] encoded = transaction.toCbor();
+      Assertions.assertArrayEquals(
+          CborSerializer.encodeArray(
+              transaction.getData().toCbor(),
+              transaction.getInclusionProof().toCbor()
+          ),
+          encoded
+      );
+      encoded[0] ^= 1;
+      Assertions.assertFalse(Arrays.equals(encoded, transaction.toCbor()));
+    }
+
+    byte[] encoded = token.toCbor();
+    encoded[0] ^= 1;
+    Assertions.assertFalse(Arrays.equals(encoded, token.toCbor()));
+
+    // Version length written in non-shortest form is decoded, but not kept as encoding
+    byte[] canonical = token.toCbor();
+    byte[] nonCanonical = new byte[canonical.length + 1];
+    nonCanonical[0] = canonical[0];
+    nonCanonical[1] = 0x78;
+    nonCanonical[2] = 0x03;
+    System.arraycopy(canonical, 2, nonCanonical, 3, canonical.length - 2);
+    Token<?> decoded = Token.fromCbor(nonCanonical);
+    Assertions.assertEquals(token, decoded);
+    Assertions.assertArrayEquals(canonical, decoded.toCbor());
+  }
 }
@@ -0,0 +1,116 @@
+package org.unicitylabs.sdk.token;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.utils.TokenUtils;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+public class TokenVerificationCacheTest {
+
+  private static byte[] publicKey;
+  private static RootTrustBase trustBase;
+  private static Token<?> token;
+  private static Token<?> prefix;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    publicKey = signingService.getPublicKey();
+    trustBase = RootTrustBaseUtils.generateRootTrustBase(publicKey);
+    token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        5
+    );
+
+    TransferTransaction next = token.getTransactions().get(3);
+    prefix = new Token<>(
+        next.getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions().subList(0, 3),
+        next.getData().getNametags()
+    );
+  }
+
+  @Test
+  public void testVerificationResumesFromVerifiedPrefix() {
+    TokenVerificationCache cache = new TokenVerificationCache();
+    TokenVerifier verifier = new TokenVerifier(trustBase, cache);
+
+    VerificationResult result = verifier.verify(prefix);
+    Assertions.assertTrue(result.isSuccessful());
+    Assertions.assertFalse(result.toString().contains("Checkpoint verification"));
+    int size = cache.size();
+
+    result = verifier.verify(token);
+    Assertions.assertTrue(result.isSuccessful());
+    Assertions.assertTrue(result.toString().contains("Checkpoint verification of 3 transactions"));
+    Assertions.assertTrue(cache.getHitCount() > 0);
+    Assertions.assertTrue(cache.size() > size);
+
+    size = cache.size();
+    Assertions.assertTrue(
+        verifier.verify(token).toString().contains("Checkpoint verification of 5 transactions"));
+    Assertions.assertEquals(size, cache.size());
+  }
+
+  @Test
+  public void testFailedVerificationIsNotCached() {
+    TokenVerificationCache cache = new TokenVerificationCache();
+    RootTrustBase otherTrustBase = RootTrustBaseUtils.generateRootTrustBase(
+        new SigningService(SigningService.generatePrivateKey()).getPublicKey());
+
+    Assertions.assertTrue(new TokenVerifier(trustBase, cache).verify(prefix).isSuccessful());
+    int size = cache.size();
+
+    VerificationResult result = new TokenVerifier(otherTrustBase, cache).verify(token);
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertFalse(result.toString().contains("Checkpoint verification"));
+    Assertions.assertEquals(size, cache.size());
+  }
+
+  @Test
+  public void testCheckpointsAreBoundToFullTrustBase() {
+    TokenVerificationCache cache = new TokenVerificationCache();
+    Assertions.assertTrue(new TokenVerifier(trustBase, cache).verify(token).isSuccessful());
+
+    // Same nodes and epoch, but quorum cannot be reached with single signature
+    RootTrustBase strictTrustBase = RootTrustBaseUtils.generateRootTrustBase(publicKey, 2);
+    VerificationResult result = new TokenVerifier(strictTrustBase, cache).verify(token);
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertFalse(result.toString().contains("Checkpoint verification"));
+
+    // Equal trust base decoded again shares checkpoints
+    Assertions.assertTrue(
+        new TokenVerifier(RootTrustBase.fromJson(trustBase.toJson()), cache).verify(token)
+            .toString().contains("Checkpoint verification of 5 transactions"));
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    TokenVerificationCache cache = new TokenVerificationCache(1);
+    TokenVerifier verifier = new TokenVerifier(trustBase, cache);
+    verifier.verify(prefix);
+    verifier.verify(token);
+    Assertions.assertEquals(1, cache.size());
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    cache.save(output);
+
+    TokenVerificationCache loaded = new TokenVerificationCache();
+    Assertions.assertEquals(1, loaded.load(new ByteArrayInputStream(output.toByteArray())));
+    Assertions.assertTrue(new TokenVerifier(trustBase, loaded).verify(token).toString()
+        .contains("Checkpoint verification of 5 transactions"));
+    Assertions.assertFalse(new TokenVerifier(trustBase, loaded).verify(prefix).toString()
+        .contains("Checkpoint verification"));
+  }
+}
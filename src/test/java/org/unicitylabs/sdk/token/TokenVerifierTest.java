@@ -0,0 +1,199 @@
+package org.unicitylabs.sdk.token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.utils.TokenUtils;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+public class TokenVerifierTest {
+
+  private static byte[] publicKey;
+  private static RootTrustBase trustBase;
+  private static Token<?> token;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    publicKey = signingService.getPublicKey();
+    trustBase = RootTrustBaseUtils.generateRootTrustBase(publicKey);
+    token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        6
+    );
+  }
+
+  @Test
+  public void testResultMatchesPerTransactionVerification() {
+    VerificationResult result = new TokenVerifier(trustBase).verify(token);
+
+    Assertions.assertTrue(result.isSuccessful());
+    Assertions.assertEquals(verifyPerTransaction(token, trustBase).toString(), result.toString());
+  }
+
+  @Test
+  public void testFailureMatchesPerTransactionVerification() {
+    RootTrustBase otherTrustBase = RootTrustBaseUtils.generateRootTrustBase(
+        new SigningService(SigningService.generatePrivateKey()).getPublicKey());
+
+    VerificationResult result = new TokenVerifier(otherTrustBase).verify(token);
+
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertEquals(verifyPerTransaction(token, otherTrustBase).toString(),
+        result.toString());
+  }
+
+  @Test
+  public void testParallelResultMatchesSequential() {
+    RootTrustBase otherTrustBase = RootTrustBaseUtils.generateRootTrustBase(
+        new SigningService(SigningService.generatePrivateKey()).getPublicKey());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (RootTrustBase base : List.of(trustBase, otherTrustBase)) {
+        Assertions.assertEquals(
+            new TokenVerifier(base).verify(token).toString(),
+            token.verify(base, executor).toString()
+        );
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testNametagResultsAreMemoized() {
+    Token<?> nametag = token.getNametags().get(0);
+    Map<DataHash, VerificationResult> nametagResults = new HashMap<>();
+
+    VerificationResult result = new TokenVerifier(trustBase).verifyNametagTokens(
+        List.of(nametag, Token.fromCbor(nametag.toCbor())), nametagResults);
+    Assertions.assertTrue(result.isSuccessful());
+    Assertions.assertEquals(1, nametagResults.size());
+
+    TokenVerificationCache cache = new TokenVerificationCache();
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertTrue(
+          new TokenVerifier(trustBase, cache).verifyNametagTokens(List.of(nametag))
+              .isSuccessful());
+    }
+    Assertions.assertEquals(1, cache.getNametagResultCount());
+    Assertions.assertEquals(1, cache.getMissCount() + cache.getHitCount());
+  }
+
+  @Test
+  public void testNametagResultsAreBoundToFullTrustBase() {
+    List<Token<?>> nametags = List.of(token.getNametags().get(0));
+    TokenVerificationCache cache = new TokenVerificationCache();
+    Assertions.assertTrue(
+        new TokenVerifier(trustBase, cache).verifyNametagTokens(nametags).isSuccessful());
+
+    // Trust bases differ only in quorum threshold
+    RootTrustBase strictTrustBase = RootTrustBaseUtils.generateRootTrustBase(publicKey, 2);
+    Assertions.assertFalse(
+        new TokenVerifier(strictTrustBase, cache).verifyNametagTokens(nametags).isSuccessful());
+    Assertions.assertEquals(2, cache.getNametagResultCount());
+  }
+
+  @Test
+  public void testFailFastVerification() {
+    Assertions.assertSame(VerificationResult.success(), token.verifyFailFast(trustBase));
+
+    VerificationResult result = token.verifyFailFast(
+        RootTrustBaseUtils.generateRootTrustBase(
+            new SigningService(SigningService.generatePrivateKey()).getPublicKey()));
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertEquals("Genesis verification failed", result.getMessage());
+
+    TransferTransaction last = token.getTransactions().get(token.getTransactions().size() - 1);
+    Token<?> tampered = new Token<>(
+        last.getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions(),
+        token.getNametags()
+    );
+    result = tampered.verifyFailFast(trustBase);
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertFalse(tampered.verify(trustBase).isSuccessful());
+    Assertions.assertEquals("Recipient address mismatch", result.getMessage());
+  }
+
+  @Test
+  public void testTransactionFailFastVerification() {
+    int count = token.getTransactions().size();
+    TransferTransaction last = token.getTransactions().get(count - 1);
+    Token<?> sourceToken = Token.createView(
+        last.getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions().subList(0, count - 1),
+        last.getData().getNametags()
+    );
+    Assertions.assertSame(VerificationResult.success(),
+        last.verifyFailFast(trustBase, sourceToken));
+
+    // Source state of other transaction does not match its predecessor
+    Token<?> wrongSource = Token.createView(
+        token.getTransactions().get(0).getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions().subList(0, count - 1),
+        last.getData().getNametags()
+    );
+    VerificationResult result = last.verifyFailFast(trustBase, wrongSource);
+    Assertions.assertFalse(result.isSuccessful());
+    Assertions.assertFalse(last.verify(trustBase, wrongSource).isSuccessful());
+  }
+
+  /**
+   * Verification which rebuilds token at source state of every transaction.
+   */
+  private static VerificationResult verifyPerTransaction(Token<?> token, RootTrustBase trustBase) {
+    List<VerificationResult> results = new ArrayList<>();
+    results.add(
+        VerificationResult.fromChildren(
+            "Genesis verification",
+            List.of(token.getGenesis().verify(trustBase))
+        )
+    );
+
+    for (int i = 0; i < token.getTransactions().size(); i++) {
+      TransferTransaction transaction = token.getTransactions().get(i);
+      results.add(
+          transaction.verify(
+              trustBase,
+              new Token<>(
+                  transaction.getData().getSourceState(),
+                  token.getGenesis(),
+                  new ArrayList<>(token.getTransactions().subList(0, i)),
+                  transaction.getData().getNametags()
+              )
+          )
+      );
+    }
+
+    results.add(
+        VerificationResult.fromChildren(
+            "Current state verification",
+            List.of(
+                token.verifyNametagTokens(trustBase),
+                token.verifyRecipient(),
+                token.verifyRecipientData()
+            )
+        )
+    );
+
+    return VerificationResult.fromChildren("Token verification", results);
+  }
+}
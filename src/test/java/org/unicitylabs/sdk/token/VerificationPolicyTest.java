@@ -0,0 +1,163 @@
+package org.unicitylabs.sdk.token;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.utils.TokenUtils;
+import org.unicitylabs.sdk.verification.VerificationException;
+import org.unicitylabs.sdk.verification.VerificationResult;
+import org.unicitylabs.sdk.verification.VerificationResultCode;
+
+public class VerificationPolicyTest {
+
+  private static RootTrustBase trustBase;
+  private static Token<?> token;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    trustBase = RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey());
+    token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        4
+    );
+  }
+
+  @Test
+  public void testTokenWithinLimitsIsVerified() {
+    VerificationResult result = token.verify(trustBase, VerificationPolicy.DEFAULT);
+
+    Assertions.assertTrue(result.isSuccessful());
+    Assertions.assertEquals(token.verify(trustBase).toString(), result.toString());
+  }
+
+  @Test
+  public void testExceededLimitsAbortVerification() {
+    List<VerificationPolicy> policies = List.of(
+        new VerificationPolicy(3, 4, 1000, 1000, 1_000_000),
+        new VerificationPolicy(1000, 0, 1000, 1000, 1_000_000),
+        new VerificationPolicy(1000, 4, 1, 1000, 1_000_000),
+        new VerificationPolicy(1000, 4, 1000, 0, 1_000_000),
+        new VerificationPolicy(1000, 4, 1000, 1000, 5)
+    );
+
+    for (VerificationPolicy policy : policies) {
+      VerificationResult result = token.verify(trustBase, policy);
+      Assertions.assertFalse(result.isSuccessful());
+      Assertions.assertEquals(VerificationResultCode.BUDGET_EXCEEDED, result.getCode());
+    }
+  }
+
+  @Test
+  public void testDistinctNametagsAreCounted() {
+    Token<?> nametag = token.getNametags().get(0);
+    Token<?> repeated = Token.createView(
+        token.getState(),
+        token.getGenesis(),
+        token.getTransactions(),
+        List.of(nametag, Token.fromCbor(nametag.toCbor()))
+    );
+
+    // Two distinct nametags in three places, one in history and one repeated in current state
+    Assertions.assertTrue(
+        new VerificationPolicy(1000, 4, 2, 1000, 1_000_000).check(repeated).isSuccessful());
+  }
+
+  @Test
+  public void testNametagHistoryIsCheckedBeforeNametagIsHashed() {
+    Token<?> nametag = token.getNametags().get(0);
+    Token<?> withLongNametag = Token.createView(
+        token.getState(),
+        token.getGenesis(),
+        List.of(),
+        Collections.nCopies(10_000, token)
+    );
+
+    VerificationResult result = new VerificationPolicy(
+        token.getTransactions().size() - 1, 4, 1000, 1000, 1_000_000).check(withLongNametag);
+    Assertions.assertEquals(VerificationResultCode.BUDGET_EXCEEDED, result.getCode());
+    Assertions.assertTrue(result.toString().contains("History length"), result.toString());
+    Assertions.assertTrue(new VerificationPolicy(1000, 4, 2, 1000, 1_000_000)
+        .check(Token.createView(token.getState(), token.getGenesis(), List.of(),
+            Collections.nCopies(10_000, nametag)))
+        .isSuccessful());
+  }
+
+  @Test
+  public void testPolicyAppliesToEveryVerificationPath() {
+    VerificationPolicy policy = new VerificationPolicy(3, 4, 1000, 1000, 1_000_000);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      for (VerificationResult result : List.of(
+          token.verify(trustBase, executor, policy),
+          token.verifyFailFast(trustBase, policy),
+          new TokenVerifier(trustBase, new TokenVerificationCache()).verify(token, policy),
+          new TokenVerifier(trustBase, new TokenVerificationCache())
+              .verifyFailFast(token, policy))) {
+        Assertions.assertEquals(VerificationResultCode.BUDGET_EXCEEDED, result.getCode());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertSame(VerificationResult.success(),
+        token.verifyFailFast(trustBase, VerificationPolicy.DEFAULT));
+  }
+
+  @Test
+  public void testUpdateChecksPolicy() throws Exception {
+    int count = token.getTransactions().size();
+    TransferTransaction transaction = token.getTransactions().get(count - 1);
+    Token<?> sourceToken = Token.createView(
+        transaction.getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions().subList(0, count - 1),
+        transaction.getData().getNametags()
+    );
+
+    Assertions.assertEquals(token, sourceToken.update(trustBase, token.getState(), transaction,
+        token.getNametags(), VerificationPolicy.DEFAULT));
+
+    VerificationException exception = Assertions.assertThrows(VerificationException.class,
+        () -> sourceToken.update(trustBase, token.getState(), transaction, token.getNametags(),
+            new VerificationPolicy(count - 1, 4, 1000, 1000, 1_000_000)));
+    Assertions.assertEquals(VerificationResultCode.BUDGET_EXCEEDED,
+        exception.getVerificationResult().getCode());
+
+    // Nametags carried by transaction are charged before transaction is verified
+    List<byte[]> data = CborDeserializer.readArray(transaction.toCbor());
+    List<byte[]> transactionData = CborDeserializer.readArray(data.get(0));
+    transactionData.set(5, CborSerializer.encodeArray(token.getNametags().get(0).toCbor()));
+    TransferTransaction transactionWithNametags = TransferTransaction.fromCbor(
+        CborSerializer.encodeArray(
+            CborSerializer.encodeArray(transactionData.toArray(new byte[0][])),
+            data.get(1)
+        )
+    );
+    Token<?> sourceTokenWithoutNametags = Token.createView(
+        transaction.getData().getSourceState(),
+        token.getGenesis(),
+        token.getTransactions().subList(0, count - 1),
+        List.of()
+    );
+    exception = Assertions.assertThrows(VerificationException.class,
+        () -> sourceTokenWithoutNametags.update(trustBase, token.getState(),
+            transactionWithNametags, List.of(),
+            new VerificationPolicy(1000, 0, 1000, 1000, 1_000_000)));
+    Assertions.assertEquals(VerificationResultCode.BUDGET_EXCEEDED,
+        exception.getVerificationResult().getCode());
+  }
+}
@@ -0,0 +1,164 @@
+package org.unicitylabs.sdk.token.bundle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.cbor.CborDeserializer;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializationException;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializer;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+
+public class TokenBundleTest {
+
+  @Test
+  public void testBundleRoundTripDeduplicatesSharedObjects() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    RootTrustBase trustBase = RootTrustBaseUtils.generateRootTrustBase(
+        signingService.getPublicKey());
+    Token<?> token = TokenUtils.mintTokenWithHistory(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        trustBase,
+        6
+    );
+
+    // Nametags also exported as standalone tokens, token repeated as in incremental backups
+    List<Token<?>> tokens = new ArrayList<>();
+    for (TransferTransaction transaction : token.getTransactions()) {
+      tokens.addAll(transaction.getData().getNametags());
+    }
+    tokens.add(token);
+    tokens.add(token);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int plainSize = 0;
+    int repeatedTokenSize = 0;
+    try (TokenBundleWriter writer = new TokenBundleWriter(output)) {
+      for (Token<?> item : tokens) {
+        int position = output.size();
+        writer.write(item);
+        plainSize += item.toCbor().length;
+        repeatedTokenSize = output.size() - position;
+      }
+      Assertions.assertEquals(tokens.size(), writer.getTokenCount());
+    }
+    // Repeated token only carries its own transaction data, certificates and nametags are shared
+    Assertions.assertTrue(repeatedTokenSize * 2 < token.toCbor().length);
+    Assertions.assertTrue(output.size() < plainSize);
+
+    try (TokenBundleReader reader = new TokenBundleReader(
+        new ByteArrayInputStream(output.toByteArray()))) {
+      for (Token<?> item : tokens) {
+        Token<?> result = reader.read();
+        Assertions.assertArrayEquals(item.toCbor(), result.toCbor());
+        Assertions.assertEquals(item, result);
+      }
+      Assertions.assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testTruncatedBundleIsRejected() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new TokenBundleWriter(output).close();
+    byte[] bytes = output.toByteArray();
+
+    Assertions.assertNull(new TokenBundleReader(new ByteArrayInputStream(bytes)).read());
+    Assertions.assertThrows(CborSerializationException.class,
+        () -> new TokenBundleReader(new ByteArrayInputStream(new byte[0])).read());
+    Assertions.assertThrows(CborSerializationException.class,
+        () -> new TokenBundleReader(
+            new ByteArrayInputStream(new byte[]{bytes[0], (byte) 0x82, 0x01})).read());
+  }
+
+  @Test
+  public void testBundleExpandingBeyondMaxTokenSizeIsRejected() throws Exception {
+    byte[] token = TokenBundleTest.mintToken().toCbor();
+
+    // Every definition references previous one twice, so expanded size doubles on each level
+    ByteArrayOutputStream output = TokenBundleTest.createBundle();
+    TokenBundleTest.writeRecord(output, TokenBundle.DEFINITION_RECORD, token);
+    for (int i = 1; i <= 40; i++) {
+      TokenBundleTest.writeRecord(output, TokenBundle.DEFINITION_RECORD,
+          TokenBundleTest.setNametags(token, TokenBundleTest.reference(i - 1),
+              TokenBundleTest.reference(i - 1)));
+    }
+    TokenBundleTest.writeRecord(output, TokenBundle.TOKEN_RECORD,
+        TokenBundleTest.setNametags(token, TokenBundleTest.reference(40)));
+
+    TokenBundleReader reader = new TokenBundleReader(
+        new ByteArrayInputStream(output.toByteArray()), 1024 * 1024);
+    CborSerializationException exception = Assertions.assertThrows(
+        CborSerializationException.class, reader::read);
+    Assertions.assertTrue(exception.getMessage().contains("maximum token size"));
+  }
+
+  @Test
+  public void testReferenceToWrongKindOfObjectIsRejected() throws Exception {
+    byte[] token = TokenBundleTest.mintToken().toCbor();
+
+    ByteArrayOutputStream output = TokenBundleTest.createBundle();
+    TokenBundleTest.writeRecord(output, TokenBundle.DEFINITION_RECORD, token);
+    TokenBundleTest.writeRecord(output, TokenBundle.TOKEN_RECORD,
+        TokenBundleTest.setNametags(token, TokenBundleTest.reference(0)));
+
+    // Nametag definition referenced in place of genesis unicity certificate
+    List<byte[]> data = CborDeserializer.readArray(token);
+    List<byte[]> genesis = CborDeserializer.readArray(data.get(2));
+    List<byte[]> inclusionProof = CborDeserializer.readArray(genesis.get(1));
+    inclusionProof.set(3, TokenBundleTest.reference(0));
+    genesis.set(1, CborSerializer.encodeArray(inclusionProof.toArray(new byte[0][])));
+    data.set(2, CborSerializer.encodeArray(genesis.toArray(new byte[0][])));
+    TokenBundleTest.writeRecord(output, TokenBundle.TOKEN_RECORD,
+        CborSerializer.encodeArray(data.toArray(new byte[0][])));
+
+    TokenBundleReader reader = new TokenBundleReader(
+        new ByteArrayInputStream(output.toByteArray()));
+    Assertions.assertNotNull(reader.read());
+    CborSerializationException exception = Assertions.assertThrows(
+        CborSerializationException.class, reader::read);
+    Assertions.assertEquals("Token bundle reference to wrong kind of object.",
+        exception.getMessage());
+  }
+
+  private static Token<?> mintToken() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    return TokenUtils.mintToken(
+        new StateTransitionClient(new TestAggregatorClient(signingService)),
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        TestUtils.randomBytes(32)
+    );
+  }
+
+  private static ByteArrayOutputStream createBundle() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(CborSerializer.encodeUnsignedInteger(TokenBundle.VERSION));
+    return output;
+  }
+
+  private static void writeRecord(ByteArrayOutputStream output, long type, byte[] payload)
+      throws Exception {
+    output.write(CborSerializer.encodeArray(CborSerializer.encodeUnsignedInteger(type), payload));
+  }
+
+  private static byte[] reference(int index) {
+    return CborSerializer.encodeTag(TokenBundle.REFERENCE_TAG,
+        CborSerializer.encodeUnsignedInteger(index));
+  }
+
+  private static byte[] setNametags(byte[] token, byte[]... nametags) {
+    List<byte[]> data = CborDeserializer.readArray(token);
+    data.set(4, CborSerializer.encodeArray(nametags));
+    return CborSerializer.encodeArray(data.toArray(new byte[0][]));
+  }
+}
@@ -0,0 +1,117 @@
+package org.unicitylabs.sdk.token.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.serializer.cbor.CborSerializationException;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.token.Token;
+import org.unicitylabs.sdk.utils.TestUtils;
+import org.unicitylabs.sdk.utils.TokenUtils;
+import org.unicitylabs.sdk.verification.VerificationResult;
+
+public class TokenStreamTest {
+
+  private static RootTrustBase trustBase;
+  private static List<Token<?>> tokens;
+  private static Path file;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    trustBase = RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey());
+    StateTransitionClient client = new StateTransitionClient(
+        new TestAggregatorClient(signingService));
+
+    tokens = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tokens.add(TokenUtils.mintToken(client, trustBase, TestUtils.randomBytes(32)));
+    }
+
+    file = Files.createTempFile("tokens", ".cbor");
+    try (TokenWriter writer = new TokenWriter(
+        FileChannel.open(file, StandardOpenOption.WRITE))) {
+      for (Token<?> item : tokens) {
+        writer.write(item);
+      }
+      Assertions.assertEquals(tokens.size(), writer.getTokenCount());
+    }
+  }
+
+  @AfterAll
+  static void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testReadMemoryMappedFile() throws Exception {
+    List<Token<?>> result = new ArrayList<>();
+    try (TokenReader reader = TokenReader.open(file)) {
+      Assertions.assertEquals(tokens.size(), reader.readAll(result::add));
+      Assertions.assertNull(reader.read());
+    }
+
+    Assertions.assertEquals(tokens, result);
+  }
+
+  @Test
+  public void testReadWithParallelVerification() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    List<Token<?>> result = new ArrayList<>();
+    try (TokenReader reader = new TokenReader(Files.newInputStream(file))) {
+      reader.readAll(token -> token.verify(trustBase), executor, 2, (token, verification) -> {
+        Assertions.assertTrue(verification.isSuccessful());
+        result.add(token);
+      });
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertEquals(tokens, result);
+  }
+
+  @Test
+  public void testVerificationFailureIsReported() throws Exception {
+    RootTrustBase otherTrustBase = RootTrustBaseUtils.generateRootTrustBase(
+        new SigningService(SigningService.generatePrivateKey()).getPublicKey());
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    List<VerificationResult> results = new ArrayList<>();
+    try (TokenReader reader = new TokenReader(Files.newByteChannel(file))) {
+      reader.readAll(token -> token.verify(otherTrustBase), executor, 4,
+          (token, verification) -> results.add(verification));
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertEquals(tokens.size(), results.size());
+    results.forEach(result -> Assertions.assertFalse(result.isSuccessful()));
+  }
+
+  @Test
+  public void testTruncatedInputIsRejected() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (TokenWriter writer = new TokenWriter(output)) {
+      writer.write(tokens.get(0));
+    }
+    byte[] bytes = output.toByteArray();
+
+    TokenReader reader = new TokenReader(
+        new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+    Assertions.assertThrows(CborSerializationException.class, reader::read);
+  }
+}
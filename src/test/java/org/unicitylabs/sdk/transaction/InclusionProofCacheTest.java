@@ -0,0 +1,148 @@
+package org.unicitylabs.sdk.transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.StateTransitionClient;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.api.AggregatorClient;
+import org.unicitylabs.sdk.api.Authenticator;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.api.RequestId;
+import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
+import org.unicitylabs.sdk.bft.RootTrustBase;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.signing.SigningService;
+
+public class InclusionProofCacheTest {
+
+  private SigningService signingService;
+  private RootTrustBase trustBase;
+  private CountingAggregatorClient client;
+  private DataHash transactionHash;
+  private Authenticator authenticator;
+  private RequestId requestId;
+
+  @BeforeEach
+  void setUp() {
+    this.signingService = new SigningService(SigningService.generatePrivateKey());
+    this.trustBase = RootTrustBaseUtils.generateRootTrustBase(this.signingService.getPublicKey());
+    this.client = new CountingAggregatorClient(new TestAggregatorClient(this.signingService));
+    this.transactionHash = new DataHash(HashAlgorithm.SHA256, new byte[32]);
+    this.authenticator = Authenticator.create(this.signingService, this.transactionHash,
+        new DataHash(HashAlgorithm.SHA256, new byte[32]));
+    this.requestId = RequestId.create(this.signingService.getPublicKey(),
+        this.authenticator.getStateHash());
+  }
+
+  @Test
+  public void testNonInclusionIsCachedUntilNextBlock() throws Exception {
+    InclusionProofCache cache = new InclusionProofCache();
+    StateTransitionClient stateTransitionClient = new StateTransitionClient(this.client, cache);
+
+    Assertions.assertFalse(stateTransitionClient.isStateSpent(this.requestId, this.trustBase).get());
+    Assertions.assertFalse(stateTransitionClient.isStateSpent(this.requestId, this.trustBase).get());
+    Assertions.assertEquals(1, this.client.proofRequests.get());
+
+    this.client.submitCommitment(this.requestId, this.transactionHash, this.authenticator).get();
+    Assertions.assertFalse(stateTransitionClient.isStateSpent(this.requestId, this.trustBase).get());
+    this.client.blockHeight.incrementAndGet();
+    Assertions.assertTrue(stateTransitionClient.isStateSpent(this.requestId, this.trustBase).get());
+    Assertions.assertEquals(2, this.client.proofRequests.get());
+
+    int blockHeightRequests = this.client.blockHeightRequests.get();
+    this.client.blockHeight.incrementAndGet();
+    Assertions.assertTrue(stateTransitionClient.isStateSpent(this.requestId, this.trustBase).get());
+    Assertions.assertEquals(2, this.client.proofRequests.get());
+    Assertions.assertEquals(blockHeightRequests, this.client.blockHeightRequests.get());
+
+    Assertions.assertEquals(4, cache.getHitCount());
+    Assertions.assertEquals(1, cache.getMissCount());
+    Assertions.assertEquals(0.8, cache.getHitRatio());
+  }
+
+  @Test
+  public void testNonInclusionFetchedAtEarlierHeightIsNotServed() throws Exception {
+    InclusionProof inclusionProof = this.client.getInclusionProof(this.requestId).get()
+        .getInclusionProof();
+    InclusionProofCache cache = new InclusionProofCache();
+    cache.updateBlockHeight(5);
+
+    // Proof fetched at height 4 arrives after height advanced to 5
+    Assertions.assertEquals(InclusionProofVerificationStatus.PATH_NOT_INCLUDED,
+        cache.put(this.requestId, inclusionProof, this.trustBase, 4));
+    Assertions.assertTrue(cache.getStatus(this.requestId, this.trustBase).isEmpty());
+
+    cache.put(this.requestId, inclusionProof, this.trustBase, 5);
+    Assertions.assertTrue(cache.getStatus(this.requestId, this.trustBase).isPresent());
+    cache.updateBlockHeight(6);
+    Assertions.assertTrue(cache.getStatus(this.requestId, this.trustBase).isEmpty());
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception {
+    this.client.submitCommitment(this.requestId, this.transactionHash, this.authenticator).get();
+    InclusionProof inclusionProof = this.client.getInclusionProof(this.requestId).get()
+        .getInclusionProof();
+
+    InclusionProofCache cache = new InclusionProofCache(1);
+    Assertions.assertEquals(InclusionProofVerificationStatus.OK,
+        cache.put(this.requestId, inclusionProof, this.trustBase));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    cache.save(output);
+
+    InclusionProofCache loaded = new InclusionProofCache();
+    Assertions.assertEquals(1,
+        loaded.load(new ByteArrayInputStream(output.toByteArray()), this.trustBase));
+    Assertions.assertEquals(inclusionProof, loaded.get(this.requestId, this.trustBase).get());
+    // Trust bases are compared by content
+    Assertions.assertEquals(inclusionProof, loaded.get(this.requestId,
+        RootTrustBase.fromJson(this.trustBase.toJson())).get());
+
+    RootTrustBase otherTrustBase = RootTrustBaseUtils.generateRootTrustBase(
+        new SigningService(SigningService.generatePrivateKey()).getPublicKey());
+    Assertions.assertEquals(0,
+        new InclusionProofCache().load(new ByteArrayInputStream(output.toByteArray()),
+            otherTrustBase));
+  }
+
+  private static class CountingAggregatorClient implements AggregatorClient {
+
+    private final AggregatorClient client;
+    private final AtomicLong blockHeight = new AtomicLong(1);
+    private final AtomicInteger proofRequests = new AtomicInteger();
+    private final AtomicInteger blockHeightRequests = new AtomicInteger();
+
+    CountingAggregatorClient(AggregatorClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+        RequestId requestId,
+        DataHash transactionHash,
+        Authenticator authenticator
+    ) {
+      return this.client.submitCommitment(requestId, transactionHash, authenticator);
+    }
+
+    @Override
+    public CompletableFuture<InclusionProofResponse> getInclusionProof(RequestId requestId) {
+      this.proofRequests.incrementAndGet();
+      return this.client.getInclusionProof(requestId);
+    }
+
+    @Override
+    public CompletableFuture<Long> getBlockHeight() {
+      this.blockHeightRequests.incrementAndGet();
+      return CompletableFuture.completedFuture(this.blockHeight.get());
+    }
+  }
+}
@@ -11,6 +11,7 @@ import org.unicitylabs.sdk.bft.RootTrustBase;
 import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
 import org.unicitylabs.sdk.bft.UnicityCertificate;
 import org.unicitylabs.sdk.bft.UnicityCertificateUtils;
+import org.unicitylabs.sdk.bft.verification.UnicityCertificateVerificationCache;
 import org.unicitylabs.sdk.hash.DataHash;
 import org.unicitylabs.sdk.hash.HashAlgorithm;
 import org.unicitylabs.sdk.mtree.plain.SparseMerkleTree;
@@ -147,4 +148,37 @@ public class InclusionProofTest {
         invalidInclusionProof.verify(this.requestId, this.trustBase)
     );
   }
+
+  @Test
+  public void testItVerifiesWithCertificateCache() {
+    InclusionProof inclusionProof = new InclusionProof(
+        this.merkleTreePath,
+        this.authenticator,
+        this.transactionHash,
+        this.unicityCertificate
+    );
+    UnicityCertificateVerificationCache certificates =
+        new UnicityCertificateVerificationCache(this.trustBase);
+
+    Assertions.assertEquals(
+        InclusionProofVerificationStatus.OK,
+        inclusionProof.verify(this.requestId, certificates)
+    );
+    Assertions.assertEquals(InclusionProofVerificationStatus.PATH_NOT_INCLUDED,
+        inclusionProof.verify(
+            RequestId.create(new byte[32], new DataHash(HashAlgorithm.SHA256, new byte[32])),
+            certificates
+        )
+    );
+    Assertions.assertEquals(1, certificates.size());
+    Assertions.assertEquals(
+        InclusionProofVerificationStatus.NOT_AUTHENTICATED,
+        inclusionProof.verify(
+            this.requestId,
+            new UnicityCertificateVerificationCache(
+                RootTrustBaseUtils.generateRootTrustBase(
+                    new SigningService(SigningService.generatePrivateKey()).getPublicKey()))
+        )
+    );
+  }
 }
@@ -0,0 +1,50 @@
+package org.unicitylabs.sdk.util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompletableFuturesTest {
+
+  @Test
+  public void testCancellationPropagatesToComposedFutures() {
+    CompletableFuture<Integer> source = new CompletableFuture<>();
+    CompletableFuture<String> next = new CompletableFuture<>();
+    CompletableFuture<String> result = CompletableFutures.thenCompose(source, value -> next);
+
+    source.complete(1);
+    Assertions.assertFalse(next.isDone());
+
+    result.cancel(true);
+    Assertions.assertTrue(next.isCancelled());
+  }
+
+  @Test
+  public void testTimeoutCancelsSource() throws Exception {
+    CompletableFuture<Integer> source = new CompletableFuture<>();
+    CompletableFuture<Integer> result = CompletableFutures.thenApply(source, value -> value + 1)
+        .orTimeout(10, TimeUnit.MILLISECONDS);
+
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        result::get);
+    Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+    // Dependents of timed out future may still be running in timer thread
+    Thread.sleep(50);
+    Assertions.assertTrue(source.isCancelled());
+  }
+
+  @Test
+  public void testHandleComposeReceivesUnwrappedError() throws Exception {
+    CompletableFuture<Integer> source = CompletableFuture.<Integer>failedFuture(
+        new IOException("failed")).thenApply(value -> value);
+
+    CompletableFuture<String> result = CompletableFutures.handleCompose(source,
+        (value, error) -> CompletableFuture.completedFuture(error.getClass().getSimpleName()));
+
+    Assertions.assertEquals("IOException", result.get());
+  }
+}
@@ -0,0 +1,58 @@
+package org.unicitylabs.sdk.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HexConverterTest {
+
+  @Test
+  public void testEncode() {
+    byte[] data = new byte[256];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+
+    String hex = HexConverter.encode(data);
+    Assertions.assertEquals("00010203", hex.substring(0, 8));
+    Assertions.assertEquals("fdfeff", hex.substring(hex.length() - 6));
+    Assertions.assertEquals("7f80", HexConverter.encode(data, 127, 2));
+
+    char[] chars = new char[6];
+    Assertions.assertEquals(4, HexConverter.encode(data, 10, 2, chars, 1));
+    Assertions.assertArrayEquals(new char[]{0, '0', 'a', '0', 'b', 0}, chars);
+
+    byte[] ascii = new byte[4];
+    HexConverter.encode(new byte[]{(byte) 0xab, 0x01}, 0, 2, ascii, 0);
+    Assertions.assertArrayEquals("ab01".getBytes(), ascii);
+
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> HexConverter.encode(data, 255, 2, new char[4], 0));
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> HexConverter.encode(data, 0, 2, new char[3], 0));
+  }
+
+  @Test
+  public void testDecode() {
+    Assertions.assertArrayEquals(new byte[]{0x00, (byte) 0xab, (byte) 0xff},
+        HexConverter.decode("00abff"));
+    Assertions.assertArrayEquals(new byte[]{0x00, (byte) 0xab, (byte) 0xff},
+        HexConverter.decode("0x00ABFF"));
+    Assertions.assertArrayEquals(new byte[]{0x12},
+        HexConverter.decode(new StringBuilder("0X12")));
+    Assertions.assertArrayEquals(new byte[0], HexConverter.decode(""));
+    Assertions.assertArrayEquals(new byte[]{0x12, 0x34},
+        HexConverter.decode("xx1234yy".toCharArray(), 2, 4));
+
+    byte[] out = new byte[3];
+    Assertions.assertEquals(2, HexConverter.decode("0x1234".toCharArray(), 0, 6, out, 1));
+    Assertions.assertArrayEquals(new byte[]{0x00, 0x12, 0x34}, out);
+    Assertions.assertThrows(IndexOutOfBoundsException.class,
+        () -> HexConverter.decode("123456".toCharArray(), 0, 6, new byte[2], 0));
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> HexConverter.decode("abc"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> HexConverter.decode("0g"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> HexConverter.decode("0\u0660"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> HexConverter.decode((String) null));
+  }
+}
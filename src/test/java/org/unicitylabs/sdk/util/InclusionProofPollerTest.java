@@ -0,0 +1,141 @@
+package org.unicitylabs.sdk.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.unicitylabs.sdk.TestAggregatorClient;
+import org.unicitylabs.sdk.api.AggregatorClient;
+import org.unicitylabs.sdk.api.Authenticator;
+import org.unicitylabs.sdk.api.InclusionProofResponse;
+import org.unicitylabs.sdk.api.RequestId;
+import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
+import org.unicitylabs.sdk.bft.RootTrustBaseUtils;
+import org.unicitylabs.sdk.hash.DataHash;
+import org.unicitylabs.sdk.hash.HashAlgorithm;
+import org.unicitylabs.sdk.signing.SigningService;
+import org.unicitylabs.sdk.transaction.InclusionProof;
+
+public class InclusionProofPollerTest {
+
+  @Test
+  public void testProofsAreFetchedOnNewBlocks() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    BlockAggregatorClient client = new BlockAggregatorClient(
+        new TestAggregatorClient(signingService));
+
+    List<RequestId> requestIds = new ArrayList<>();
+    List<DataHash> transactionHashes = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      byte[] data = new byte[32];
+      data[0] = (byte) i;
+      DataHash transactionHash = new DataHash(HashAlgorithm.SHA256, data);
+      transactionHashes.add(transactionHash);
+      requestIds.add(RequestId.create(signingService.getPublicKey(), transactionHash));
+    }
+
+    try (InclusionProofPoller poller = new InclusionProofPoller(
+        client,
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        Duration.ofMillis(10))) {
+      List<CompletableFuture<InclusionProof>> futures = new ArrayList<>();
+      for (RequestId requestId : requestIds) {
+        futures.add(poller.waitInclusionProof(requestId));
+      }
+
+      Thread.sleep(200);
+      int fetches = client.proofFetches.get();
+      Assertions.assertTrue(fetches > 0);
+      Thread.sleep(200);
+      Assertions.assertEquals(fetches, client.proofFetches.get());
+      Assertions.assertEquals(5, poller.getPendingCount());
+
+      for (int i = 0; i < requestIds.size(); i++) {
+        client.submitCommitment(
+            requestIds.get(i),
+            transactionHashes.get(i),
+            Authenticator.create(
+                signingService,
+                transactionHashes.get(i),
+                new DataHash(HashAlgorithm.SHA256, new byte[32])
+            )
+        );
+      }
+      client.blockHeight.incrementAndGet();
+
+      for (CompletableFuture<InclusionProof> future : futures) {
+        Assertions.assertNotNull(future.get(5, TimeUnit.SECONDS));
+      }
+      Assertions.assertEquals(fetches + 1, client.proofFetches.get());
+      Assertions.assertEquals(0, poller.getPendingCount());
+    }
+  }
+
+  @Test
+  public void testCancelledWaitIsRemoved() throws Exception {
+    SigningService signingService = new SigningService(SigningService.generatePrivateKey());
+    BlockAggregatorClient client = new BlockAggregatorClient(
+        new TestAggregatorClient(signingService));
+    RequestId requestId = RequestId.create(signingService.getPublicKey(),
+        new DataHash(HashAlgorithm.SHA256, new byte[32]));
+
+    try (InclusionProofPoller poller = new InclusionProofPoller(
+        client,
+        RootTrustBaseUtils.generateRootTrustBase(signingService.getPublicKey()),
+        Duration.ofMillis(10))) {
+      CompletableFuture<InclusionProof> future = poller.waitInclusionProof(requestId);
+      Assertions.assertEquals(1, poller.getPendingCount());
+
+      future.cancel(true);
+      Assertions.assertEquals(0, poller.getPendingCount());
+      int fetches = client.proofFetches.get();
+      client.blockHeight.incrementAndGet();
+      Thread.sleep(100);
+      Assertions.assertEquals(fetches, client.proofFetches.get());
+    }
+  }
+
+  private static class BlockAggregatorClient implements AggregatorClient {
+
+    private final AggregatorClient client;
+    private final AtomicLong blockHeight = new AtomicLong(1);
+    private final AtomicInteger proofFetches = new AtomicInteger();
+
+    BlockAggregatorClient(AggregatorClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public synchronized CompletableFuture<SubmitCommitmentResponse> submitCommitment(
+        RequestId requestId,
+        DataHash transactionHash,
+        Authenticator authenticator
+    ) {
+      return this.client.submitCommitment(requestId, transactionHash, authenticator);
+    }
+
+    @Override
+    public synchronized CompletableFuture<InclusionProofResponse> getInclusionProof(
+        RequestId requestId) {
+      return this.client.getInclusionProof(requestId);
+    }
+
+    @Override
+    public CompletableFuture<Map<RequestId, InclusionProofResponse>> getInclusionProofs(
+        List<RequestId> requestIds) {
+      this.proofFetches.incrementAndGet();
+      return AggregatorClient.super.getInclusionProofs(requestIds);
+    }
+
+    @Override
+    public CompletableFuture<Long> getBlockHeight() {
+      return CompletableFuture.completedFuture(this.blockHeight.get());
+    }
+  }
+}
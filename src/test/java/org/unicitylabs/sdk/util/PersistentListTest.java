@@ -0,0 +1,54 @@
+package org.unicitylabs.sdk.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PersistentListTest {
+
+  @Test
+  public void testAppendSharesPrefix() {
+    PersistentList<Integer> list = PersistentList.empty();
+    List<PersistentList<Integer>> versions = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      versions.add(list);
+      list = list.append(i);
+    }
+
+    for (int i = 0; i < versions.size(); i++) {
+      Assertions.assertEquals(i, versions.get(i).size());
+      for (int j = 0; j < i; j++) {
+        Assertions.assertEquals(Integer.valueOf(j), versions.get(i).get(j));
+      }
+    }
+    Assertions.assertEquals(List.of(0, 1, 2), list.subList(0, 3));
+    Assertions.assertEquals(List.of(97, 98, 99), list.subList(97, 100));
+  }
+
+  @Test
+  public void testAppendToSameListTwice() {
+    PersistentList<String> base = PersistentList.copyOf(List.of("a", "b")).append("c");
+    PersistentList<String> first = base.append("d");
+    PersistentList<String> second = base.append("e");
+    PersistentList<String> prefix = (PersistentList<String>) first.subList(0, 2);
+
+    Assertions.assertEquals(List.of("a", "b", "c"), base);
+    Assertions.assertEquals(List.of("a", "b", "c", "d"), first);
+    Assertions.assertEquals(List.of("a", "b", "c", "e"), second);
+    Assertions.assertEquals(List.of("a", "b", "x"), prefix.append("x"));
+    Assertions.assertEquals(List.of("a", "b", "c", "d"), first);
+  }
+
+  @Test
+  public void testListIsImmutable() {
+    PersistentList<String> list = PersistentList.copyOf(List.of("a"));
+
+    Assertions.assertSame(list, PersistentList.copyOf(list));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add("b"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> list.set(0, "b"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    Assertions.assertThrows(NullPointerException.class, () -> list.append(null));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+  }
+}
@@ -3,8 +3,14 @@ package org.unicitylabs.sdk.utils;
 import static org.unicitylabs.sdk.utils.TestUtils.randomBytes;
 import static org.unicitylabs.sdk.utils.TestUtils.randomCoinData;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import org.unicitylabs.sdk.StateTransitionClient;
 import org.unicitylabs.sdk.address.Address;
+import org.unicitylabs.sdk.address.ProxyAddress;
 import org.unicitylabs.sdk.api.SubmitCommitmentResponse;
 import org.unicitylabs.sdk.api.SubmitCommitmentStatus;
 import org.unicitylabs.sdk.bft.RootTrustBase;
@@ -12,15 +18,23 @@ import org.unicitylabs.sdk.hash.DataHash;
 import org.unicitylabs.sdk.hash.HashAlgorithm;
 import org.unicitylabs.sdk.predicate.embedded.MaskedPredicate;
 import org.unicitylabs.sdk.predicate.embedded.MaskedPredicateReference;
+import org.unicitylabs.sdk.predicate.embedded.UnmaskedPredicate;
+import org.unicitylabs.sdk.predicate.embedded.UnmaskedPredicateReference;
 import org.unicitylabs.sdk.signing.SigningService;
 import org.unicitylabs.sdk.token.Token;
 import org.unicitylabs.sdk.token.TokenId;
 import org.unicitylabs.sdk.token.TokenState;
 import org.unicitylabs.sdk.token.TokenType;
+import org.unicitylabs.sdk.token.fungible.CoinId;
 import org.unicitylabs.sdk.token.fungible.TokenCoinData;
 import org.unicitylabs.sdk.transaction.InclusionProof;
 import org.unicitylabs.sdk.transaction.MintCommitment;
 import org.unicitylabs.sdk.transaction.MintTransaction;
+import org.unicitylabs.sdk.transaction.TransferCommitment;
+import org.unicitylabs.sdk.transaction.TransferTransaction;
+import org.unicitylabs.sdk.transaction.split.SplitMintReason;
+import org.unicitylabs.sdk.transaction.split.TokenSplitBuilder;
+import org.unicitylabs.sdk.transaction.split.TokenSplitBuilder.TokenSplit;
 import org.unicitylabs.sdk.util.InclusionProofUtils;
 
 public class TokenUtils {
@@ -185,4 +199,168 @@ public class TokenUtils {
         commitment.toTransaction(inclusionProof)
     );
   }
+
+  /**
+   * Mint token and transfer it the given number of times. Every second transfer goes through a
+   * proxy address, so the resulting history also carries nametag tokens.
+   */
+  public static Token<?> mintTokenWithHistory(
+      StateTransitionClient client,
+      RootTrustBase trustBase,
+      int transfers
+  ) throws Exception {
+    byte[] secret = randomBytes(32);
+    byte[] nonce = randomBytes(32);
+    Token<?> token = TokenUtils.mintToken(
+        client,
+        trustBase,
+        secret,
+        new TokenId(randomBytes(32)),
+        new TokenType(randomBytes(32)),
+        randomBytes(32),
+        randomCoinData(2),
+        nonce,
+        randomBytes(32),
+        null
+    );
+
+    SigningService signingService = SigningService.createFromMaskedSecret(secret, nonce);
+    for (int i = 0; i < transfers; i++) {
+      byte[] recipientSecret = ("recipient-" + i).getBytes(StandardCharsets.UTF_8);
+      SigningService recipientSigningService = SigningService.createFromSecret(recipientSecret);
+      Address recipientAddress = UnmaskedPredicateReference.create(
+          token.getType(),
+          recipientSigningService,
+          HashAlgorithm.SHA256
+      ).toAddress();
+
+      List<Token<?>> nametags = List.of();
+      Address address = recipientAddress;
+      if (i % 2 == 1) {
+        String nametag = UUID.randomUUID().toString();
+        nametags = List.of(
+            TokenUtils.mintNametagToken(client, trustBase, recipientSecret, nametag,
+                recipientAddress)
+        );
+        address = ProxyAddress.create(nametag);
+      }
+
+      byte[] stateData = randomBytes(16);
+      TransferCommitment commitment = TransferCommitment.create(
+          token,
+          address,
+          randomBytes(32),
+          TestUtils.hashData(stateData),
+          i % 3 == 0 ? randomBytes(8) : null,
+          signingService
+      );
+      SubmitCommitmentResponse response = client.submitCommitment(commitment).get();
+      if (response.getStatus() != SubmitCommitmentStatus.SUCCESS) {
+        throw new Exception(String.format("Failed to submit transfer commitment: %s",
+            response.getStatus()));
+      }
+
+      TransferTransaction transaction = commitment.toTransaction(
+          InclusionProofUtils.waitInclusionProof(client, trustBase, commitment).get()
+      );
+
+      token = client.finalizeTransaction(
+          trustBase,
+          token,
+          new TokenState(
+              UnmaskedPredicate.create(
+                  token.getId(),
+                  token.getType(),
+                  recipientSigningService,
+                  HashAlgorithm.SHA256,
+                  transaction.getData().getSalt()
+              ),
+              stateData
+          ),
+          transaction,
+          nametags
+      );
+      signingService = recipientSigningService;
+    }
+
+    return token;
+  }
+
+  /**
+   * Mint token and split it, returns first token minted by the split.
+   */
+  public static Token<SplitMintReason> mintSplitToken(
+      StateTransitionClient client,
+      RootTrustBase trustBase
+  ) throws Exception {
+    byte[] secret = randomBytes(32);
+    byte[] nonce = randomBytes(32);
+    Token<?> token = TokenUtils.mintToken(
+        client,
+        trustBase,
+        secret,
+        new TokenId(randomBytes(32)),
+        new TokenType(randomBytes(32)),
+        randomBytes(32),
+        randomCoinData(2),
+        nonce,
+        randomBytes(32),
+        null
+    );
+
+    SigningService recipientSigningService = SigningService.createFromSecret(randomBytes(32));
+    TokenSplitBuilder builder = new TokenSplitBuilder();
+    for (Map.Entry<CoinId, BigInteger> coin : token.getCoins().get().getCoins().entrySet()) {
+      builder.createToken(
+          new TokenId(randomBytes(32)),
+          token.getType(),
+          null,
+          new TokenCoinData(Map.ofEntries(coin)),
+          UnmaskedPredicateReference.create(
+              token.getType(),
+              recipientSigningService,
+              HashAlgorithm.SHA256
+          ).toAddress(),
+          randomBytes(32),
+          null
+      );
+    }
+    TokenSplit split = builder.build(token);
+
+    TransferCommitment burnCommitment = split.createBurnCommitment(
+        randomBytes(32),
+        SigningService.createFromMaskedSecret(secret, nonce)
+    );
+    if (client.submitCommitment(burnCommitment).get().getStatus()
+        != SubmitCommitmentStatus.SUCCESS) {
+      throw new Exception("Failed to submit burn commitment");
+    }
+
+    MintCommitment<SplitMintReason> commitment = split.createSplitMintCommitments(
+        trustBase,
+        burnCommitment.toTransaction(
+            InclusionProofUtils.waitInclusionProof(client, trustBase, burnCommitment).get()
+        )
+    ).get(0);
+    if (client.submitCommitment(commitment).get().getStatus() != SubmitCommitmentStatus.SUCCESS) {
+      throw new Exception("Failed to submit split mint commitment");
+    }
+
+    return Token.create(
+        trustBase,
+        new TokenState(
+            UnmaskedPredicate.create(
+                commitment.getTransactionData().getTokenId(),
+                commitment.getTransactionData().getTokenType(),
+                recipientSigningService,
+                HashAlgorithm.SHA256,
+                commitment.getTransactionData().getSalt()
+            ),
+            null
+        ),
+        commitment.toTransaction(
+            InclusionProofUtils.waitInclusionProof(client, trustBase, commitment).get()
+        )
+    );
+  }
 }